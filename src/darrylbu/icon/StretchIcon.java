@@ -389,6 +389,9 @@ public class StretchIcon extends ImageIcon implements PaintRequester, PropertyLi
 //        System.out.println(this.toString("(x: " + x + ", y:" + y + ", w: " + w + ", h: " + h + ")"));
     }
     
+    // Request the full resolution image when drawing larger than the current image, such as when zooming.
+    if (w > image.getWidth(c) || h > image.getHeight(c)) requestFullResolution();
+    
     // Get current image scaling option configuration.
     final SCALING_OPTION scaling = currentScalingOption();
     
@@ -932,6 +935,32 @@ public class StretchIcon extends ImageIcon implements PaintRequester, PropertyLi
   public String toString() {
       return this.toString(null);
   }
+  
+  /**
+   * Sets the image displayed by this icon, ensuring the new image is rescaled and
+   * painted.
+   * 
+   * @param image the new image.
+   * @author mwhitney57
+   * @since 0.9.5
+   */
+  @Override
+  public synchronized void setImage(Image image) {
+      super.setImage(image);
+      this.pendingImgRescale = true;
+      requestPaint();
+  }
+  
+  /**
+   * Called while painting whenever the image is drawn larger than its own
+   * resolution. Implementations which display a reduced resolution image can
+   * override this method to swap in the full resolution image via
+   * {@link #setImage(Image)}. Does nothing by default.
+   * 
+   * @author mwhitney57
+   * @since 0.9.5
+   */
+  public void requestFullResolution() {}
   // To Be Overridden.
   @Override
   public void requestPaint() {}
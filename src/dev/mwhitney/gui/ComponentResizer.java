@@ -19,6 +19,8 @@ import java.util.function.Supplier;
 import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
 
+import dev.mwhitney.gui.decor.AnimationClock;
+import dev.mwhitney.gui.decor.AnimationClock.Animation;
 import dev.mwhitney.listeners.StartEndListener;
 import dev.mwhitney.util.ScalingDimension;
 
@@ -88,6 +90,30 @@ public class ComponentResizer extends MouseAdapter
      * @since 0.9.5
      */
     private Dimension minContentSize = new Dimension(1, 1);
+    /**
+     * The latest drag location, in screen coordinates, which has yet to be
+     * applied to the component, or <code>null</code> if there is none.
+     * @author mwhitney57
+     * @since 0.9.5
+     */
+    private Point pendingDrag;
+    /**
+     * The component being dragged, which the {@link #pendingDrag} applies to.
+     * @author mwhitney57
+     * @since 0.9.5
+     */
+    private Component dragSource;
+    /**
+     * The frame update, run by the {@link AnimationClock}, which applies the
+     * {@link #pendingDrag}. Drag events can arrive far more often than the display
+     * refreshes, so only the latest is applied, at most once per display frame.
+     * @author mwhitney57
+     * @since 0.9.5
+     */
+    private final Animation dragFrame = now -> {
+        applyPendingDrag();
+        return false;
+    };
 
     private Dimension minimumSize = MINIMUM_SIZE;
     private Dimension maximumSize = MAXIMUM_SIZE;
@@ -513,6 +539,11 @@ public class ComponentResizer extends MouseAdapter
     @Override
     public void mouseReleased(MouseEvent e)
     {
+        // Apply the final drag right away, before the resize ends -- @mwhitney57
+        AnimationClock.stop(dragFrame);
+        applyPendingDrag();
+        dragSource = null;
+        
         setResizing(false);   // Changed by @mwhitney57 to use method instead.
 
         Component source = e.getComponent();
@@ -561,7 +592,25 @@ public class ComponentResizer extends MouseAdapter
         Point dragged = e.getPoint();
         SwingUtilities.convertPointToScreen(dragged, source);
 
-        changeBounds(source, direction, bounds, pressed, dragged);
+        // Coalesce drags, applying only the latest on the next display frame -- @mwhitney57
+        dragSource = source;
+        pendingDrag = dragged;
+        AnimationClock.start(dragFrame);
+    }
+    
+    /**
+     * Applies the {@link #pendingDrag}, if there is one, by changing the bounds
+     * of the component being dragged. Call this method from the EDT.
+     * 
+     * @author mwhitney57
+     * @since 0.9.5
+     */
+    private void applyPendingDrag() {
+        final Point dragged = this.pendingDrag;
+        if (dragged == null || dragSource == null) return;
+        
+        this.pendingDrag = null;
+        changeBounds(dragSource, direction, bounds, pressed, dragged);
     }
 
     protected void changeBounds(Component source, int direction, Rectangle bounds, Point pressed, Point current)
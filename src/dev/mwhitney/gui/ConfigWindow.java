@@ -11,6 +11,7 @@ import java.awt.font.TextAttribute;
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -42,6 +43,7 @@ import dev.mwhitney.main.Binaries;
 import dev.mwhitney.properties.PiPProperty;
 import dev.mwhitney.properties.PiPProperty.DOWNLOAD_OPTION;
 import dev.mwhitney.properties.PiPProperty.FREQUENCY_OPTION;
+import dev.mwhitney.properties.PiPProperty.HIDDEN_OPTION;
 import dev.mwhitney.properties.PiPProperty.OVERWRITE_OPTION;
 import dev.mwhitney.properties.PiPProperty.PLAYBACK_OPTION;
 import dev.mwhitney.properties.PiPProperty.PropDefault;
@@ -76,6 +78,8 @@ import net.miginfocom.swing.MigLayout;
 public class ConfigWindow extends JFrame implements PropertyListener, Themed {
     /** The randomly-generated, unique serial ID for SettingsWindows. */
     private static final long serialVersionUID = 7828132102847858358L;
+    /** The heights offered for the {@link PiPProperty#MAX_VIDEO_HEIGHT} property, where <code>0</code> is no maximum. */
+    private static final int[] MAX_VIDEO_HEIGHTS = { 0, 2160, 1440, 1080, 720, 480, 360 };
     
     /** The JLabel with the configuration header. */
     private JLabel header;
@@ -103,6 +107,8 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
     private BetterComboBox comboGIFPlayback;
     /** The BetterComboBox for the {@link PiPProperty#IMG_SCALING_QUALITY} property. */
     private BetterComboBox comboImgScaling;
+    /** The BetterComboBox for the {@link PiPProperty#HIDDEN_PLAYBACK} property. */
+    private BetterComboBox comboHiddenPlayback;
     /** The BetterCheckbox for the {@link PiPProperty#USE_SYS_VLC} property. */
     private BetterCheckbox chkSystemVLC;
     /** The BetterCheckbox for the {@link PiPProperty#USE_SYS_BINARIES} property. */
@@ -111,10 +117,20 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
     private BetterCheckbox chkHWDecoding;
     /** The BetterCheckbox for the {@link PiPProperty#USE_SUPER_RES} property. */
     private BetterCheckbox chkSuperRes;
+    /** The BetterCheckbox for the {@link PiPProperty#PLAYBACK_STATS} property. */
+    private BetterCheckbox chkPlaybackStats;
+    /** The BetterCheckbox for the {@link PiPProperty#PLAYBACK_STATS_OVERLAY} property. */
+    private BetterCheckbox chkStatsOverlay;
+    /** The BetterLabel for the {@link PiPProperty#SPARE_WINDOWS} property. */
+    private BetterLabel lblSpareWinTitle;
+    /** The BetterSlider for the {@link PiPProperty#SPARE_WINDOWS} property. */
+    private BetterSlider sliderSpareWin;
     /** The BetterCheckbox for the {@link PiPProperty#DND_PREFER_LINK} property. */
     private BetterCheckbox chkPreferLinkDND;
     /** The BetterCheckbox for the {@link PiPProperty#DOWNLOAD_WEB_MEDIA} property. */
     private BetterComboBox comboDLWebMedia;
+    /** The BetterComboBox for the {@link PiPProperty#MAX_VIDEO_HEIGHT} property. */
+    private BetterComboBox comboMaxVidHeight;
     /** The BetterCheckbox for the {@link PiPProperty#CONVERT_WEB_INDIRECT} property. */
     private BetterCheckbox chkConvertIndWeb;
     /** The BetterCheckbox for the {@link PiPProperty#CONFIRM_CLOSE_ALL} property. */
@@ -141,6 +157,8 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
     private BetterComboBox comboOverwriteCache;
     /** The BetterCheckbox for the {@link PiPProperty#OPEN_WINDOW_AT_LAUNCH} property. */
     private BetterCheckbox chkOpenWinAtLaunch;
+    /** The BetterCheckbox for the {@link PiPProperty#RESTORE_SESSION} property. */
+    private BetterCheckbox chkRestoreSession;
     /** The BetterCheckbox for the {@link PiPProperty#TRANSPARENT_PASS} property. */
     private BetterCheckbox chkPassThrough;
     /** The BetterCheckbox for the {@link PiPProperty#RESET_OPACITY_CLOSE} property. */
@@ -234,6 +252,10 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         comboDLWebMedia = new BetterComboBox(PropDefault.DOWNLOAD.labels(), titleFont);
         final BetterLabel lblDLWebMedia = new BetterLabel(PiPPropertyDesc.DOWNLOAD_WEB_MEDIA, textFont);
         
+        final BetterLabel lblMaxVidHeightTitle = new BetterLabel("Maximum Video Quality", titleFont);
+        comboMaxVidHeight = new BetterComboBox(Arrays.stream(MAX_VIDEO_HEIGHTS).mapToObj(h -> h == 0 ? "Unlimited" : h + "p").toArray(String[]::new), titleFont);
+        final BetterLabel lblMaxVidHeight = new BetterLabel(PiPPropertyDesc.MAX_VIDEO_HEIGHT, textFont);
+        
         chkTrimTransparency = new BetterCheckbox("✂️ Trim Transparent Edges", true, titleFont);
         chkTrimTransparency.addActionListener(e -> propertyChanged(PiPProperty.TRIM_TRANSPARENCY, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
         comboTrim = new BetterComboBox(PropDefault.TRIM.labels(), titleFont);
@@ -248,6 +270,10 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         comboImgScaling = new BetterComboBox(PropDefault.SCALING.labels(), titleFont);
         final BetterLabel lblImgScaling = new BetterLabel(PiPPropertyDesc.IMG_SCALING_QUALITY, textFont);
         
+        final BetterLabel lblHiddenPlaybackTitle = new BetterLabel("Hidden Window Playback", titleFont);
+        comboHiddenPlayback = new BetterComboBox(PropDefault.HIDDEN.labels(), titleFont);
+        final BetterLabel lblHiddenPlayback = new BetterLabel(PiPPropertyDesc.HIDDEN_PLAYBACK, textFont);
+        
         chkSinglePlay = new BetterCheckbox("💠 Single Playback Mode", true, titleFont);
         chkSinglePlay.addActionListener(e -> propertyChanged(PiPProperty.SINGLE_PLAY_MODE, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
         final BetterLabel lblSinglePlay = new BetterLabel(PiPPropertyDesc.SINGLE_PLAY_MODE, textFont);
@@ -364,6 +390,10 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         chkOpenWinAtLaunch = new BetterCheckbox("Open Window at Launch", true, titleFont);
         chkOpenWinAtLaunch.addActionListener(e -> propertyChanged(PiPProperty.OPEN_WINDOW_AT_LAUNCH, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
         
+        chkRestoreSession = new BetterCheckbox("Restore Windows at Launch", true, titleFont);
+        chkRestoreSession.addActionListener(e -> propertyChanged(PiPProperty.RESTORE_SESSION, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
+        final BetterLabel lblRestoreSession = new BetterLabel(PiPPropertyDesc.RESTORE_SESSION, textFont);
+        
         chkPassThrough = new BetterCheckbox("Transparent Pass-Through", true, titleFont);
         chkPassThrough.addActionListener(e -> propertyChanged(PiPProperty.TRANSPARENT_PASS, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
         final BetterLabel lblPassThrough = new BetterLabel(PiPPropertyDesc.TRANSPARENT_PASS, textFont);
@@ -386,8 +416,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         chkForceAppUpdate.setIconTextGap(107);
         final BetterButton btnUpdateApp = new BetterButton("Check for Application Update", titleFont, e -> {
             // Do not stack update requests.
-            if (PiPUpdater.APP_UPDATING) return;
-            PiPUpdater.APP_UPDATING = true;
+            if (!PiPUpdater.APP_UPDATING.compareAndSet(false, true)) return;
             
             // Run off of the EDT.
             CompletableFuture.runAsync(() -> {
@@ -407,7 +436,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
                 }
                 if (result.hasException()) System.err.println("Warning, app update process failed: " + result.exception().getTotalMessage());
                 
-                PiPUpdater.APP_UPDATING = false;
+                PiPUpdater.APP_UPDATING.set(false);
             });
         });
         
@@ -417,8 +446,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         comboBinUpdateFreq = new BetterComboBox(PropDefault.FREQUENCY_BIN.labels(), titleFont);
         final BetterButton btnUpdateBin = new BetterButton("Update Downloader Binaries", titleFont, e -> {
             // Do not stack update requests.
-            if (PiPUpdater.BIN_UPDATING) return;
-            PiPUpdater.BIN_UPDATING = true;
+            if (!PiPUpdater.BIN_UPDATING.compareAndSet(false, true)) return;
             
             // Run off of the EDT.
             CompletableFuture.runAsync(() -> {
@@ -430,7 +458,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
                 // Show Result
                 TopDialog.showMsg(res, "Update Result", JOptionPane.INFORMATION_MESSAGE);
                 
-                PiPUpdater.BIN_UPDATING = false;
+                PiPUpdater.BIN_UPDATING.set(false);
             });
         });
         
@@ -456,6 +484,34 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         chkSuperRes.addActionListener(e -> propertyChanged(PiPProperty.USE_SUPER_RES, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
         final BetterLabel lblSuperRes   = new BetterLabel(PiPPropertyDesc.USE_SUPER_RES, textFont);
         
+        chkPlaybackStats = new BetterCheckbox("📊 Playback Statistics", false, titleFont);
+        chkPlaybackStats.addActionListener(e -> {
+            final boolean state = ((BetterCheckbox) e.getSource()).isSelected();
+            propertyChanged(PiPProperty.PLAYBACK_STATS, Boolean.toString(state));
+            chkStatsOverlay.setEnabled(state);  // Disable the overlay if this is disabled.
+        });
+        final BetterLabel lblPlaybackStats = new BetterLabel(PiPPropertyDesc.PLAYBACK_STATS, textFont);
+        
+        chkStatsOverlay = new BetterCheckbox("📈 Playback Statistics Overlay", false, titleFont);
+        chkStatsOverlay.addActionListener(e -> propertyChanged(PiPProperty.PLAYBACK_STATS_OVERLAY, Boolean.toString(((BetterCheckbox) e.getSource()).isSelected())));
+        final BetterLabel lblStatsOverlay = new BetterLabel(PiPPropertyDesc.PLAYBACK_STATS_OVERLAY, textFont);
+        
+        lblSpareWinTitle = new BetterLabel("Spare Windows: 1", titleFont);
+        sliderSpareWin = new BetterSlider(0, 3, 1);
+        sliderSpareWin.setMinorTickSpacing(1);
+        sliderSpareWin.setMajorTickSpacing(1);
+        sliderSpareWin.setSnapToTicks(true);
+        sliderSpareWin.addMouseListener((MouseReleaseListener) e -> {
+            // On RMB, reset to default. Otherwise, adjust based on new slider value.
+            if (e.getButton() == MouseEvent.BUTTON3) {
+                propertyChanged(PiPProperty.SPARE_WINDOWS, PiPProperty.SPARE_WINDOWS.stock());
+                handlePropertyChange(PiPProperty.SPARE_WINDOWS);
+            } else
+                propertyChanged(PiPProperty.SPARE_WINDOWS, Integer.toString(((JSlider) e.getSource()).getValue()));
+        });
+        sliderSpareWin.addChangeListener(e -> lblSpareWinTitle.setText(spareWinTitleTxt()));
+        final BetterLabel lblSpareWin = new BetterLabel(PiPPropertyDesc.SPARE_WINDOWS, textFont);
+        
         // Add Components to Content Panes
         contentPane.add(header, "dock north, h 30:50, gapleft push, gapright push, wrap 5px");
         contentPane.add(tabbedPane, "growy");
@@ -474,6 +530,9 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         paneMedia.add(comboDLWebMedia, "gaptop 5px, split 2, w 55%");
         paneMedia.add(lblDLWebMediaTitle, "span, wrap 4px");
         paneMedia.add(lblDLWebMedia, "wrap");
+        paneMedia.add(comboMaxVidHeight, "gaptop 5px, split 2, w 55%");
+        paneMedia.add(lblMaxVidHeightTitle, "span, wrap 4px");
+        paneMedia.add(lblMaxVidHeight, "wrap");
         paneMedia.add(chkTrimTransparency, "split 2, w 70%");
         paneMedia.add(comboTrim, "w 30%, wrap 0px");
         paneMedia.add(lblTrimTransparency, "wrap 5px");
@@ -484,6 +543,9 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         panePlayback.add(comboImgScaling, "gaptop 5px, split 2, w 50%");
         panePlayback.add(lblImgScalingTitle, "span, wrap 4px");
         panePlayback.add(lblImgScaling, "wrap");
+        panePlayback.add(comboHiddenPlayback, "gaptop 5px, split 2, w 50%");
+        panePlayback.add(lblHiddenPlaybackTitle, "span, wrap 4px");
+        panePlayback.add(lblHiddenPlayback, "wrap");
         panePlayback.add(chkSinglePlay, "wrap 0px");
         panePlayback.add(lblSinglePlay, "wrap");
         panePlayback.add(chkGlobMute, "wrap 0px");
@@ -511,6 +573,8 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         paneCache.add(btnClearVLCCache, "w 100%, h pref!, wrap");
         // Window Pane
         paneWindow.add(chkOpenWinAtLaunch, "wrap");
+        paneWindow.add(chkRestoreSession, "wrap 0px");
+        paneWindow.add(lblRestoreSession, "wrap");
         paneWindow.add(chkPassThrough, "wrap 0px");
         paneWindow.add(lblPassThrough, "wrap");
         paneWindow.add(chkResetOpacity, "wrap 0px");
@@ -539,6 +603,13 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         paneAdvanced.add(lblHWDecoding, "wrap");
         paneAdvanced.add(chkSuperRes, "gaptop 5px, wrap 0px");
         paneAdvanced.add(lblSuperRes, "wrap");
+        paneAdvanced.add(chkPlaybackStats, "gaptop 5px, wrap 0px");
+        paneAdvanced.add(lblPlaybackStats, "wrap");
+        paneAdvanced.add(chkStatsOverlay, "gaptop 5px, wrap 0px");
+        paneAdvanced.add(lblStatsOverlay, "wrap");
+        paneAdvanced.add(lblSpareWinTitle, "gaptop 5px, aligny top, split 2");
+        paneAdvanced.add(sliderSpareWin, "gapleft push, w 100:150:150, wrap 0px");
+        paneAdvanced.add(lblSpareWin, "wrap");
         
         // Load Current Configuration After Adding (Prevents Theme Inconsistencies)
         refreshProperties();
@@ -574,6 +645,16 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
             propertyChanged(PiPProperty.IMG_SCALING_QUALITY, scaling.toString());
             ((BetterComboBox) e.getSource()).setToolTipText(scaling.description());
         });
+        comboHiddenPlayback.addActionListener(e -> {
+            final int selection = (int) ((BetterComboBox) e.getSource()).getSelectedIndex();
+            final HIDDEN_OPTION hidden = HIDDEN_OPTION.values()[selection];
+            propertyChanged(PiPProperty.HIDDEN_PLAYBACK, hidden.toString());
+            ((BetterComboBox) e.getSource()).setToolTipText(hidden.description());
+        });
+        comboMaxVidHeight.addActionListener(e -> {
+            final int selection = (int) ((BetterComboBox) e.getSource()).getSelectedIndex();
+            propertyChanged(PiPProperty.MAX_VIDEO_HEIGHT, Integer.toString(MAX_VIDEO_HEIGHTS[selection]));
+        });
         comboOverwriteCache.addActionListener(e -> {
             final int selection = (int) ((BetterComboBox) e.getSource()).getSelectedIndex();
             final OVERWRITE_OPTION overwrite = OVERWRITE_OPTION.values()[selection];
@@ -638,6 +719,34 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         return emoji + " Default Speed: " + (rate / 100.0f) + "x";
     }
     
+    /**
+     * Gets the index of the {@link #MAX_VIDEO_HEIGHTS} option to show for the
+     * passed maximum video height. Heights which are not offered, such as those
+     * set in the configuration file by hand, show the highest option below them.
+     * 
+     * @param height - an Integer with the maximum video height.
+     * @return an int with the option index.
+     * @since 0.9.5
+     */
+    private static int maxVideoHeightIndex(final Integer height) {
+        if (height == null || height <= 0) return 0;
+        for (int i = 1; i < MAX_VIDEO_HEIGHTS.length; i++) {
+            if (MAX_VIDEO_HEIGHTS[i] <= height) return i;
+        }
+        return MAX_VIDEO_HEIGHTS.length - 1;
+    }
+    
+    /**
+     * Generates and returns an updated text representation for the spare windows
+     * title. This method will get the current value of the spare windows slider
+     * and properly format it within the title.
+     * 
+     * @return a String with the up-to-date text.
+     */
+    private String spareWinTitleTxt() {
+        return "🪟 Spare Windows: " + sliderSpareWin.getValue();
+    }
+    
     /**
      * Themes the components contained within the configuration window.
      * This method sets the proper colors for the components based on the theme.
@@ -744,10 +853,16 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         case GIF_PLAYBACK_MODE        -> comp(this.comboGIFPlayback);
         case GLOBAL_MUTED             -> comp(this.chkGlobMute);
         case IMG_SCALING_QUALITY      -> comp(this.comboImgScaling);
+        case MAX_VIDEO_HEIGHT         -> comp(this.comboMaxVidHeight);
+        case HIDDEN_PLAYBACK          -> comp(this.comboHiddenPlayback);
         case OPEN_WINDOW_AT_LAUNCH    -> comp(this.chkOpenWinAtLaunch);
+        case RESTORE_SESSION          -> comp(this.chkRestoreSession);
         case OVERWRITE_CACHE          -> comp(this.comboOverwriteCache);
         case RESET_OPACITY_CLOSE      -> comp(this.chkResetOpacity);
+        case PLAYBACK_STATS           -> comp(this.chkPlaybackStats);
+        case PLAYBACK_STATS_OVERLAY   -> comp(this.chkStatsOverlay);
         case SINGLE_PLAY_MODE         -> comp(this.chkSinglePlay);
+        case SPARE_WINDOWS            -> comp(this.sliderSpareWin, this.lblSpareWinTitle);
         case THEME                    -> comp(this.comboTheme);
         case TRANSPARENT_PASS         -> comp(this.chkPassThrough);
         case TRIM_TRANSPARENCY        -> comp(this.chkTrimTransparency);
@@ -761,6 +876,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
         case APP_LAST_UPDATE_CHECK,
              APP_UPDATING_FROM,
              BIN_LAST_UPDATE_CHECK,
+             IDLE_RECLAIM_DELAY,
              SET_ALL_MUTED,
              SET_ALL_PAUSED,
              SET_ALL_PLAYBACK_RATE,
@@ -780,6 +896,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
     private void enableDisableRelatedComponents(PiPProperty prop, boolean value) {
         switch (prop) {
         case USE_HW_DECODING -> chkSuperRes.setEnabled(value);
+        case PLAYBACK_STATS  -> chkStatsOverlay.setEnabled(value);
         default -> {}
         }
     }
@@ -810,9 +927,14 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
                 enableDisableRelatedComponents(prop, state);
             }
             case BetterComboBox comboBox -> {
-                final PiPPropertyEnum<?> stateOption = prop.stockOption().matchAny(propertyState(prop, String.class));
-                comboBox.setSelectedIndex(stateOption.index());
-                comboBox.setToolTipText(stateOption.description());
+                // The maximum video height is a plain number rather than an option.
+                if (prop == PiPProperty.MAX_VIDEO_HEIGHT) {
+                    comboBox.setSelectedIndex(maxVideoHeightIndex(propertyState(prop, Integer.class)));
+                } else {
+                    final PiPPropertyEnum<?> stateOption = prop.stockOption().matchAny(propertyState(prop, String.class));
+                    comboBox.setSelectedIndex(stateOption.index());
+                    comboBox.setToolTipText(stateOption.description());
+                }
             }
             case BetterSlider slider -> {
                 slider.setValue(prop == PiPProperty.DEFAULT_PLAYBACK_RATE ? (int) (propertyState(prop, Float.class) * 100) : propertyState(prop, Integer.class));
@@ -821,6 +943,7 @@ public class ConfigWindow extends JFrame implements PropertyListener, Themed {
                 label.setText(switch (prop) {
                 case DEFAULT_VOLUME        -> volTitleTxt();
                 case DEFAULT_PLAYBACK_RATE -> rateTitleTxt();
+                case SPARE_WINDOWS         -> spareWinTitleTxt();
                 default -> label.getText();
                 });
             }
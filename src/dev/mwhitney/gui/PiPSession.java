@@ -0,0 +1,126 @@
+package dev.mwhitney.gui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import dev.mwhitney.resources.AppRes;
+import dev.mwhitney.util.PiPAAUtils;
+
+/**
+ * The saved session of a {@link PiPWindowManager}, which holds a
+ * {@link PiPWindowSnapshot} of each window so they can be restored on the next
+ * launch.
+ * <p>
+ * The session is a single properties file in the application folder. It is
+ * written to a temporary file first and then moved into place, so an
+ * interrupted save never leaves a partial session behind.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class PiPSession {
+    /**
+     * A single saved window.
+     *
+     * @param snapshot  - the {@link PiPWindowSnapshot} of the window.
+     * @param focused   - a boolean for whether or not the window was the last to
+     *                  receive focus.
+     * @param minimized - a boolean for whether or not the window was minimized.
+     */
+    public record Entry(PiPWindowSnapshot snapshot, boolean focused, boolean minimized) {}
+    
+    /** The session file. */
+    private static final File FILE = new File(PiPAAUtils.slashFix(AppRes.APP_FOLDER + "/session.properties"));
+    /** The session property with the amount of saved windows. */
+    private static final String PROP_WINDOWS   = "windows";
+    /** The prefix of each saved window's properties, which is followed by its index. */
+    private static final String PREFIX_WINDOW  = "window.";
+    /** The saved window property for whether or not it was focused. */
+    private static final String PROP_FOCUSED   = "focused";
+    /** The saved window property for whether or not it was minimized. */
+    private static final String PROP_MINIMIZED = "minimized";
+    
+    /** Private constructor -- static access only. */
+    private PiPSession() {}
+    
+    /**
+     * Saves the passed windows as the session, replacing the previous one.
+     *
+     * @param entries - a List of each {@link Entry} to save.
+     * @throws IOException if the session could not be written.
+     */
+    public static synchronized void save(List<Entry> entries) throws IOException {
+        final Properties props = new Properties();
+        props.setProperty(PROP_WINDOWS, Integer.toString(entries.size()));
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            final String prefix = PREFIX_WINDOW + i + ".";
+            entry.snapshot().store(props, prefix);
+            props.setProperty(prefix + PROP_FOCUSED,   Boolean.toString(entry.focused()));
+            props.setProperty(prefix + PROP_MINIMIZED, Boolean.toString(entry.minimized()));
+        }
+        
+        PiPAAUtils.ensureExistence(FILE.getParent());
+        final Path temp = Files.createTempFile(FILE.getParentFile().toPath(), "session.", ".part");
+        try {
+            try (final OutputStream out = Files.newOutputStream(temp)) {
+                props.store(out, "PiPAA Session");
+            }
+            Files.move(temp, FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Loads the saved session. Windows which were saved without media, or whose
+     * data is invalid, are skipped.
+     *
+     * @return a List of each saved {@link Entry}, in the order they were saved,
+     *         which is empty if there is no saved session.
+     */
+    public static synchronized List<Entry> load() {
+        final List<Entry> entries = new ArrayList<>();
+        if (!FILE.isFile()) return entries;
+        
+        final Properties props = new Properties();
+        try (final Reader reader = Files.newBufferedReader(FILE.toPath(), StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("<!> Failed to load the saved session: " + e.getMessage());
+            return entries;
+        }
+        
+        final int count;
+        try {
+            count = Integer.parseInt(props.getProperty(PROP_WINDOWS, "0"));
+        } catch (NumberFormatException e) {
+            return entries;
+        }
+        for (int i = 0; i < count; i++) {
+            final String prefix = PREFIX_WINDOW + i + ".";
+            final PiPWindowSnapshot snapshot = PiPWindowSnapshot.load(props, prefix);
+            if (snapshot == null || !snapshot.hasMediaSrc()) continue;
+            
+            entries.add(new Entry(snapshot, Boolean.parseBoolean(props.getProperty(prefix + PROP_FOCUSED)),
+                    Boolean.parseBoolean(props.getProperty(prefix + PROP_MINIMIZED))));
+        }
+        return entries;
+    }
+    
+    /**
+     * Clears the saved session, so no windows are restored on the next launch.
+     */
+    public static synchronized void clear() {
+        if (FILE.isFile() && !FILE.delete()) System.err.println("<!> Failed to clear the saved session.");
+    }
+}
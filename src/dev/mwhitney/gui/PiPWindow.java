@@ -8,6 +8,7 @@ import java.awt.Dimension;
 import java.awt.DisplayMode;
 import java.awt.FileDialog;
 import java.awt.Font;
+import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
@@ -15,6 +16,8 @@ import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
 import java.io.File;
@@ -26,12 +29,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.swing.JFrame;
@@ -42,6 +44,7 @@ import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import darrylbu.icon.StretchIcon;
@@ -62,6 +65,8 @@ import dev.mwhitney.gui.popup.NumericalInputPopup;
 import dev.mwhitney.gui.popup.OptionPopup;
 import dev.mwhitney.gui.popup.SelectionPopup;
 import dev.mwhitney.gui.popup.TopDialog;
+import dev.mwhitney.gui.viewer.DecodedImageCache;
+import dev.mwhitney.gui.viewer.GIFEngine;
 import dev.mwhitney.gui.viewer.ZoomPanSnapshot;
 import dev.mwhitney.listeners.ManagerFetcher;
 import dev.mwhitney.listeners.PiPWindowManagerAdapter;
@@ -71,7 +76,13 @@ import dev.mwhitney.listeners.simplified.WindowFocusLostListener;
 import dev.mwhitney.main.Binaries;
 import dev.mwhitney.main.Binaries.Bin;
 import dev.mwhitney.main.CFExec;
+import dev.mwhitney.media.ConversionCache;
+import dev.mwhitney.media.ConversionCache.Conversion;
+import dev.mwhitney.media.FormatSelector;
 import dev.mwhitney.media.MediaExt;
+import dev.mwhitney.media.MediaPlayerFactoryPool;
+import dev.mwhitney.media.NativeCallWatchdog;
+import dev.mwhitney.media.PlaybackStats;
 import dev.mwhitney.media.PiPMedia;
 import dev.mwhitney.media.PiPMediaAttributes;
 import dev.mwhitney.media.PiPMediaAttributes.SRC_PLATFORM;
@@ -84,6 +95,7 @@ import dev.mwhitney.media.exceptions.InvalidMediaException;
 import dev.mwhitney.media.exceptions.MediaModificationException;
 import dev.mwhitney.properties.PiPProperty;
 import dev.mwhitney.properties.PiPProperty.DOWNLOAD_OPTION;
+import dev.mwhitney.properties.PiPProperty.HIDDEN_OPTION;
 import dev.mwhitney.properties.PiPProperty.OVERWRITE_OPTION;
 import dev.mwhitney.properties.PiPProperty.PLAYBACK_OPTION;
 import dev.mwhitney.properties.PiPProperty.PropDefault;
@@ -105,11 +117,13 @@ import dev.mwhitney.util.selection.ReloadSelection;
 import dev.mwhitney.util.selection.ReloadSelection.ReloadSelections;
 import dev.mwhitney.util.selection.Selector;
 import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
-import uk.co.caprica.vlcj.factory.discovery.NativeDiscovery;
 import uk.co.caprica.vlcj.media.AudioTrackInfo;
 import uk.co.caprica.vlcj.media.Meta;
 import uk.co.caprica.vlcj.media.MetaApi;
+import uk.co.caprica.vlcj.media.TrackType;
 import uk.co.caprica.vlcj.media.VideoTrackInfo;
+import uk.co.caprica.vlcj.player.base.MarqueeApi;
+import uk.co.caprica.vlcj.player.base.MarqueePosition;
 import uk.co.caprica.vlcj.player.base.MediaPlayer;
 import uk.co.caprica.vlcj.player.base.MediaPlayerEventAdapter;
 import uk.co.caprica.vlcj.player.base.State;
@@ -129,6 +143,16 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
     
     /** The default size (x and/or y) of media (at maximum) when first set. */
     public  static final int DEFAULT_MEDIA_SIZE = 480;
+    /** The maximum time, in milliseconds, to wait after playback starts for the audio output before applying the audio configuration anyway. */
+    private static final long AUDIO_READY_TIMEOUT = 3000;
+    /** The maximum time, in milliseconds, to wait for the media player to be released before considering it crashed. */
+    private static final long NATIVE_RELEASE_DEADLINE = 5000;
+    /** The deadline, in milliseconds, for reads from the media player which should not hold up their caller. */
+    private static final long NATIVE_READ_DEADLINE = 250;
+    /** The text size, in pixels, of the playback statistics overlay. */
+    private static final int STATS_OVERLAY_SIZE = 14;
+    /** The ffmpeg arguments used to convert GIFs to videos for advanced GIF playback, which affect the result. */
+    private static final String[] GIF_VIDEO_ARGS = { "-movflags", "faststart", "-pix_fmt", "yuv420p", "-vf", "\"scale=trunc(iw/2)*2:trunc(ih/2)*2\"" };
     /** The width (in px) of each side of the window's border. */
     public  static final int BORDER_SIZE = 20;
     /** The window insets where the user can drag and resize the window. */
@@ -168,7 +192,9 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
     private final ComponentResizer cr;
 
     /** The vlcj Media Player Component object. */
-    private EmbeddedMediaPlayerComponent mediaPlayer;
+    private volatile EmbeddedMediaPlayerComponent mediaPlayer;
+    /** The shared {@link MediaPlayerFactory} that the media player was created from, acquired from the {@link MediaPlayerFactoryPool}. */
+    private MediaPlayerFactory mediaPlayerFactory;
     /**
      * The media currently being displayed in this window. Can be <code>null</code>,
      * in which case no media is currently displayed.
@@ -176,6 +202,10 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
     private volatile PiPMedia media;
     /** A {@link PiPWindowState} instance which tracks the state of the window. */
     private final PiPWindowState state = new PiPWindowState();
+    /** The playback statistics sampled from the media player, which only cover the current media. */
+    private final PlaybackStats playbackStats = new PlaybackStats();
+    /** Whether or not the media player was dropping frames as of the latest playback statistics sample. */
+    private volatile boolean droppingFrames;
     
     /**
      * A {@link Selector} of accepted opacity values for the window. The values
@@ -226,6 +256,24 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
     private JLabel imgLabel;
     /** The StretchIcon with the image to display in the window's JLabel. */
     private StretchIcon imgLabelIcon;
+    /** The file path of the image shown in the image viewer, or <code>null</code> if not from a file. */
+    private String imgLabelSrc;
+    /** A boolean for whether or not the image viewer's full resolution image has been requested. */
+    private volatile boolean imgFullResRequested;
+    /** A boolean for whether or not the image viewer's image was decoded at a reduced resolution. Kept here so painting never queries the cache. */
+    private volatile boolean imgSubsampled;
+    /** The {@link GIFEngine} playing the GIF shown in the image viewer, or <code>null</code> if not in use. */
+    private volatile GIFEngine gifEngine;
+    /** A boolean for whether or not the window should keep its size when the loading video is applied, such as after swapping players. */
+    private volatile boolean keepSizeOnLoad;
+    /** How playback was suspended while the window is hidden or minimized, or <code>null</code> if it is not suspended. */
+    private HIDDEN_OPTION playbackSuspension;
+    /** The video track that was disabled while playback is suspended to audio only. */
+    private int suspendedVideoTrack = -1;
+    /** The lock object for suspending and resuming playback, which keeps those operations in order. */
+    private final Object suspensionLock = new Object();
+    /** The last queued handling of a visibility change. Each change is chained after the previous one, so they run in order. Only accessed on the EDT. */
+    private CompletableFuture<Void> visibilityTask = CompletableFuture.completedFuture(null);
     /** The last zoom and pan snapshot taken of the image icon, shown in the Swing image viewer, while in Normal (non-fullscreen) mode. */
     private ZoomPanSnapshot imgSnapshotNorm = ZoomPanSnapshot.DEFAULT;
     /** The last zoom and pan snapshot taken of the image icon, shown in the Swing image viewer, while in Fullscreen mode. */
@@ -243,7 +291,7 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         /** The randomly-generated serial UID for the FadingLineBorder class. */
         private static final long serialVersionUID = 616805148296397651L;
         @Override
-        public void requestPaint() { contentPane.repaint(); }
+        public void requestPaint() { repaintBorder(contentPane); }
     };
     /** An object for retrieving presets of various listeners used by PiPWindows. */
     private final PiPWindowListeners listeners = new PiPWindowListeners() {
@@ -307,15 +355,16 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         state.hook(FULLSCREEN, true,  (PermanentRunnable) () -> {
             // Only use media player to set fullscreen if VLC video.
             if (state.is(PLAYER_VLC) && state.not(CRASHED))
-                mediaPlayer.mediaPlayer().fullScreen().set(true);
+                callNative("fullscreen", player -> player.mediaPlayer().fullScreen().set(true));
             // Use standard fullscreen approach for other players, even combo player.
             else SwingUtilities.invokeLater(() -> setExtendedState(JFrame.MAXIMIZED_BOTH));
             SwingUtilities.invokeLater(() -> contentPane.setBorder(null));  // Must be placed after mediaPlayer call to prevent occasional failure.
+            SwingUtilities.invokeLater(this::checkFormatUpgrade);
         });
         state.hook(FULLSCREEN, false, (PermanentRunnable) () -> {
             // Only use media player to set fullscreen if VLC video.
             if (state.is(PLAYER_VLC) && state.not(CRASHED))
-                mediaPlayer.mediaPlayer().fullScreen().set(false);
+                callNative("fullscreen", player -> player.mediaPlayer().fullScreen().set(false));
             // Use standard fullscreen approach for other players, even combo player.
             else SwingUtilities.invokeLater(() -> setExtendedState(JFrame.NORMAL));
             SwingUtilities.invokeLater(() -> contentPane.setBorder(fadingBorder));
@@ -373,6 +422,7 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             }
             @Override
             public void ended() {
+                checkFormatUpgrade();
                 if (imgLabelIcon == null || state.not(PLAYER_COMBO, PLAYER_SWING)) return;  // Return if null or not applicable player.
                 imgLabelIcon.setParentResizing(false);
                 imgLabel.repaint(); // Paint again properly now that resizing has completed.
@@ -393,6 +443,14 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             // Ensure PiPWindow is closed properly even if initiated unconventionally.
             if (state.not(CLOSING)) requestClose();
         });
+        // Suspend or resume playback whenever the window is hidden, shown, minimized, or restored.
+        this.addWindowStateListener(e -> visibilityChanged());
+        this.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentHidden(ComponentEvent e) { visibilityChanged(); }
+            @Override
+            public void componentShown(ComponentEvent e)  { visibilityChanged(); }
+        });
         
         /* 
          * Clear Key/Mouse Inputs and Tracker Data When Focus is Lost -- Prevents Lingering Inputs from Lack of "Released" Calls.
@@ -486,44 +544,89 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
     }
     
     /**
-     * Performs setup for the VLC media player used for video and audio playback.
-     * This method <b>does not</b> perform any setup for the Swing player used to
-     * display images.
+     * Gets the LibVLC arguments that a window's media player factory is created
+     * with. Windows with the same arguments share one factory from the
+     * {@link MediaPlayerFactoryPool}.
+     * 
+     * @param rate       - a float with the default playback rate.
+     * @param hwDecoding - a boolean for whether or not to use hardware-accelerated
+     *                   decoding.
+     * @param superRes   - a boolean for whether or not to use RTX Video Super
+     *                   Resolution, which requires hardware-accelerated decoding.
+     * @return a List of Strings with the player arguments.
+     * @since 0.9.5
      */
-    private void setupMediaPlayer() {
-        if (mediaPlayerValid())
-            contentPane.remove(mediaPlayer);
-        
-        // Determine player arguments.
+    static List<String> playerArgs(float rate, boolean hwDecoding, boolean superRes) {
         final ArrayList<String> playerArgs = new ArrayList<>();
         playerArgs.add("--aout=directsound");
-        playerArgs.add("--rate=" + propertyState(PiPProperty.DEFAULT_PLAYBACK_RATE, Float.class));
+        playerArgs.add("--rate=" + rate);
         // Hardware-Accelerated Decoding (Acceleration)
-        if (propertyState(PiPProperty.USE_HW_DECODING, Boolean.class)) {
-            state.on(HW_ACCELERATION);
+        if (hwDecoding) {
             playerArgs.add("--avcodec-hw=d3d11va");
             playerArgs.add("--vout=direct3d11");
             
             // NVIDIA RTX Video Super Resolution Configuration -- Uses Hardware Decoding/Direct3D11
-            if (propertyState(PiPProperty.USE_SUPER_RES, Boolean.class)) {
-                state.on(RTX_SUPER_RES);
+            if (superRes)
                 playerArgs.add("--d3d11-upscale-mode=super");   // Even if using old VLC version, this argument will not break the player.
-            }
-        }
-        else {
-            // Hardware-Accelerated Decoding (Acceleration) OFF
-            state.off(HW_ACCELERATION);
-            // This alone does not guarantee use of software decoding; ":avcodec-hw=none" as a playback argument helps. See PLAY logic.
-            playerArgs.add("--avcodec-hw=none");
         }
+        // This alone does not guarantee use of software decoding; ":avcodec-hw=none" as a playback argument helps. See PLAY logic.
+        else playerArgs.add("--avcodec-hw=none");
+        return playerArgs;
+    }
+    
+    /**
+     * Performs setup for the VLC media player used for video and audio playback.
+     * This method <b>does not</b> perform any setup for the Swing player used to
+     * display images.
+     */
+    private void setupMediaPlayer() {
+        if (mediaPlayerValid())
+            contentPane.remove(mediaPlayer);
         
-        // Create player with arguments.
-        final MediaPlayerFactory fac = (AppRes.USING_BACKUP_LIBVLC
-                ? new MediaPlayerFactory((NativeDiscovery) null, playerArgs.toArray(new String[0]))
-                : new MediaPlayerFactory(playerArgs.toArray(new String[0])));
-        this.mediaPlayer = new EmbeddedMediaPlayerComponent(fac, null, new Win32FullScreenStrategy(this), null, null) {
+        // Determine player arguments.
+        final boolean hwDecoding = propertyState(PiPProperty.USE_HW_DECODING, Boolean.class);
+        final boolean superRes   = hwDecoding && propertyState(PiPProperty.USE_SUPER_RES, Boolean.class);
+        state.set(HW_ACCELERATION, hwDecoding);
+        if (superRes) state.on(RTX_SUPER_RES);
+        final List<String> playerArgs = playerArgs(propertyState(PiPProperty.DEFAULT_PLAYBACK_RATE, Float.class), hwDecoding, superRes);
+        
+        // Create player with arguments, using a factory shared with any other windows that use the same arguments.
+        this.mediaPlayerFactory = MediaPlayerFactoryPool.acquire(playerArgs);
+        this.mediaPlayer = new EmbeddedMediaPlayerComponent(this.mediaPlayerFactory, null, new Win32FullScreenStrategy(this), null, null) {
             /** The randomly-generated serial UID for this component. */
             private static final long serialVersionUID = -392052189550107898L;
+            /** The generation of the media being opened, which invalidates audio readiness from previous media. */
+            private final AtomicInteger audioGeneration = new AtomicInteger();
+            /** The generation of the media that the audio configuration was last applied to. */
+            private final AtomicInteger audioAppliedGeneration = new AtomicInteger(-1);
+            
+            /**
+             * Applies the audio configuration to the current media exactly once, as
+             * soon as the player's audio output exists. The audio output exists once
+             * it reports a valid volume, which is not <code>-1</code>. Applying it any
+             * earlier would not stick, while applying it later leaves the media
+             * playing at full volume in the meantime.
+             * <p>
+             * The check runs on the media player's own thread, as it calls back into
+             * the player from its events.
+             * 
+             * @param mediaPlayer - the MediaPlayer to apply the configuration to.
+             * @param generation  - an int with the media generation this call was
+             *                    made for.
+             * @param force       - a boolean for whether or not to apply the
+             *                    configuration even if the audio output is not ready,
+             *                    such as after a timeout.
+             */
+            private void applyAudioWhenReady(MediaPlayer mediaPlayer, int generation, boolean force) {
+                mediaPlayer.submit(() -> {
+                    if (generation != audioGeneration.get() || audioAppliedGeneration.get() == generation || !hasMedia()) return;
+                    if (!force && mediaPlayer.audio().volume() == -1) return;
+                    if (audioAppliedGeneration.getAndSet(generation) == generation) return;
+                    
+                    if (force) System.err.println("Warning: Audio output not ready in time. Applying audio configuration anyway.");
+                    applyAudio();
+                });
+            }
             
             /**
              * Applies the current audio configuration when called.
@@ -557,10 +660,13 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                     if (mediaSize.width == 0 && mediaSize.height == 0)
                         return; // If the video track does not have a size yet, don't bother setting it.
                     media.getAttributes().setSize(mediaSize.width, mediaSize.height);
+                    // Keep the current size if the same media was already shown by another player.
+                    final boolean keepSize = keepSizeOnLoad;
+                    keepSizeOnLoad = false;
                     // Set window size based on media's size on EDT.
                     SwingUtilities.invokeLater(() -> {
                         // Scale incoming media to be a maximum size while respecting its aspect ratio.
-                        PiPWindow.this.changeSize(media.getAttributes().getScaledSize(DEFAULT_MEDIA_SIZE));
+                        if (!keepSize) PiPWindow.this.changeSize(media.getAttributes().getScaledSize(DEFAULT_MEDIA_SIZE));
                         PiPWindow.this.cr.setAspectRatio(media.getAttributes().getSize());
                         adaptMinimumSize();
                         
@@ -582,21 +688,44 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
 
                     applyVideo(mediaPlayer);
                     
-                    // Fire redundant play command to ensure older windows respect the mode.
-                    if (propertyState(PiPProperty.SINGLE_PLAY_MODE, Boolean.class))
-                        mediaCommand(PiPMediaCMD.PLAY);
+                    // Media plays once loaded, so claim playback. In Single Play Mode, this pauses the window that was playing.
+                    claimPlayback();
                 }
             }
             
+            @Override
+            public void opening(MediaPlayer mediaPlayer) {
+                // New media is opening, so its audio configuration has yet to be applied.
+                audioGeneration.incrementAndGet();
+            }
+            @Override
+            public void elementaryStreamSelected(MediaPlayer mediaPlayer, TrackType type, int id) {
+                if (type == TrackType.AUDIO) applyAudioWhenReady(mediaPlayer, audioGeneration.get(), false);
+            }
+            @Override
+            public void volumeChanged(MediaPlayer mediaPlayer, float volume) {
+                applyAudioWhenReady(mediaPlayer, audioGeneration.get(), false);
+            }
+            @Override
+            public void audioDeviceChanged(MediaPlayer mediaPlayer, String audioDevice) {
+                applyAudioWhenReady(mediaPlayer, audioGeneration.get(), false);
+            }
             @Override
             public void videoOutput(MediaPlayer mediaPlayer, int newCount) {
                 // Only fire when the media is loading. Otherwise, ignore.
                 if (hasMedia() && media.isLoading()) {
-                    applyAudio();
+                    applyAudioWhenReady(mediaPlayer, audioGeneration.get(), false);
                 }
             }
             @Override
             public void playing(MediaPlayer mediaPlayer) {
+                // Fallback: Ensure the audio configuration is applied, even if the audio output never reports being ready.
+                final int generation = audioGeneration.get();
+                if (audioAppliedGeneration.get() != generation) {
+                    CompletableFuture.runAsync(() -> applyAudioWhenReady(mediaPlayer, generation, true),
+                            CompletableFuture.delayedExecutor(AUDIO_READY_TIMEOUT, TimeUnit.MILLISECONDS, CFExec.VIRTUAL_EXECUTOR));
+                }
+                
                 // Return early if there's no attributed audio media loading.
                 if (!hasMedia() || !media.isLoading() || !media.hasAttributes() || !media.getAttributes().isAudio())
                     return;
@@ -628,19 +757,7 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                         statusUpdate("Error: LM-00");  // TODO Update when error codes system is implemented across the app.
                         return;
                     }
-                    
-                    // Continually sleep until player's volume value is valid (not -1).
-                    float sleepMS = 1.00f;
-                    try {
-                        while (mediaPlayer.audio().volume() == -1) {
-                            Thread.sleep((int) sleepMS);
-                            sleepMS += Math.log10(sleepMS + 1);
-                        }
-                    } catch (InterruptedException ignore) {}  // Audio settings may not stay applied, but that's fine.
-                    
-                    // Apply audio configuration to player once playback has fully started.
-                    applyAudio();
-                }, CFExec.VIRTUAL_EXECUTOR);  // Virtual executor should be preferable due to sleep operations.
+                }, CFExec.VIRTUAL_EXECUTOR);
             }
         };
         mediaPlayer.mediaPlayer().controls().setRepeat(false);  // Repeats handled manually.
@@ -693,6 +810,152 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         return mediaPlayerValid() && (mediaPlayer.mediaPlayer().status().state() == State.PLAYING
                 || mediaPlayer.mediaPlayer().status().state() == State.PAUSED);
     }
+    
+    /**
+     * Runs the passed native call on the media player via the
+     * {@link NativeCallWatchdog}, with its default deadline. This method blocks
+     * until the call finishes or its deadline passes.
+     * 
+     * @param name - a String with the name of the call, used for its metrics.
+     * @param call - a Consumer with the call to run on the media player.
+     * @return <code>true</code> if the call finished within its deadline;
+     *         <code>false</code> if it hung or the player is invalid.
+     * @see #callNative(String, Consumer, long)
+     * @since 0.9.5
+     */
+    private boolean callNative(String name, Consumer<EmbeddedMediaPlayerComponent> call) {
+        return callNative(name, call, NativeCallWatchdog.DEFAULT_DEADLINE);
+    }
+    
+    /**
+     * Runs the passed native call on the media player via the
+     * {@link NativeCallWatchdog}. This method blocks until the call finishes or
+     * its deadline passes. If the deadline passes after the call started, the
+     * media player has likely crashed, and this window is marked as such via
+     * {@link #mediaPlayerHung()}. A call which never started is only dropped.
+     * Exceptions thrown by the call are rethrown.
+     * 
+     * @param name     - a String with the name of the call, used for its metrics.
+     * @param call     - a Consumer with the call to run on the media player.
+     * @param deadline - a long with the maximum time, in milliseconds, to wait
+     *                 for the call once it starts.
+     * @return <code>true</code> if the call finished within its deadline;
+     *         <code>false</code> if it hung, never started, or the player is
+     *         invalid.
+     * @since 0.9.5
+     */
+    private boolean callNative(String name, Consumer<EmbeddedMediaPlayerComponent> call, long deadline) {
+        // Keep a reference, as the player is dropped if another call hangs meanwhile.
+        final EmbeddedMediaPlayerComponent player = this.mediaPlayer;
+        if (player == null) return false;
+        
+        final PiPWindowManager manager = getManager();
+        final String owner = "PiPWindow <" + (manager != null ? manager.getWindowNumber(this) : "?") + ">";
+        return NativeCallWatchdog.call(name, owner, () -> call.accept(player), deadline, this::mediaPlayerHung);
+    }
+    
+    /**
+     * Reads from the media player via the {@link NativeCallWatchdog}, such as when
+     * capturing a {@link PiPWindowSnapshot}. The read is given a short deadline.
+     * Exceeding it does not mark the window as crashed, since a slow read alone
+     * does not prove that the player froze.
+     * 
+     * @param name - a String with the name of the read, used for its metrics.
+     * @param read - a Consumer with the read to run on the media player.
+     * @return <code>true</code> if the read finished within its deadline;
+     *         <code>false</code> if it did not or the player is invalid.
+     * @since 0.9.5
+     */
+    boolean readMediaPlayer(String name, Consumer<MediaPlayer> read) {
+        final EmbeddedMediaPlayerComponent player = this.mediaPlayer;
+        if (player == null) return false;
+        
+        final PiPWindowManager manager = getManager();
+        final String owner = "PiPWindow <" + (manager != null ? manager.getWindowNumber(this) : "?") + ">";
+        return NativeCallWatchdog.call(name, owner, () -> read.accept(player.mediaPlayer()), NATIVE_READ_DEADLINE, null);
+    }
+    
+    /**
+     * Handles a media player that failed to finish a native call in time, which
+     * means it has likely crashed. The player is dropped and the window is marked
+     * as <code>CRASHED</code>. This only takes effect once, regardless
+     * of how many calls hung. It does not lock the window, as it may run while the
+     * EDT waits on a native call.
+     * 
+     * @since 0.9.5
+     */
+    private void mediaPlayerHung() {
+        if (!state.compareAndSet(CRASHED, false, true)) return;
+        
+        mediaPlayer = null;
+        // Stop sharing the factory with new windows. It is never released, as the crashed player may still use it.
+        MediaPlayerFactoryPool.invalidate(mediaPlayerFactory);
+        managerListener.windowMediaCrashed();
+    }
+    
+    /**
+     * Samples the playback statistics of the media player, optionally showing
+     * them in an overlay on top of the video. A warning is logged when the media
+     * player starts dropping frames. Nothing is sampled unless the window is
+     * using VLC to play media which has finished loading.
+     * <p>
+     * The overlay uses VLC's marquee, as Swing cannot paint over the native video
+     * surface. This method makes native calls, so it should not be called on the
+     * event-dispatch thread (EDT).
+     * 
+     * @param overlay - a boolean for whether or not to show the sample in an
+     *                overlay.
+     * @return the new {@link PlaybackStats.Sample}, or <code>null</code> if
+     *         nothing was sampled.
+     * @since 0.9.5
+     */
+    public PlaybackStats.Sample samplePlaybackStats(boolean overlay) {
+        if (state.not(PLAYER_VLC) || !hasMedia() || state.any(LOADING, CLOSING, CLOSING_MEDIA, CRASHED)) return null;
+        
+        // A slow sample is only skipped, as it alone does not prove that the player froze.
+        final AtomicReference<PlaybackStats.Sample> sampled = new AtomicReference<>();
+        if (!readMediaPlayer("statistics", player -> sampled.set(playbackStats.sample(player))) || sampled.get() == null) return null;
+        final PlaybackStats.Sample sample = sampled.get();
+        
+        final boolean dropping = sample.isDropping();
+        if (dropping && !droppingFrames) {
+            final PiPWindowManager manager = getManager();
+            System.err.println("PiPWindow <" + (manager != null ? manager.getWindowNumber(this) : "?") + "> is dropping frames: " + sample.summary());
+        }
+        droppingFrames = dropping;
+        
+        if (overlay) callNative("marquee", player -> {
+            final MarqueeApi marquee = player.mediaPlayer().marquee();
+            marquee.setText(sample.summary());
+            marquee.setColour(dropping ? Color.RED : Color.WHITE);
+            marquee.setSize(STATS_OVERLAY_SIZE);
+            marquee.setPosition(MarqueePosition.TOP_LEFT);
+            marquee.enable(true);
+        });
+        return sample;
+    }
+    
+    /**
+     * Hides the playback statistics overlay, if it is showing. This method makes a
+     * native call, so it should not be called on the event-dispatch thread (EDT).
+     * 
+     * @since 0.9.5
+     */
+    public void hidePlaybackStatsOverlay() {
+        if (state.not(PLAYER_VLC) || state.any(CLOSING, CLOSING_MEDIA, CRASHED)) return;
+        callNative("marquee", player -> player.mediaPlayer().marquee().enable(false));
+    }
+    
+    /**
+     * Gets the playback statistics sampled from this window's media player. They
+     * only cover the current media.
+     * 
+     * @return the {@link PlaybackStats}.
+     * @since 0.9.5
+     */
+    public PlaybackStats getPlaybackStats() {
+        return this.playbackStats;
+    }
 
     @Override
     public void handleShortcutBind(final BindDetails<?> bind) {
@@ -750,29 +1013,23 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                     Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(this.media.getSrc()), null);
                 break;
             case OPACITY_MAX:
-                setOpacity(this.opacitySelector.selectLastAndGet());
-                break;
             case OPACITY_INCREASE:
-                setOpacity(this.opacitySelector.selectNextAndGet());
-                break;
             case OPACITY_DECREASE:
-                setOpacity(this.opacitySelector.selectPreviousAndGet());
-                break;
             case OPACITY_MIN:
-                setOpacity(this.opacitySelector.selectFirstAndGet());
+                setOpacity(selectOpacity(shortcut));
                 break;
             case PAUSE:
             case PLAY:
             case PLAY_PAUSE:
-                // Cancel command if not using compatible player.
-                if (state.any(PLAYER_NONE, PLAYER_SWING)) break;
+                // Cancel command if not using compatible player. The image viewer is only compatible when playing a GIF.
+                if (state.is(PLAYER_NONE) || (state.is(PLAYER_SWING) && gifEngine == null)) break;
                 
-                // Flash Borders with Play/Pause if using Combo Player. Both cases are manual (true).
+                // Flash Borders with Play/Pause if using Combo Player or GIF engine. Both cases are manual (true).
                 mediaCommand(switch(shortcut) {
                 case PAUSE -> PiPMediaCMD.PAUSE;
                 case PLAY  -> PiPMediaCMD.PLAY;
                 default    -> PiPMediaCMD.PLAYPAUSE;
-                }, state.is(PLAYER_COMBO) ? "true" : "false", "true");
+                }, state.is(PLAYER_COMBO) || gifEngine != null ? "true" : "false", "true");
                 break;
             // SEEK SPECIFIC
             case SEEK:
@@ -1096,30 +1353,12 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             case MOVE_WINDOW_N:
             case MOVE_WINDOW_N_LESS:
             case MOVE_WINDOW_N_MORE:
-                // Get current coordinates.
+                // Get current coordinates and the X and Y adjustments.
                 final int curX = getX(), curY = getY();
-                // Get X and Y adjustments.
-                final int adjX = switch (shortcut) {
-                case MOVE_WINDOW_W       ->  -5;
-                case MOVE_WINDOW_W_LESS  ->  -1;
-                case MOVE_WINDOW_W_MORE  -> -25;
-                case MOVE_WINDOW_E       ->   5;
-                case MOVE_WINDOW_E_LESS  ->   1;
-                case MOVE_WINDOW_E_MORE  ->  25;
-                default -> 0;
-                };
-                final int adjY = switch(shortcut) {
-                case MOVE_WINDOW_S       ->   5;
-                case MOVE_WINDOW_S_LESS  ->   1;
-                case MOVE_WINDOW_S_MORE  ->  25;
-                case MOVE_WINDOW_N       ->  -5;
-                case MOVE_WINDOW_N_LESS  ->  -1;
-                case MOVE_WINDOW_N_MORE  -> -25;
-                default -> 0;
-                };
+                final Point adj = moveAdjustment(shortcut);
                 
                 // Set location to be current coordinates + adjustments.
-                SwingUtilities.invokeLater(() -> this.setLocation(curX + adjX, curY + adjY));
+                SwingUtilities.invokeLater(() -> this.setLocation(curX + adj.x, curY + adj.y));
                 break;
             case RELOCATE_WINDOW:
                 SwingUtilities.invokeLater(this::ensureOnScreen);
@@ -1149,7 +1388,7 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 
                 // Scale current dimensions to desired width/height while respecting window minimum.
                 if (shortcut == Shortcut.RESIZE_WINDOW) scaleSize(input.get(), scaleWidth.isTrue());
-                else getManager().callInLiveWindows(w -> w.scaleSize(input.get(), scaleWidth.isTrue()));
+                else getManager().batch(Shortcut.RESIZE_WINDOWS, w -> w.changeSize(w.scaledSize(input.get(), scaleWidth.isTrue())));
                 break;
             case RESET_SIZE:
                 SwingUtilities.invokeLater(this::resetSize);
@@ -1166,16 +1405,7 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 // Make no adjustment if size is locked.
                 if (state.is(LOCKED_SIZE)) break;
                 
-                final int adjustment = switch (shortcut) {
-                    case WINDOW_SIZE_DECREASE_LESS -> -5;
-                    case WINDOW_SIZE_DECREASE      -> -10;
-                    case WINDOW_SIZE_DECREASE_MORE -> -20;
-                    case WINDOW_SIZE_INCREASE_LESS -> 5;
-                    case WINDOW_SIZE_INCREASE      -> 10;
-                    case WINDOW_SIZE_INCREASE_MORE -> 20;
-                    default -> 0;
-                };
-                scaleSize(getInnerWidth() + adjustment, true);
+                scaleSize(getInnerWidth() + sizeAdjustment(shortcut), true);
                 break;
             // ZOOM -- Combined logic simplifies casting to MouseInput and usage of coordinates.
             case ZOOM_IN_LESS:
@@ -1261,6 +1491,8 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             final boolean anyArgs = cmdArgs != null && !cmdArgs.isEmpty();
             final String[] args   = anyArgs && cmdArgs.isOfType(String.class) ? cmdArgs.raw().toArray(new String[0]) : null;
             final boolean strArgs = args != null;
+            // The GIF engine, if in use, handles playback commands in place of the media player.
+            final GIFEngine gif = this.gifEngine;
             
             switch (cmd) {
             case SET_SRC: {
@@ -1280,8 +1512,10 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             }
             case PLAYPAUSE:
                 // Option Arguments (T/F): [0]=Flash Borders (DEFAULT: false), [1]=Manual (DEFAULT: true)
-                final boolean isPlaying = mediaPlayer.mediaPlayer().status().isPlaying();
-                if (isPlaying) mediaCommand(PiPMediaCMD.PAUSE, args);
+                final AtomicBoolean isPlaying = new AtomicBoolean(gif != null && gif.isPlaying());
+                if (gif == null && !callNative("isPlaying", player -> isPlaying.set(player.mediaPlayer().status().isPlaying())))
+                    return false;
+                if (isPlaying.get()) mediaCommand(PiPMediaCMD.PAUSE, args);
                 else           mediaCommand(PiPMediaCMD.PLAY,  args);
                 break;
             case PLAY:
@@ -1289,12 +1523,12 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 if (strArgs && args[0] != null && Boolean.valueOf(args[0]))
                     flashBorder(BORDER_OK);
                 
-                // If in Single Play Mode, pause all windows first, then play this one.
-                if (propertyState(PiPProperty.SINGLE_PLAY_MODE, Boolean.class))
-                    getManager().propertyChanged(PiPProperty.SET_ALL_PAUSED, "true");
+                // Claim playback. If in Single Play Mode, the window that was playing is paused first, then this one plays.
+                claimPlayback();
                 
                 state.off(MANUALLY_STOPPED, MANUALLY_PAUSED);
-                mediaPlayer.mediaPlayer().controls().play();
+                if (gif != null) gif.play();
+                else if (!callNative("play", player -> player.mediaPlayer().controls().play())) return false;
                 break;
             case PAUSE:
                 // Option Arguments (T/F): [0]=Flash Borders (DEFAULT: false), [1]=Manual (NO DEFAULT)
@@ -1304,8 +1538,12 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                     state.set(MANUALLY_PAUSED, Boolean.valueOf(args[1]));
 
                 // Only allow pause once window is ready. Prevents invisible window effect and allows Single Playback Mode to function.
-                if (state.is(READY))
-                    mediaPlayer.mediaPlayer().controls().setPause(true);    // Use setPause(boolean), not pause() which inverts state.
+                if (state.is(READY)) {
+                    if (gif != null) gif.pause();
+                    // Use setPause(boolean), not pause() which inverts state.
+                    else if (!callNative("pause", player -> player.mediaPlayer().controls().setPause(true))) return false;
+                    getManager().releasePlayback(this);
+                }
                 break;
             case SEEK_FRAME:
                 /*
@@ -1313,14 +1551,22 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                  * would involve seeking backwards to the most recent full frame, then going
                  * through each subsequent frame's changes until arriving at the desired frame.
                  */
-                mediaPlayer.mediaPlayer().controls().nextFrame();
+                if (gif != null) gif.nextFrame();
+                else if (!callNative("nextFrame", player -> player.mediaPlayer().controls().nextFrame())) return false;
                 break;
             case SEEK:
                 // Expected Arguments: [0]=Type (Set or Skip), [1]=Amount
-                if (args[0].equals("SET"))
-                    mediaPlayer.mediaPlayer().controls().setPosition(Float.valueOf(args[1]));
-                else
-                    mediaPlayer.mediaPlayer().controls().skipTime(Integer.valueOf(args[1]));
+                if (gif != null) {
+                    if (args[0].equals("SET")) gif.seek(Float.valueOf(args[1]));
+                    else                       gif.skip(Integer.valueOf(args[1]));
+                }
+                else if (args[0].equals("SET")) {
+                    final float position = Float.valueOf(args[1]);
+                    if (!callNative("setPosition", player -> player.mediaPlayer().controls().setPosition(position))) return false;
+                } else {
+                    final int skip = Integer.valueOf(args[1]);
+                    if (!callNative("skipTime", player -> player.mediaPlayer().controls().skipTime(skip))) return false;
+                }
                 break;
             case MUTEUNMUTE:
                 if (state.is(LOCALLY_MUTED))
@@ -1334,7 +1580,7 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 if (!strArgs || Boolean.valueOf(args[0]))
                     state.on(LOCALLY_MUTED);
                 
-                mediaPlayer.mediaPlayer().audio().setMute(true);
+                if (!callNative("setMute", player -> player.mediaPlayer().audio().setMute(true))) return false;
                 break;
             case UNMUTE:
                 // Optional Argument: [0]=Locally Called (DEFAULT: true)
@@ -1342,28 +1588,32 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 if (!strArgs || Boolean.valueOf(args[0]))
                     state.off(LOCALLY_MUTED);
                 
-                if (state.not(LOCALLY_MUTED) && !propertyState(PiPProperty.GLOBAL_MUTED, Boolean.class))
-                    mediaPlayer.mediaPlayer().audio().setMute(false);
+                if (state.not(LOCALLY_MUTED) && !propertyState(PiPProperty.GLOBAL_MUTED, Boolean.class)
+                        && !callNative("setMute", player -> player.mediaPlayer().audio().setMute(false)))
+                    return false;
                 break;
             case VOLUME_ADJUST:
 //                System.out.println("VOL ADJUST DETECTED ON: " + media.getAttributes().getTitle());
                 // Expected Arguments: [0]=Type (Set or Skip), [1]=Amount
                 // TODO Catch/handle potential formatting exception on valueOf, or produce better logic here.
-                int newVol = Integer.valueOf(args[1]);
-                if (args[0].equals("SKIP")) {
-                    newVol += mediaPlayer.mediaPlayer().audio().volume();
-                }
-                mediaPlayer.mediaPlayer().audio().setVolume(Math.max(0, Math.min(newVol, 100)));
+                final int volAmount = Integer.valueOf(args[1]);
+                final boolean volSkip = args[0].equals("SKIP");
+                if (!callNative("setVolume", player -> {
+                    final int newVol = volSkip ? volAmount + player.mediaPlayer().audio().volume() : volAmount;
+                    player.mediaPlayer().audio().setVolume(Math.max(0, Math.min(newVol, 100)));
+                })) return false;
                 break;
             case SPEED_ADJUST:
 //                System.out.println("SPEED ADJUST " + args[0] + args[1]);
                 // Expected Arguments: [0]=Type (Set or Adjust), [1]=Amount
                 // TODO Catch/handle potential formatting exception on valueOf, or produce better logic here.
-                float newRate = Float.valueOf(args[1]);
-                if (args[0].equals("SKIP")) {
-                    newRate += mediaPlayer.mediaPlayer().status().rate();
-                }
-                mediaPlayer.mediaPlayer().controls().setRate(Math.max(0, Math.min(newRate, 5.0f)));
+                final float rateAmount = Float.valueOf(args[1]);
+                final boolean rateSkip = args[0].equals("SKIP");
+                if (gif != null) gif.setRate(Math.max(0, Math.min(rateSkip ? rateAmount + gif.getRate() : rateAmount, 5.0f)));
+                else if (!callNative("setRate", player -> {
+                    final float newRate = rateSkip ? rateAmount + player.mediaPlayer().status().rate() : rateAmount;
+                    player.mediaPlayer().controls().setRate(Math.max(0, Math.min(newRate, 5.0f)));
+                })) return false;
                 break;
             case ZOOM:
                 if (state.not(PLAYER_SWING))
@@ -1459,25 +1709,15 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                               hasConvSrc  = srcSnap.hasMediaConvertSrc();
                 
                 // Stop the media player, but ensure that code does not freeze if the player is frozen and stop is called.
+                getManager().releasePlayback(this);
                 state.off(LOADING);
                 state.on(CLOSING_MEDIA, MANUALLY_STOPPED);
                 if (state.is(PLAYER_SWING)) {
                     TryIgnore.runWith(PiPAAUtils::invokeNowAndWait, this::clearImgViewer);
                 }
                 else if (mediaPlayerCanBeStopped()) {
-                    // Not using a virtual thread, as this operation may use native code.
-                    try (final ExecutorService executor = Executors.newSingleThreadExecutor()) {
-                        final CompletableFuture<Void> future = CompletableFuture.runAsync(mediaPlayer.mediaPlayer().controls()::stop, executor);
-                        try {
-                            // Give the media player a max runtime to execute the command. If exceeded, it has likely crashed.
-                            future.get(2000, TimeUnit.MILLISECONDS);
-                        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                            future.cancel(true);
-                            mediaPlayer = null;
-                            state.on(CRASHED);
-                            managerListener.windowMediaCrashed();
-                        }
-                    }   // Executor closed via try-with-resources.
+                    // Give the media player a max runtime to execute the command. If exceeded, it has likely crashed.
+                    callNative("stop", player -> player.mediaPlayer().controls().stop());
                 }
                 state.off(FULLSCREEN);  // Fullscreen hooks have native call, but if it crashes, it will happen asynchronously.
                 
@@ -1531,6 +1771,12 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         // Retrieve new/changed media.
         final PiPMedia mediaNew = this.getMedia();
         
+        // Any playback suspension applied to the previous media no longer applies.
+        synchronized (this.suspensionLock) { this.playbackSuspension = null; }
+        // Playback statistics only cover the current media.
+        playbackStats.clear();
+        droppingFrames = false;
+        
         // Media is null when closed. Otherwise, treat as new media.
         if (mediaNew == null) {
             // Unhook READY hooks so that they do not carry over to new media.
@@ -1570,6 +1816,9 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             setExtendedState(JFrame.NORMAL); setIconImage(ICON_NORMAL);
         }));
 
+        // Select web formats based on the size the media will be displayed at.
+        if (!mediaNew.isAttributed()) mediaNew.setFormatHeight(formatHeightTarget());
+        
         // Asynchronously fire the command to set the new media source.
         CompletableFuture.runAsync(() -> {
             // Cancel and return if updating media attributes failed.
@@ -1677,6 +1926,42 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         return this.media != null;
     }
     
+    /**
+     * Checks if this window has media which can be played and paused. This is any
+     * media, unless it is shown by the image viewer without a GIF.
+     * 
+     * @return <code>true</code> if this window has playable media;
+     *         <code>false</code> otherwise.
+     * @since 0.9.5
+     */
+    private boolean hasPlayableMedia() {
+        return hasMedia() && !(state.is(PLAYER_SWING) && gifEngine == null);
+    }
+    
+    /**
+     * Claims playback for this window, which is starting to play its media. Every
+     * start of playback must claim it first. In Single Play Mode, this pauses the
+     * window that was playing.
+     * 
+     * @see PiPWindowManager#claimPlayback(PiPWindow, boolean)
+     * @since 0.9.5
+     */
+    private void claimPlayback() {
+        getManager().claimPlayback(this, propertyState(PiPProperty.SINGLE_PLAY_MODE, Boolean.class));
+    }
+    
+    /**
+     * Pauses this window's media because another window claimed playback in
+     * Single Play Mode. This is called by the manager, and it does nothing if the
+     * window has no playable media.
+     * 
+     * @see PiPWindowManager#claimPlayback(PiPWindow, boolean)
+     * @since 0.9.5
+     */
+    public void yieldPlayback() {
+        if (hasPlayableMedia()) mediaCommand(PiPMediaCMD.PAUSE, "false", "true");
+    }
+    
     /**
      * Checks if this window has any valid, <b>attributed</b> media set. Since this
      * method requires the media to be valid (not <code>null</code>), this method
@@ -1812,6 +2097,10 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                     platformArgs.add("--embed-metadata");
                     platformArgs.add("-S");
                     platformArgs.add("aext");
+                } else if (maxVideoHeight() > 0) {
+                    // Downloads are cached and shared, so only the user's maximum applies, not the window size.
+                    platformArgs.add("-S");
+                    platformArgs.add(FormatSelector.sortArg(maxVideoHeight()));
                 }
                 platformArgs.add("--ffmpeg-location");
                 platformArgs.add(AppRes.FFMPEG_LOC_ARG);
@@ -1954,28 +2243,148 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
     }
     
     /**
-     * Converts the local GIF at the passed <code>in</code> location to a video and
-     * outputs to <code>out</code>. Finally, the method returns the final location
-     * of the converted media, or null if conversion failed.
+     * Converts the local GIF at the passed <code>in</code> location to a video via
+     * the passed {@link Conversion}. Finally, the method returns the final location
+     * of the converted media, or null if conversion failed. If the conversion is
+     * already cached, the cached video is used without converting again.
      * 
-     * @param in  - the String, local source location of the GIF media to convert.
-     * @param out - the String, local source location to place the converted media at.
+     * @param in         - the String, local source location of the GIF media to
+     *                   convert.
+     * @param conversion - the {@link Conversion} of the GIF to a video.
      * @return a String with the converted media's source location, or null if
      *         conversion failed.
      * @throws InterruptedException if the conversion process was interrupted.
      */
-    private String convertGIFToVideo(String in, String out) throws InterruptedException {
+    private String convertGIFToVideo(String in, Conversion conversion) throws InterruptedException {
         // Now convert to MP4 from GIF and return its file location.
-        final File outFile = new File(out);
-        if (!outFile.exists()) {
-            outFile.getParentFile().mkdirs();
+        if (!conversion.isCached()) {
+            File tempFile = null;
             try {
-                Binaries.execAndWait(Binaries.bin(Bin.FFMPEG), "-y", "-i", "\"" + in + "\"", "-movflags", "faststart",
-                        "-pix_fmt", "yuv420p", "-vf", "\"scale=trunc(iw/2)*2:trunc(ih/2)*2\"", outFile.getPath(),
-                        "-hide_banner", "-loglevel", "error");
+                // Convert to a temporary file first, so an interrupted conversion never leaves a partial video behind.
+                // Limit ffmpeg to a single thread, as it runs in the background while the GIF is already playing.
+                tempFile = conversion.temp();
+                final String[] cmd = ArrayUtils.addAll(new String[] { Binaries.bin(Bin.FFMPEG), "-y", "-i", "\"" + in + "\"" }, GIF_VIDEO_ARGS);
+                final int exitCode = Binaries.execAndWait(ArrayUtils.addAll(cmd, "-threads", "1", tempFile.getPath(), "-hide_banner", "-loglevel", "error"));
+                if (exitCode != 0) return null;
+                conversion.commit(tempFile);
             } catch (IOException e) { e.printStackTrace(); return null; }
+            finally {
+                if (tempFile != null) tempFile.delete();
+            }
         }
-        return outFile.getPath();
+        return conversion.file().getPath();
+    }
+    
+    /**
+     * Gets the conversion of the passed GIF to a video for advanced GIF playback.
+     * The conversion is cached by the GIF's content, so it is shared by every
+     * window and session showing the same GIF, regardless of its name.
+     * 
+     * @param src - a String with the path to the local GIF.
+     * @return the {@link Conversion}, or <code>null</code> if the GIF could not be
+     *         read.
+     * @since 0.9.5
+     */
+    private Conversion gifConversion(String src) {
+        try {
+            return ConversionCache.of(new File(src), Bin.FFMPEG, String.join(" ", GIF_VIDEO_ARGS), "mp4");
+        } catch (IOException e) {
+            System.err.println("Failed to read GIF for its conversion: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Converts the passed GIF to a video in the background, while the GIF is shown
+     * using basic playback. Once the conversion is done, the window swaps to the
+     * video via {@link #swapToConvertedGIF(PiPMedia, String)}. The conversion is
+     * linked to this window's downloads, so it is interrupted if the media closes.
+     * 
+     * @param gifMedia   - the PiPMedia of the GIF, which must still be set once
+     *                   the conversion is done.
+     * @param in         - a String with the path to the local GIF.
+     * @param conversion - the {@link Conversion} of the GIF to a video.
+     * @since 0.9.5
+     */
+    private void convertGIFInBackground(final PiPMedia gifMedia, final String in, final Conversion conversion) {
+        CompletableFuture.runAsync(() -> {
+            final String result;
+            try {
+                result = this.monitor.supplyLinked(linkDL, src -> convertGIFToVideo(src, conversion), in);
+            } catch (InterruptedException e) {
+                System.err.println("Interrupted while converting GIF to video in the background.");
+                return;
+            }
+            if (result == null) {
+                System.err.println("Failed to convert GIF to video: continuing with basic GIF playback.");
+                return;
+            }
+            swapToConvertedGIF(gifMedia, result);
+        }, CFExec.VIRTUAL_EXECUTOR);
+    }
+    
+    /**
+     * Swaps the GIF shown using basic playback to its converted video, played by
+     * the media player. The video starts at the frame the GIF was showing, and the
+     * window keeps its size. If the GIF was paused, the video is paused as soon as
+     * it loads.
+     * <p>
+     * The swap is skipped if the passed media is no longer set, its basic playback
+     * is not in use, or the window is hidden from view. The video stays cached, so
+     * the GIF uses it immediately the next time it is loaded.
+     * 
+     * @param gifMedia - the PiPMedia of the GIF that was converted.
+     * @param video    - a String with the path to the converted video.
+     * @since 0.9.5
+     */
+    private void swapToConvertedGIF(final PiPMedia gifMedia, final String video) {
+        // Capture the GIF's position and swap the players on the EDT, so the media cannot change in between.
+        final Boolean[] paused = new Boolean[1];
+        final Integer time = PiPAAUtils.makeOnEDT(() -> {
+            if (this.media != gifMedia || state.not(PLAYER_SWING) || state.any(LOADING, CLOSING, CLOSING_MEDIA, CRASHED)
+                    || !mediaPlayerValid() || isHiddenFromView())
+                return null;
+            
+            final GIFEngine gif = this.gifEngine;
+            final int gifTime = gif != null ? gif.time() : 0;
+            paused[0] = gif != null && !gif.isPlaying();
+            
+            gifMedia.getAttributes().setUseAdvancedGIFPlayback(true);
+            gifMedia.setLoading(true);
+            state.on(LOADING);
+            keepSizeOnLoad = true;
+            clearImgViewer();
+            pickPlayer();
+            return gifTime;
+        });
+        if (time == null) return;
+        System.out.println("Swapping GIF to its converted video at " + time + "ms.");
+        
+        // Pause the video once it loads if the GIF was paused. Otherwise, it keeps playing in place of the GIF.
+        if (paused[0]) state.hook(LOADING, false, () -> mediaCommand(PiPMediaCMD.PAUSE, "false", "true"));
+        else           claimPlayback();
+        callNative("play", player -> {
+            player.mediaPlayer().controls().setRepeat(false);
+            player.mediaPlayer().media().play(video, playerOptions(":start-time=" + (time / 1000f)));
+        });
+    }
+    
+    /**
+     * Gets the options that media is played with in the media player, followed by
+     * the passed options.
+     * 
+     * @param extra - any number of additional String options.
+     * @return a String array with the options.
+     * @since 0.9.5
+     */
+    private String[] playerOptions(String... extra) {
+        final String[] options = {
+            // Pause the media once the end is reached. PiPAA handles the restart/replay logic.
+            ":play-and-pause",
+            // Helps ensure software decoding is used in combination with previous argument.
+            state.not(HW_ACCELERATION) ? ":avcodec-hw=none" : ""
+        };
+        return ArrayUtils.addAll(options, extra);
     }
     
     /**
@@ -1996,15 +2405,8 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
      *                               as the source.
      */
     private void setSrc(String[] args) throws InterruptedException, InvalidMediaException {
-        // Declare Options
-        String[] options = {
-            // Pause the media once the end is reached. PiPAA handles the restart/replay logic.
-            ":play-and-pause",
-            // Helps ensure software decoding is used in combination with previous argument.
-            state.not(HW_ACCELERATION) ? ":avcodec-hw=none" : "",
-            // Empty argument to be replaced if needed below.
-            ""
-        };
+        // Declare Options -- Empty argument to be replaced if needed below.
+        String[] options = playerOptions("");
         
         // Local Media
         if (media.getAttributes().isLocal()) {
@@ -2059,16 +2461,16 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         
         // Advanced GIF Playback Conversion
         if (media.getAttributes().isGIF() && media.getAttributes().usesAdvancedGIFPlayback()) {
-            titleStatusUpdate("[Converting...]");
-            iconUpdate(ICON_WORK);
-            final String mediaNameID = media.getAttributes().getFileTitleID();
-            final String result = convertGIFToVideo(args[0], AppRes.APP_CONVERTED_FOLDER + "/" + mediaNameID + ".mp4");
-            if (result == null) {
-                // Unable to Convert Media -- Use Fallback Method
-                System.err.println("Failed to convert GIF to video: using fallback and setting Adv. GIF Playback to false.");
-                media.getAttributes().setUseAdvancedGIFPlayback(false);
+            final Conversion conversion = gifConversion(args[0]);
+            if (conversion != null && conversion.isCached()) {
+                args[0] = conversion.file().getPath();
             } else {
-                args[0] = result;
+                // Show the GIF immediately using basic playback, then swap to the video once it has been converted.
+                media.getAttributes().setUseAdvancedGIFPlayback(false);
+                try {
+                    PiPAAUtils.invokeNowAndWait(this::pickPlayer);
+                } catch (InvocationTargetException e) { e.printStackTrace(); }
+                if (conversion != null) convertGIFInBackground(media, args[0], conversion);
             }
         }
         
@@ -2088,8 +2490,10 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         // VLC and COMBO Players
         if (state.not(PLAYER_SWING)) {
             // Don't auto-repeat -- playback restart is handled manually for more control.
-            mediaPlayer.mediaPlayer().controls().setRepeat(false);
-            mediaPlayer.mediaPlayer().media().play(args[0], options);
+            callNative("play", player -> {
+                player.mediaPlayer().controls().setRepeat(false);
+                player.mediaPlayer().media().play(args[0], options);
+            });
         }
         titleStatusUpdate(null);
     }
@@ -2105,11 +2509,13 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         private static final long serialVersionUID = 1759259882823854325L;
         /** Creates a proportional {@link StretchIcon} using a {@link URL} source. */
         public WindowStretchIcon(URL src)    { super(src, true); }
-        /** Creates a proportional {@link StretchIcon} using a String source. */
-        public WindowStretchIcon(String src) { super(src, true); }
+        /** Creates a proportional {@link StretchIcon} using a shared, decoded {@link Image}. */
+        public WindowStretchIcon(Image img)  { super(img, true); }
         @Override
         public void requestPaint() { PiPWindow.this.imgLabel.repaint(); }
         @Override
+        public void requestFullResolution() { PiPWindow.this.upgradeImgViewerSrc(this); }
+        @Override
         public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return PiPWindow.this.propertyState(prop, rtnType); }
         @Override
         public PiPWindowState getState() { return PiPWindow.this.state; }
@@ -2131,12 +2537,23 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
      */
     private void setImgViewerSrc(final String src, final URL urlSrc) throws InvalidMediaException {
         // Determine type of source and create icon.
-        if (src != null)         imgLabelIcon = new WindowStretchIcon(src);
+        // GIFs are played by the GIF engine when possible, giving them playback controls.
+        gifEngine = (src != null && media.getAttributes().isGIF()) ? loadGIFEngine(src) : null;
+        // File sources are shared between windows via the cache, so each file is only decoded once.
+        // Oversized images are subsampled down to the largest size the window could display them at.
+        if (gifEngine != null)   imgLabelIcon = new WindowStretchIcon(gifEngine.frame());
+        else if (src != null)    imgLabelIcon = new WindowStretchIcon(DecodedImageCache.acquire(src, imgViewerTargetSize()));
         else if (urlSrc != null) imgLabelIcon = new WindowStretchIcon(urlSrc);
         else throw new InvalidMediaException("Cannot set image viewer source: Neither image source option is valid.");
-            
+        imgLabelSrc = src;
+        imgFullResRequested = false;
+        imgSubsampled = (gifEngine == null && src != null && DecodedImageCache.subsampling(imgLabelIcon.getImage()) > 1);
+        
         state.on(RESIZING);
-        media.getAttributes().setSize(imgLabelIcon.getImgWidth(), imgLabelIcon.getImgHeight());
+        // Use the full source size, as the decoded image may be subsampled.
+        final Dimension srcSize = DecodedImageCache.sourceSize(imgLabelIcon.getImage());
+        if (srcSize != null) media.getAttributes().setSize(srcSize.width, srcSize.height);
+        else                 media.getAttributes().setSize(imgLabelIcon.getImgWidth(), imgLabelIcon.getImgHeight());
         PiPWindow.this.cr.setAspectRatio(media.getAttributes().getSize());
         adaptMinimumSize();
         resetImgViewerSnapshots();
@@ -2145,12 +2562,84 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             changeSize(media.getAttributes().getScaledSize(DEFAULT_MEDIA_SIZE));
             ensureOnScreen();
             state.on(READY);
+            if (gifEngine != null) {
+                claimPlayback();
+                gifEngine.play();
+            }
         });
     }
     
     /**
-     * Clears the JLabel image viewer of its icon, flushing the image and setting
-     * the icon to <code>null</code>. Without properly flushing the image, there's a
+     * Loads the GIF at the passed source into a new {@link GIFEngine}, which
+     * displays each of its frames in the image viewer. The engine starts paused,
+     * with the default playback rate applied.
+     * 
+     * @param src - a String with the path to the GIF file.
+     * @return the {@link GIFEngine}, or <code>null</code> if the GIF should use the
+     *         default animation instead.
+     * @since 0.9.5
+     */
+    private GIFEngine loadGIFEngine(final String src) {
+        final GIFEngine engine = GIFEngine.load(new File(src), (eng, frame) -> SwingUtilities.invokeLater(() -> {
+            // Ignore frames from engines that are no longer in use.
+            if (eng == gifEngine && imgLabelIcon != null) imgLabelIcon.setImage(frame);
+        }));
+        if (engine != null) engine.setRate(propertyState(PiPProperty.DEFAULT_PLAYBACK_RATE, Float.class));
+        return engine;
+    }
+    
+    /**
+     * Gets the largest size that the image viewer could display an image at
+     * without zooming. This is the larger of the window's current size and the
+     * size of the screen it is on, which covers fullscreen mode.
+     * 
+     * @return a {@link Dimension} with the target size.
+     * @since 0.9.5
+     */
+    private Dimension imgViewerTargetSize() {
+        final Dimension target = getSize();
+        if (getGraphicsConfiguration() != null) {
+            final Dimension screen = getGraphicsConfiguration().getBounds().getSize();
+            target.setSize(Math.max(target.width, screen.width), Math.max(target.height, screen.height));
+        }
+        return target;
+    }
+    
+    /**
+     * Upgrades the image viewer to the full resolution version of its image, if
+     * the passed icon is still in use and was decoded at a reduced resolution.
+     * This is called when the image is drawn larger than its decoded resolution,
+     * such as when zooming. The full resolution image is decoded asynchronously,
+     * then swapped in on the EDT.
+     * 
+     * @param icon - the {@link StretchIcon} requesting the full resolution image.
+     * @since 0.9.5
+     */
+    private void upgradeImgViewerSrc(final StretchIcon icon) {
+        final String src = imgLabelSrc;
+        if (icon != imgLabelIcon || src == null || imgFullResRequested || !imgSubsampled) return;
+        imgFullResRequested = true;
+        
+        CompletableFuture.runAsync(() -> {
+            final Image full = DecodedImageCache.acquire(src, null);
+            SwingUtilities.invokeLater(() -> {
+                // Release the image if the viewer changed while decoding.
+                if (icon != imgLabelIcon) {
+                    DecodedImageCache.release(full);
+                    return;
+                }
+                final Image reduced = icon.getImage();
+                icon.setImage(full);
+                DecodedImageCache.release(reduced);
+            });
+        }, CFExec.VIRTUAL_EXECUTOR);
+    }
+    
+    /**
+     * Clears the JLabel image viewer of its icon, releasing the image and setting
+     * the icon to <code>null</code>. Images shared via {@link DecodedImageCache}
+     * are released back to the cache, while any others are flushed. Without
+     * properly flushing the image, there's a
      * chance that it will not have its resources properly released. This can result
      * in a troublesome memory leak. Therefore, the image is flushed and icon set to
      * be <code>null</code> via this method, which should allow for proper garbage
@@ -2161,13 +2650,20 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
      */
     private void clearImgViewer() {
         if (imgLabelIcon != null) {
-            // Only flush the image if it has no duplicates -- prevents duplicates freezing on close of one instance.
-            if (! managerListener.hasDuplicates(this)) {
-                System.err.println("IMG Viewer window DOESN'T have duplicates: Flushing image.");
-                // Flush the image, and nullify the entire icon itself to ensure GC eligibility.
-                imgLabelIcon.getImage().flush();
+            // Release the shared image. Once no window uses it, the cache holds it softly until reclaimed.
+            // Images which did not come from the cache are flushed immediately instead, unless a duplicate window shares them.
+            // Cached images are never flushed here, as windows with other sources may resolve to the same file.
+            // GIF engine frames are shared between engines and released along with them, so they are never flushed here.
+            final Image img = imgLabelIcon.getImage();
+            if (gifEngine != null) {
+                gifEngine.close();
+                gifEngine = null;
             }
+            else if (DecodedImageCache.isCached(img))      DecodedImageCache.release(img);
+            else if (! managerListener.hasDuplicates(this)) img.flush();
+            // Nullify the entire icon itself to ensure GC eligibility.
             imgLabelIcon = null;
+            imgLabelSrc  = null;
             resetImgViewerSnapshots();
         }
         imgLabel.setIcon(null);
@@ -2341,6 +2837,184 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         if (!ignoreBorders) size.setSize(size.width + (BORDER_SIZE * 2), size.height + (BORDER_SIZE * 2));
         PiPWindow.this.setSize(size);
         state.off(RESIZING);
+        checkFormatUpgrade();
+    }
+    
+    /**
+     * Gets the user's configured maximum video height, per the
+     * {@link PiPProperty#MAX_VIDEO_HEIGHT} property.
+     * 
+     * @return an int with the maximum video height, or <code>0</code> if there is
+     *         no maximum.
+     * @since 0.9.5
+     */
+    private int maxVideoHeight() {
+        final Integer max = TryIgnore.get(() -> propertyState(PiPProperty.MAX_VIDEO_HEIGHT, Integer.class));
+        return max == null ? 0 : Math.max(0, max);
+    }
+    
+    /**
+     * Determines the video height to request for web media in this window, based
+     * on its current size, or the screen size while in fullscreen. The height is
+     * scaled to physical pixels and is never below the {@link #DEFAULT_MEDIA_SIZE},
+     * which new media is sized to.
+     * 
+     * @return an int with the format height, or <code>0</code> if any height is
+     *         acceptable.
+     * @see {@link FormatSelector#targetHeight(int, int)}
+     * @since 0.9.5
+     */
+    private int formatHeightTarget() {
+        final GraphicsConfiguration gc = getGraphicsConfiguration();
+        final int height = (state.is(FULLSCREEN) && gc != null) ? gc.getBounds().height : Math.max(getInnerHeight(), DEFAULT_MEDIA_SIZE);
+        final double scale = (gc != null ? gc.getDefaultTransform().getScaleY() : 1);
+        return FormatSelector.targetHeight((int) Math.ceil(height * scale), maxVideoHeight());
+    }
+    
+    /**
+     * Checks if the streamed web media in this window should be upgraded to a
+     * higher video format, such as after the window is enlarged or put in
+     * fullscreen. If so, the media is reloaded with a new format, preserving the
+     * player's position and state, along with the window's size and location.
+     * <p>
+     * Only applies to web media which is streamed from a direct source that was
+     * selected for this window. Downloaded media is left as is.
+     * 
+     * @since 0.9.5
+     */
+    private void checkFormatUpgrade() {
+        if (!hasAttributedMedia() || state.not(PLAYER_VLC) || state.any(LOADING, CLOSING, CLOSING_MEDIA, CRASHED)) return;
+        final PiPMedia current = this.media;
+        if (current.isCached() || current.getAttributes().getWMF().src() == null) return;
+        
+        final int target = formatHeightTarget();
+        if (!FormatSelector.shouldUpgrade(current.getFormatHeight(), target)) return;
+        
+        System.out.println("Upgrading web media format from " + current.getFormatHeight() + "p to " + (target == 0 ? "best" : target + "p") + ".");
+        // Reapplying the window's size and location is skipped in fullscreen, as it would leave fullscreen.
+        final SnapshotData[] keep = state.is(FULLSCREEN)
+                ? new SnapshotData[] { SnapshotData.PLAYER }
+                : new SnapshotData[] { SnapshotData.PLAYER, SnapshotData.WINDOW };
+        CompletableFuture.runAsync(() -> mediaCommand(PiPMediaCMD.RELOAD, keep), CFExec.VIRTUAL_EXECUTOR);
+    }
+    
+    /**
+     * Checks if the window cannot currently be seen, meaning it is either hidden
+     * or minimized.
+     * 
+     * @return <code>true</code> if the window is hidden or minimized;
+     *         <code>false</code> otherwise.
+     * @since 0.9.5
+     */
+    public boolean isHiddenFromView() {
+        return !isVisible() || (getExtendedState() & JFrame.ICONIFIED) != 0;
+    }
+    
+    /**
+     * Handles a change in the window's visibility, suspending playback if the
+     * window can no longer be seen, or resuming it if it can be seen again. The
+     * media player is called off of the event-dispatch thread (EDT).
+     * <p>
+     * Changes are handled one at a time, in the order they happened. Each one
+     * reads the visibility again while holding the suspension lock, rather than
+     * when the change happened, so a quick minimize and restore always settles
+     * on the window's current visibility. Should only be called on the EDT.
+     * 
+     * @since 0.9.5
+     */
+    private void visibilityChanged() {
+        this.visibilityTask = this.visibilityTask.thenRunAsync(() -> {
+            synchronized (this.suspensionLock) {
+                if (isHiddenFromView()) suspendPlayback();
+                else                    resumePlayback();
+            }
+        }, CFExec.VIRTUAL_EXECUTOR).exceptionally(e -> {
+            System.err.println("Failed to handle a change in window visibility: " + e.getMessage());
+            return null;
+        });
+    }
+    
+    /**
+     * Suspends playback while the window cannot be seen, per the
+     * {@link PiPProperty#HIDDEN_PLAYBACK} property. Depending on that option, VLC
+     * media either pauses or stops decoding its video track while audio keeps
+     * playing. GIFs played by the {@link GIFEngine} are paused either way, as they
+     * have no audio.
+     * <p>
+     * Nothing is suspended while media is loading, as the window minimizes itself
+     * during that process, or if the media is not playing. The media player is
+     * called through the {@link NativeCallWatchdog}, so a frozen player cannot
+     * hold up later visibility changes.
+     * 
+     * @since 0.9.5
+     */
+    private void suspendPlayback() {
+        synchronized (this.suspensionLock) {
+            if (this.playbackSuspension != null || !hasMedia() || state.any(LOADING, CLOSING, CLOSING_MEDIA, CRASHED)) return;
+            
+            final HIDDEN_OPTION option = PropDefault.HIDDEN.matchAny(propertyState(PiPProperty.HIDDEN_PLAYBACK, String.class));
+            if (option.is(HIDDEN_OPTION.CONTINUE)) return;
+            
+            final GIFEngine gif = this.gifEngine;
+            if (gif != null) {
+                if (!gif.isPlaying()) return;
+                gif.pause();
+            } else {
+                // The combo player only displays artwork, so only the VLC player has video to suspend.
+                if (state.not(PLAYER_VLC) || !mediaPlayerValid()) return;
+                final AtomicBoolean playing = new AtomicBoolean();
+                if (!readMediaPlayer("isPlaying", player -> playing.set(player.status().isPlaying())) || !playing.get()) return;
+                
+                if (option.is(HIDDEN_OPTION.PAUSE)) mediaCommand(PiPMediaCMD.PAUSE, "false", "true");
+                else {
+                    final AtomicInteger track = new AtomicInteger(-1);
+                    if (!callNative("disableVideo", player -> {
+                        track.set(player.mediaPlayer().video().track());
+                        if (track.get() != -1) player.mediaPlayer().video().setTrack(-1);
+                    }) || track.get() == -1) return;
+                    this.suspendedVideoTrack = track.get();
+                }
+            }
+            this.playbackSuspension = option;
+            System.out.println("Suspended playback while hidden: " + option);
+        }
+    }
+    
+    /**
+     * Resumes playback that was suspended by {@link #suspendPlayback()}. Paused
+     * media continues from where it left off. If the video track was disabled, it
+     * is enabled again, then the player seeks to its current time so the video is
+     * shown in sync with the audio right away rather than at the next key frame.
+     * 
+     * @since 0.9.5
+     */
+    private void resumePlayback() {
+        synchronized (this.suspensionLock) {
+            final HIDDEN_OPTION suspension = this.playbackSuspension;
+            if (suspension == null) return;
+            this.playbackSuspension = null;
+            if (state.any(CLOSING, CLOSING_MEDIA, CRASHED)) return;
+            
+            final GIFEngine gif = this.gifEngine;
+            if (gif != null) {
+                claimPlayback();
+                gif.play();
+            } else if (mediaPlayerValid()) {
+                if (suspension.is(HIDDEN_OPTION.PAUSE)) {
+                    // Not using the PLAY command, which would flash the borders and clear MANUALLY_STOPPED.
+                    claimPlayback();
+                    state.off(MANUALLY_PAUSED);
+                    callNative("play", player -> player.mediaPlayer().controls().play());
+                } else {
+                    final int track = this.suspendedVideoTrack;
+                    callNative("enableVideo", player -> {
+                        player.mediaPlayer().video().setTrack(track);
+                        player.mediaPlayer().controls().setTime(player.mediaPlayer().status().time());
+                    });
+                }
+            }
+            System.out.println("Resumed playback after being hidden.");
+        }
     }
     
     /**
@@ -2371,11 +3045,84 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
      *              (<code>true</code>) or height (<code>false</code>)
      */
     public void scaleSize(final int size, final boolean width) {
+        final ScalingDimension dim = scaledSize(size, width);
+        SwingUtilities.invokeLater(() -> changeSize(dim));
+    }
+    
+    /**
+     * Calculates the inner size this window would have if scaled to the passed
+     * width or height, without changing its size. See
+     * {@link #scaleSize(int, boolean)} for details on the scaling.
+     * 
+     * @param size  - an int with the target size value.
+     * @param width - a boolean for whether the target size is for the width
+     *              (<code>true</code>) or height (<code>false</code>)
+     * @return the scaled inner size as a {@link ScalingDimension}, which may be
+     *         passed to {@link #changeSize(Dimension)}.
+     * @since 0.9.5
+     */
+    public ScalingDimension scaledSize(final int size, final boolean width) {
         // Scale current dimensions to desired width/height while respecting window minimum.
         final ScalingDimension dim = new ScalingDimension(getInnerWidth(), getInnerHeight()).setMinimumSize(this.minMediaSize);
         if (width) dim.scaleToWidth(size);  // Resize Based on Width
         else       dim.scaleToHeight(size); // Resize Based on Height
-        SwingUtilities.invokeLater(() -> changeSize(dim));
+        return dim;
+    }
+    
+    /**
+     * Gets the adjustment to a window's location for the passed movement
+     * {@link Shortcut}. Both the single window and all windows variants, such as
+     * {@link Shortcut#MOVE_WINDOW_W} and {@link Shortcut#MOVE_WINDOWS_W}, give
+     * the same adjustment.
+     * 
+     * @param shortcut - the movement {@link Shortcut}.
+     * @return a {@link Point} with the X and Y adjustments, which are both zero
+     *         if the shortcut does not move windows.
+     * @since 0.9.5
+     */
+    public static Point moveAdjustment(final Shortcut shortcut) {
+        final int adjX = switch (shortcut) {
+        case MOVE_WINDOW_W,      MOVE_WINDOWS_W       ->  -5;
+        case MOVE_WINDOW_W_LESS, MOVE_WINDOWS_W_LESS  ->  -1;
+        case MOVE_WINDOW_W_MORE, MOVE_WINDOWS_W_MORE  -> -25;
+        case MOVE_WINDOW_E,      MOVE_WINDOWS_E       ->   5;
+        case MOVE_WINDOW_E_LESS, MOVE_WINDOWS_E_LESS  ->   1;
+        case MOVE_WINDOW_E_MORE, MOVE_WINDOWS_E_MORE  ->  25;
+        default -> 0;
+        };
+        final int adjY = switch (shortcut) {
+        case MOVE_WINDOW_S,      MOVE_WINDOWS_S       ->   5;
+        case MOVE_WINDOW_S_LESS, MOVE_WINDOWS_S_LESS  ->   1;
+        case MOVE_WINDOW_S_MORE, MOVE_WINDOWS_S_MORE  ->  25;
+        case MOVE_WINDOW_N,      MOVE_WINDOWS_N       ->  -5;
+        case MOVE_WINDOW_N_LESS, MOVE_WINDOWS_N_LESS  ->  -1;
+        case MOVE_WINDOW_N_MORE, MOVE_WINDOWS_N_MORE  -> -25;
+        default -> 0;
+        };
+        return new Point(adjX, adjY);
+    }
+    
+    /**
+     * Gets the adjustment to a window's width for the passed window size
+     * {@link Shortcut}. Both the single window and all windows variants, such as
+     * {@link Shortcut#WINDOW_SIZE_INCREASE} and
+     * {@link Shortcut#WINDOWS_SIZE_INCREASE}, give the same adjustment.
+     * 
+     * @param shortcut - the window size {@link Shortcut}.
+     * @return an int with the width adjustment, which is zero if the shortcut
+     *         does not resize windows.
+     * @since 0.9.5
+     */
+    public static int sizeAdjustment(final Shortcut shortcut) {
+        return switch (shortcut) {
+            case WINDOW_SIZE_DECREASE_LESS, WINDOWS_SIZE_DECREASE_LESS -> -5;
+            case WINDOW_SIZE_DECREASE,      WINDOWS_SIZE_DECREASE      -> -10;
+            case WINDOW_SIZE_DECREASE_MORE, WINDOWS_SIZE_DECREASE_MORE -> -20;
+            case WINDOW_SIZE_INCREASE_LESS, WINDOWS_SIZE_INCREASE_LESS -> 5;
+            case WINDOW_SIZE_INCREASE,      WINDOWS_SIZE_INCREASE      -> 10;
+            case WINDOW_SIZE_INCREASE_MORE, WINDOWS_SIZE_INCREASE_MORE -> 20;
+            default -> 0;
+        };
     }
 
     /**
@@ -2475,9 +3222,8 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
      */
     public void closeWindow() {
         System.out.println("> close window req. received for win: " + getManager().getWindowNumber(this));
-        // Do not execute closing code if window has already been closed.
-        if (state.is(CLOSING)) return;
-        state.on(CLOSING);
+        // Do not execute closing code if window has already been closed. Only one caller may begin closing.
+        if (!state.compareAndSet(CLOSING, false, true)) return;
 
         // Ensure closing code will start execution off of EDT.
         PiPAAUtils.invokeNowOrAsync(() -> {
@@ -2485,13 +3231,22 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
             if (state.not(CRASHED) && hasMedia()) mediaCommand(PiPMediaCMD.CLOSE);
             if (mediaPlayerValid()) {
                 // Release off of EDT -- Releasing on EDT had sporadic errors.
-                mediaPlayer.release();
+                // Release this window's reference to the shared factory, only after its player is released.
+                try {
+                    if (callNative("release", EmbeddedMediaPlayerComponent::release, NATIVE_RELEASE_DEADLINE))
+                        MediaPlayerFactoryPool.release(mediaPlayerFactory);
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to release the media player: " + e.getMessage());
+                }
+                mediaPlayerFactory = null;
             }
 
             // Interrupt monitored asynchronous tasks and processes.
             monitor.interruptAll();
             // Interrupt monitored asynchronous tasks and processes handled elsewhere that are linked to this window.
             getManager().interruptLinked(this);
+            // Ensure the manager does not keep a closed window as the active player.
+            getManager().releasePlayback(this);
             
             // Remove pending window state hooks.
             state.destroyHooks();
@@ -2556,6 +3311,27 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
         adaptComponentsToOpacity();
     }
     
+    /**
+     * Selects the opacity this window should change to for the passed opacity
+     * {@link Shortcut}, without applying it. Both the single window and all
+     * windows variants, such as {@link Shortcut#OPACITY_MAX} and
+     * {@link Shortcut#OPACITY_MAX_ALL}, make the same selection.
+     * 
+     * @param shortcut - the opacity {@link Shortcut}.
+     * @return a float with the selected opacity, which is the current opacity if
+     *         the shortcut does not change opacity.
+     * @since 0.9.5
+     */
+    public float selectOpacity(final Shortcut shortcut) {
+        return switch (shortcut) {
+            case OPACITY_MAX,      OPACITY_MAX_ALL      -> this.opacitySelector.selectLastAndGet();
+            case OPACITY_INCREASE, OPACITY_INCREASE_ALL -> this.opacitySelector.selectNextAndGet();
+            case OPACITY_DECREASE, OPACITY_DECREASE_ALL -> this.opacitySelector.selectPreviousAndGet();
+            case OPACITY_MIN,      OPACITY_MIN_ALL      -> this.opacitySelector.selectFirstAndGet();
+            default -> getOpacity();
+        };
+    }
+    
     @Override
     public ThreadMonitor getMonitor() { return this.monitor; }
 
@@ -2576,8 +3352,8 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 mediaCommand(PiPMediaCMD.UNMUTE, "false");
         }
         case SET_ALL_PAUSED -> {
-            // Do nothing if no media or using image viewer.
-            if (!hasMedia() || state.is(PLAYER_SWING))
+            // Do nothing if no media or using image viewer without a GIF.
+            if (!hasPlayableMedia())
                 return;
             
             if (Boolean.valueOf(value))
@@ -2632,7 +3408,11 @@ public class PiPWindow extends JFrame implements PropertyListener, Themed, Manag
                 .append("  ContPane Size: ").append(PiPAAUtils.toString(contentPane.getSize())).append("\n")
                 .append("   VidComp Size: ").append(PiPAAUtils.toString(mediaPlayer.videoSurfaceComponent().getSize())).append("\n")
                 .append("  ImgLabel Size: ").append(PiPAAUtils.toString(imgLabel.getSize())).append("\n\n")
-                .append(state.toString()).append("\n\n");
+                .append(state.toString()).append("\n\n")
+                .append(NativeCallWatchdog.summary()).append("\n\n");
+            // Only use the latest sample, as taking one now would block, possibly on the EDT.
+            final PlaybackStats.Sample sample = playbackStats.latest();
+            info.append("Playback Stats: ").append(sample != null ? sample.summary() : "N/A").append("\n\n");
             for (final String line : info.toString().split("\n")) {
                 if (line.length() > longestDebugLine)
                     longestDebugLine = line.length();
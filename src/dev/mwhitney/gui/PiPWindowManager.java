@@ -5,13 +5,32 @@ import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
@@ -22,22 +41,29 @@ import dev.mwhitney.gui.binds.BindControllerFetcher;
 import dev.mwhitney.gui.binds.BindDetails;
 import dev.mwhitney.gui.binds.BindHandler;
 import dev.mwhitney.gui.binds.Shortcut;
+import dev.mwhitney.gui.viewer.DecodedImageCache;
+import dev.mwhitney.listeners.PiPIdleReclaimListener;
 import dev.mwhitney.listeners.PiPWindowCountListener;
 import dev.mwhitney.listeners.PiPWindowManagerAdapter;
 import dev.mwhitney.listeners.simplified.WindowFocusGainedListener;
 import dev.mwhitney.main.CFExec;
+import dev.mwhitney.media.ConversionCache;
+import dev.mwhitney.media.MediaPlayerFactoryPool;
 import dev.mwhitney.media.PiPMedia;
 import dev.mwhitney.media.PiPMediaAttributes;
+import dev.mwhitney.media.PlaybackStats;
 import dev.mwhitney.media.attribution.AttributionRequest;
 import dev.mwhitney.media.attribution.PiPMediaAttributor;
 import dev.mwhitney.media.exceptions.InvalidMediaException;
 import dev.mwhitney.properties.PiPProperty;
 import dev.mwhitney.properties.PropertyListener;
+import dev.mwhitney.resources.AppRes;
 import dev.mwhitney.util.FileSelection;
 import dev.mwhitney.util.PiPAAUtils;
 import dev.mwhitney.util.TryIgnore;
 import dev.mwhitney.util.monitor.ProcessMonitor;
 import dev.mwhitney.util.monitor.ThreadMonitor;
+import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
 
 /**
  * Manages windows ({@link PiPWindow}) and provides simple methods to create,
@@ -54,17 +80,61 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
         @Override
         public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return PiPWindowManager.this.propertyState(prop, rtnType); }
     };
-    /** The List of PiPWindows managed by this manager. */
-    private final List<PiPWindow> windows = new ArrayList<PiPWindow>();
+    /** The registry of PiPWindows managed by this manager. */
+    private final PiPWindowRegistry windows = new PiPWindowRegistry();
+    /** The pre-warmed, hidden spare windows waiting to be handed out by {@link #addWindow(PiPMedia)}. */
+    private final Deque<PiPWindow> spareWindows = new ConcurrentLinkedDeque<PiPWindow>();
+    /** A boolean for whether or not spare windows are currently being warmed. */
+    private final AtomicBoolean warmingSpares = new AtomicBoolean();
+    /** The maximum amount of spare windows that can be kept warm, regardless of configuration. */
+    private static final int MAX_SPARE_WINDOWS = 3;
+    /** The delay, in milliseconds, before spare windows begin warming. */
+    private static final long SPARE_WARM_DELAY = 500;
+    /** The window that most recently started playback, or <code>null</code> if none is playing. In Single Play Mode, it is the only window playing. */
+    private final AtomicReference<PiPWindow> activePlayer = new AtomicReference<PiPWindow>();
+    /** The delay, in milliseconds, between each sampling of playback statistics. */
+    private static final long STATS_INTERVAL = 1000;
+    /** The thread which samples the playback statistics of each window while {@link PiPProperty#PLAYBACK_STATS} is enabled. */
+    private final ScheduledExecutorService statsClock = CFExec.idleScheduler("PiPAA-Stats");
+    /** The scheduled sampling of playback statistics, or <code>null</code> if sampling is disabled. */
+    private ScheduledFuture<?> statsSampler;
+    /** The delay, in milliseconds, between each periodic save of the session. */
+    private static final long SESSION_SAVE_INTERVAL = 60000;
+    /** The maximum time, in milliseconds, to wait for the session to save during exit. */
+    private static final long SESSION_SAVE_TIMEOUT = 1000;
+    /** The delay, in milliseconds, between each window which is restored lazily. */
+    private static final long SESSION_RESTORE_DELAY = 750;
+    /** The thread which periodically saves the session while {@link PiPProperty#RESTORE_SESSION} is enabled. */
+    private final ScheduledExecutorService sessionClock = CFExec.idleScheduler("PiPAA-Session");
+    /** The scheduled periodic saving of the session, or <code>null</code> if saving is disabled. */
+    private ScheduledFuture<?> sessionSaver;
+    /** The saved windows which have yet to be restored lazily. They remain in the session until restored. */
+    private final Deque<PiPSession.Entry> pendingRestores = new ConcurrentLinkedDeque<PiPSession.Entry>();
+    /** The maximum time, in milliseconds, to wait for spare windows to close while reclaiming idle memory. */
+    private static final long IDLE_CLOSE_TIMEOUT = 3000;
+    /** Incremented whenever the window count changes, so a pending idle reclamation can tell if any windows came and went since it was scheduled. */
+    private final AtomicLong idleGeneration = new AtomicLong();
+    /** The listener that gets called after idle memory has been reclaimed. */
+    private PiPIdleReclaimListener reclaimListener;
+    /** The delay, in milliseconds, over which batched window operations are collected before being applied. About one frame at 60 FPS. */
+    private static final long BATCH_FRAME = 16;
+    /** The lock which guards the pending batch of window operations. */
+    private final Object batchLock = new Object();
+    /** The pending batched window operations, mapped by key so a newer operation replaces a pending one with the same key. */
+    private Map<Object, Consumer<PiPWindow>> batchOps = new LinkedHashMap<>();
+    /** The pending horizontal and vertical distances to move all windows, added together across batched moves. */
+    private int batchMoveX, batchMoveY;
+    /** The pending change in width of all windows, added together across batched size changes. */
+    private int batchGrowth;
+    /** Whether or not the pending batch is scheduled to be applied. */
+    private boolean batchScheduled;
     
     /** The {@link CountDownLatch} which gives the manager time to clear windows during exit, but only up to a set timeout. */
     private CountDownLatch exitLatch;
     /** The window count listener that gets called when the live window count changes. */
     private PiPWindowCountListener countListener;
-    /** The count/amount of <b>live</b>, unclosed PiPWindows managed by this manager. */
-    private volatile int liveWindowCount;
-    /** An int index for the last window that received user focus. */
-    private volatile int lastWindowFocused;
+    /** The ID of the last window that received user focus, or {@link PiPWindowRegistry#NO_ID} if none has. */
+    private volatile int lastWindowFocused = PiPWindowRegistry.NO_ID;
     /** The Point (x,y) of the top-left corner of the last added window. */
     private Point lastSpawnLocation;
     /** The Point (x,y) of the bottom-right corner of the last added window. */
@@ -76,15 +146,15 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * in existence at a time.
      */
     public PiPWindowManager() {
-        this.liveWindowCount = 0;
-        this.lastWindowFocused = 0;
         this.lastSpawnLocation = new Point(-1, -1);
         this.lastSpawnLocationMax = new Point(-1, -1);
     }
     
     /**
      * Creates a new {@link PiPWindow} safely on the event-dispatch thread (EDT),
-     * regardless of the current thread.
+     * regardless of the current thread. The window is fully constructed, but it is
+     * neither placed on the screen nor made visible. See
+     * {@link #placeWindow(PiPWindow)}.
      * <p>
      * This method should always return a valid window, <b>unless</b> there is a
      * rare, unexpected error thrown by
@@ -95,9 +165,6 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * @since 0.9.5
      */
     private PiPWindow createWindow() {
-        // Window's Target Index in List
-        final int index = windows.size();
-        
         // Ensure window is created on the EDT then return it.
         return PiPAAUtils.makeOnEDT(() -> {
             // Construct Window
@@ -114,39 +181,38 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
             // Set Window Size to Default
             window.setSize(PiPWindow.DEFAULT_SIZE);
             
-            // Set Window Location on Screen
-            if (lastSpawnLocation.x == -1 || !userScreen.contains(lastSpawnLocation)
-                    || !userScreen.contains(lastSpawnLocationMax)) {
-                lastSpawnLocation.setLocation(0, 0);
-                lastSpawnLocationMax.setLocation(PiPWindow.DEFAULT_SIZE.width + PiPWindow.DEFAULT_MEDIA_SIZE,
-                        PiPWindow.DEFAULT_SIZE.height + PiPWindow.DEFAULT_MEDIA_SIZE);
-            } else {
-                lastSpawnLocation.translate(40, 25);
-                lastSpawnLocationMax.translate(40, 25);
-            }
-            window.setLocation(lastSpawnLocation);
-            
             // Set Window Listeners
-            window.addWindowFocusListener((WindowFocusGainedListener) e -> lastWindowFocused = index);
+            window.addWindowFocusListener((WindowFocusGainedListener) e -> {
+                final int id = windows.idOf(window);
+                if (id != PiPWindowRegistry.NO_ID) lastWindowFocused = id;
+            });
             window.setListener(new PiPWindowManagerAdapter() {  // Communicates back to the manager.
                 @Override
                 public PiPWindowManager get() { return PiPWindowManager.this; }
                 
                 @Override
-                public void windowCloseRequested() { PiPWindowManager.this.removeWindow(windows.indexOf(window)); }
+                public void windowCloseRequested() { PiPWindowManager.this.removeWindow(window); }
                 
                 @Override
                 public void windowClosed() {
-                    final int index = windows.indexOf(window);
-                    if (index != -1) windows.set(index, null);
+                    // Windows are normally unregistered before closing, but ensure a window closed otherwise does not linger.
+                    if (windows.unregister(window)) windowCountChanged();
                 }
                 
                 @Override
                 public void windowMediaCrashed() {
+                    // A spare window was never shown, so it can simply be discarded.
+                    if (spareWindows.remove(window)) {
+                        System.err.println("Warning: Media player crashed in spare window. Discarding...");
+                        CompletableFuture.runAsync(window::closeWindow);
+                        warmSpareWindows();
+                        return;
+                    }
+                    
                     // Removes the window with crashed media, then adds a new one.
                     // The new window has updated display text to notify the user of the crash.
                     final boolean wasClosing = window.state().any(StateProp.CLOSING, StateProp.CLOSED);
-                    PiPWindowManager.this.removeWindow(windows.indexOf(window));
+                    PiPWindowManager.this.removeWindow(window);
                     if (!wasClosing) {
                         System.err.println("Error: Media player crashed in window. Opening replacement...");
                         PiPWindowManager.this.addWindow().statusUpdate("Media player crashed...");
@@ -166,13 +232,369 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
                     return null;
                 }
             });
+            // Return Created Window
+            return window;
+        });
+    }
+    
+    /**
+     * Places the passed, newly-created {@link PiPWindow} at the next spawn location
+     * on the screen, then makes it visible. This is done safely on the
+     * event-dispatch thread (EDT), regardless of the current thread.
+     * 
+     * @param window - the {@link PiPWindow} to place and show.
+     * @return the same {@link PiPWindow}, for chaining.
+     * @since 0.9.5
+     */
+    private PiPWindow placeWindow(final PiPWindow window) {
+        return PiPAAUtils.makeOnEDT(() -> {
+            // Set Window Location on Screen
+            if (lastSpawnLocation.x == -1 || !userScreen.contains(lastSpawnLocation)
+                    || !userScreen.contains(lastSpawnLocationMax)) {
+                lastSpawnLocation.setLocation(0, 0);
+                lastSpawnLocationMax.setLocation(PiPWindow.DEFAULT_SIZE.width + PiPWindow.DEFAULT_MEDIA_SIZE,
+                        PiPWindow.DEFAULT_SIZE.height + PiPWindow.DEFAULT_MEDIA_SIZE);
+            } else {
+                lastSpawnLocation.translate(40, 25);
+                lastSpawnLocationMax.translate(40, 25);
+            }
+            window.setLocation(lastSpawnLocation);
+            
             // Window setup complete. Make window visible AFTER setting size and location to avoid Swing issues.
             window.setVisible(true);
-            // Return Created Window
             return window;
         });
     }
 
+    /**
+     * Takes a pre-warmed spare window, if one is available.
+     * 
+     * @return a valid spare {@link PiPWindow}, or <code>null</code> if there are
+     *         none available.
+     * @since 0.9.5
+     */
+    private PiPWindow takeSpareWindow() {
+        PiPWindow spare;
+        while ((spare = spareWindows.pollFirst()) != null) {
+            if (spare.state().not(StateProp.CLOSING, StateProp.CLOSED, StateProp.CRASHED)) return spare;
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the amount of spare windows that should be kept warm, per the
+     * {@link PiPProperty#SPARE_WINDOWS} property.
+     * 
+     * @return an int with the target spare window count, between <code>0</code>
+     *         and {@link #MAX_SPARE_WINDOWS}.
+     * @since 0.9.5
+     */
+    private int spareWindowTarget() {
+        final Integer target = TryIgnore.get(() -> propertyState(PiPProperty.SPARE_WINDOWS, Integer.class));
+        return target == null ? 0 : Math.clamp(target, 0, MAX_SPARE_WINDOWS);
+    }
+    
+    /**
+     * Warms spare windows in the background until there are as many as the
+     * {@link PiPProperty#SPARE_WINDOWS} property asks for. Spare windows are fully
+     * constructed, including their media player, but stay hidden until they are
+     * handed out by {@link #addWindow(PiPMedia)}.
+     * <p>
+     * Warming begins after a short delay, so it does not compete with a window
+     * that was just opened. The shared LibVLC instance, which is by far the
+     * slowest part of a new window, is created beforehand off the event-dispatch
+     * thread (EDT). Each spare window is then constructed in its own EDT task, as
+     * Swing requires, leaving the EDT free to handle other events in between.
+     * Calling this method while warming is already underway does nothing.
+     * 
+     * @since 0.9.5
+     */
+    public void warmSpareWindows() {
+        if (this.exitLatch != null || spareWindows.size() >= spareWindowTarget() || !warmingSpares.compareAndSet(false, true)) return;
+        
+        CompletableFuture.runAsync(() -> {
+            // Hold a reference to the factory the spares will use until they are built, so they share it instead of creating it on the EDT.
+            final MediaPlayerFactory factory = TryIgnore.get(() -> MediaPlayerFactoryPool.acquire(PiPWindow.playerArgs(
+                    propertyState(PiPProperty.DEFAULT_PLAYBACK_RATE, Float.class),
+                    propertyState(PiPProperty.USE_HW_DECODING, Boolean.class),
+                    propertyState(PiPProperty.USE_HW_DECODING, Boolean.class) && propertyState(PiPProperty.USE_SUPER_RES, Boolean.class))));
+            SwingUtilities.invokeLater(() -> {
+                try {
+                    warmSpareWindow();
+                } finally {
+                    MediaPlayerFactoryPool.release(factory);
+                }
+            });
+        }, CompletableFuture.delayedExecutor(SPARE_WARM_DELAY, TimeUnit.MILLISECONDS, CFExec.VIRTUAL_EXECUTOR));
+    }
+    
+    /**
+     * Constructs a single spare window, then queues the next one if more are
+     * needed. Should only be called on the event-dispatch thread (EDT) by
+     * {@link #warmSpareWindows()}.
+     * 
+     * @since 0.9.5
+     */
+    private void warmSpareWindow() {
+        if (this.exitLatch == null && spareWindows.size() < spareWindowTarget()) {
+            final PiPWindow spare = createWindow();
+            if (spare != null) {
+                spareWindows.addLast(spare);
+                SwingUtilities.invokeLater(this::warmSpareWindow);
+                return;
+            }
+        }
+        warmingSpares.set(false);
+        
+        // A spare may have been taken right before warming finished. If so, start again.
+        if (this.exitLatch == null && spareWindows.size() < spareWindowTarget()) warmSpareWindows();
+    }
+    
+    /**
+     * Closes and discards spare windows until only the passed amount remain.
+     * 
+     * @param keep - an int with the amount of spare windows to keep.
+     * @return a CompletableFuture which completes once the discarded spare windows
+     *         have released their media players.
+     * @since 0.9.5
+     */
+    private CompletableFuture<Void> trimSpareWindows(final int keep) {
+        final List<CompletableFuture<Void>> closes = new ArrayList<>();
+        PiPWindow spare;
+        while (spareWindows.size() > keep && (spare = spareWindows.pollLast()) != null) {
+            closes.add(CompletableFuture.runAsync(spare::closeWindow));
+        }
+        return CompletableFuture.allOf(closes.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    /**
+     * Gets the amount of pre-warmed spare windows currently waiting to be handed
+     * out. Spare windows are not included in any other window count.
+     * 
+     * @return an int with the spare window count.
+     * @since 0.9.5
+     */
+    public int spareWindowCount() {
+        return spareWindows.size();
+    }
+    
+    /**
+     * Claims playback for the passed window, which is starting to play its media.
+     * The window becomes the active player. If playback is exclusive, such as in
+     * Single Play Mode, the previous active player is paused. Only that window is
+     * paused, as it is the only other one that could be playing.
+     * 
+     * @param window    - the {@link PiPWindow} starting playback.
+     * @param exclusive - a boolean for whether or not the previous active player
+     *                  should be paused.
+     * @since 0.9.5
+     */
+    public void claimPlayback(PiPWindow window, boolean exclusive) {
+        final PiPWindow previous = activePlayer.getAndSet(window);
+        if (exclusive && previous != null && previous != window) previous.yieldPlayback();
+    }
+    
+    /**
+     * Releases playback for the passed window, such as when its media is paused or
+     * closed. Nothing happens if another window has claimed playback since.
+     * 
+     * @param window - the {@link PiPWindow} no longer playing.
+     * @since 0.9.5
+     */
+    public void releasePlayback(PiPWindow window) {
+        activePlayer.compareAndSet(window, null);
+    }
+    
+    /**
+     * Enables or disables the sampling of playback statistics in every live
+     * window. While enabled, each window is sampled at a low rate, and shows its
+     * statistics in an overlay if {@link PiPProperty#PLAYBACK_STATS_OVERLAY} is
+     * enabled. Disabling sampling hides the overlays.
+     * 
+     * @param enabled - a boolean for whether or not to sample playback statistics.
+     * @since 0.9.5
+     */
+    public synchronized void setPlaybackStatsSampling(boolean enabled) {
+        if (enabled == (statsSampler != null)) return;
+        
+        if (enabled) {
+            statsSampler = statsClock.scheduleWithFixedDelay(this::samplePlaybackStats, STATS_INTERVAL, STATS_INTERVAL, TimeUnit.MILLISECONDS);
+        } else {
+            statsSampler.cancel(false);
+            statsSampler = null;
+            statsClock.execute(() -> callInLiveWindows(PiPWindow::hidePlaybackStatsOverlay));
+        }
+    }
+    
+    /**
+     * Samples the playback statistics of every live window, showing them in each
+     * window's overlay if {@link PiPProperty#PLAYBACK_STATS_OVERLAY} is enabled.
+     * 
+     * @since 0.9.5
+     */
+    private void samplePlaybackStats() {
+        try {
+            final boolean overlay = Boolean.TRUE.equals(propertyState(PiPProperty.PLAYBACK_STATS_OVERLAY, Boolean.class));
+            callInLiveWindows(window -> window.samplePlaybackStats(overlay));
+        } catch (RuntimeException e) {
+            // Must not throw, as that would cancel all future sampling.
+            System.err.println("Failed to sample playback statistics: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Exports the playback statistics sampled from every live window to a new CSV
+     * file in the application folder. Each row is one sample, identified by its
+     * window's number and media.
+     * 
+     * @return the exported CSV File.
+     * @throws IOException if the file could not be written.
+     * @since 0.9.5
+     */
+    public File exportPlaybackStats() throws IOException {
+        final List<String> lines = new ArrayList<>();
+        lines.add(PlaybackStats.Sample.CSV_HEADER);
+        callInLiveWindows(window -> {
+            final String number = Integer.toString(getWindowNumber(window));
+            final String media  = window.hasAttributedMedia() ? window.getMedia().getAttributes().getFileNameID() : "";
+            window.getPlaybackStats().history().forEach(sample -> lines.add(sample.toCSV(number, media)));
+        });
+        
+        PiPAAUtils.ensureExistence(AppRes.APP_FOLDER);
+        final File csv = new File(PiPAAUtils.slashFix(AppRes.APP_FOLDER + "/playback-stats-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv"));
+        Files.write(csv.toPath(), lines, StandardCharsets.UTF_8);
+        return csv;
+    }
+    
+    /**
+     * Enables or disables the periodic saving of the session. While enabled, the
+     * session is also saved during exit.
+     * 
+     * @param enabled - a boolean for whether or not to save the session.
+     * @since 0.9.5
+     */
+    public synchronized void setSessionSaving(boolean enabled) {
+        if (enabled == (sessionSaver != null)) return;
+        
+        if (enabled) {
+            sessionSaver = sessionClock.scheduleWithFixedDelay(this::saveSession, SESSION_SAVE_INTERVAL, SESSION_SAVE_INTERVAL, TimeUnit.MILLISECONDS);
+        } else {
+            sessionSaver.cancel(false);
+            sessionSaver = null;
+        }
+    }
+    
+    /**
+     * Saves a snapshot of every live window with media as the session, so they can
+     * be restored on the next launch via {@link #restoreSession()}. Windows which
+     * are still waiting to be restored are saved as well. Nothing happens if
+     * {@link PiPProperty#RESTORE_SESSION} is disabled.
+     * 
+     * @since 0.9.5
+     */
+    public void saveSession() {
+        if (!propertyState(PiPProperty.RESTORE_SESSION, Boolean.class)) return;
+        
+        try {
+            final List<PiPSession.Entry> entries = new ArrayList<>();
+            final int focused = this.lastWindowFocused;
+            callInLiveWindows(window -> {
+                if (!window.hasMedia() || !window.getMedia().hasSrc()) return;
+                // Windows minimize themselves while loading, which does not count.
+                final boolean minimized = window.getExtendedState() == JFrame.ICONIFIED && window.state().not(StateProp.LOADING);
+                entries.add(new PiPSession.Entry(new PiPWindowSnapshot().capture(window), this.windows.idOf(window) == focused, minimized));
+            });
+            entries.addAll(pendingRestores);
+            PiPSession.save(entries);
+        } catch (IOException | RuntimeException e) {
+            // Must not throw, as that would cancel all future saving.
+            System.err.println("<!> Failed to save the session: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Restores the windows saved in the session. The last focused window is
+     * restored first, followed by the other visible windows. Minimized windows
+     * are restored lazily afterwards, one at a time, so they do not compete with
+     * the visible ones.
+     * <p>
+     * Windows with local or cached media use their saved media attributes, so no
+     * attribution is necessary. Uncached web media is attributed again from its
+     * page URL, as its direct links expire. The same is true if any of a window's
+     * cached, trimmed, or converted media no longer exists.
+     * 
+     * @return an int with the amount of windows being restored.
+     * @since 0.9.5
+     */
+    public int restoreSession() {
+        final List<PiPSession.Entry> entries = new ArrayList<>(PiPSession.load());
+        entries.sort(Comparator.comparing(PiPSession.Entry::minimized).thenComparing(entry -> !entry.focused()));
+        for (final PiPSession.Entry entry : entries) {
+            if (entry.minimized()) pendingRestores.add(entry);
+            else restoreWindow(entry);
+        }
+        restorePendingWindow();
+        return entries.size();
+    }
+    
+    /**
+     * Restores the next window which is waiting to be restored lazily, after a
+     * delay. Each restored window then restores the next, until none remain.
+     * 
+     * @since 0.9.5
+     */
+    private void restorePendingWindow() {
+        final PiPSession.Entry entry = pendingRestores.peekFirst();
+        if (entry == null || this.exitLatch != null) return;
+        
+        CompletableFuture.runAsync(() -> {
+            if (this.exitLatch != null || !pendingRestores.remove(entry)) return;
+            restoreWindow(entry);
+            restorePendingWindow();
+        }, CompletableFuture.delayedExecutor(SESSION_RESTORE_DELAY, TimeUnit.MILLISECONDS, CFExec.VIRTUAL_EXECUTOR));
+    }
+    
+    /**
+     * Restores a single window saved in the session, adding it with its media,
+     * location, size, and player state.
+     * 
+     * @param entry - the saved {@link PiPSession.Entry}.
+     * @since 0.9.5
+     */
+    private void restoreWindow(PiPSession.Entry entry) {
+        final PiPWindowSnapshot snapshot = entry.snapshot();
+        // The saved attributes may depend upon local media which has since been deleted, so attribute again without it.
+        // Sessions saved by older versions may also hold the expired direct links of uncached web media.
+        if (!snapshot.hasReusableMediaAttributes() || Stream.of(snapshot.getMediaCacheSrc(), snapshot.getMediaTrimSrc(), snapshot.getMediaConvertSrc())
+                .filter(Objects::nonNull).anyMatch(src -> !new File(src).exists())) {
+            snapshot.setMediaCacheSrc(null);
+            snapshot.setMediaTrimSrc(null);
+            snapshot.setMediaConvertSrc(null);
+            snapshot.setMediaAttributes(null);
+        }
+        
+        final PiPMedia media = new PiPMedia(snapshot.getMediaSrc());
+        snapshot.apply(media);
+        // Mark Media for Deletion Upon Close if Cache is Disabled
+        if (media.isCached() && propertyState(PiPProperty.DISABLE_CACHE, Boolean.class))
+            media.markForDeletion();
+        
+        final PiPWindow window = addWindow();
+        SwingUtilities.invokeLater(() -> snapshot.apply(window));
+        // Loading the media changes the window, so apply the snapshot again once ready.
+        window.state().hook(StateProp.READY, true, () -> {
+            SwingUtilities.invokeLater(() -> {
+                snapshot.apply(window);
+                if (entry.minimized()) window.setExtendedState(JFrame.ICONIFIED);
+                else if (entry.focused()) window.toFront();
+            });
+            if (window.state().any(StateProp.PLAYER_VLC, StateProp.PLAYER_COMBO) && window.getMediaPlayer() != null)
+                snapshot.apply(window.getMediaPlayer());
+        });
+        window.setMedia(media);
+    }
+    
     /**
      * Adds/generates a new window with default parameters and no media to start.
      * 
@@ -191,17 +613,21 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * @return the added {@link PiPWindow}.
      */
     public PiPWindow addWindow(PiPMedia media) {
-        // Create Window Safely on EDT
-        final PiPWindow window = createWindow();
+        // Take a pre-warmed spare window if one is available. Otherwise, create one safely on the EDT.
+        final PiPWindow spare = takeSpareWindow();
+        final PiPWindow window = placeWindow(spare != null ? spare : createWindow());
 
-        // Add Window to List
-        this.windows.add(window);
+        // Register Window
+        this.windows.register(window);
 
         // Set Window Media (if NOT null)
         if (media != null) window.setMedia(media);
         
-        // Update Live Window Count
-        liveWindowCountInc();
+        // Update Displayed Window Count
+        windowCountChanged();
+        
+        // Replace the spare window that was just handed out.
+        warmSpareWindows();
         
         return window;
     }
@@ -210,27 +636,48 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * Removes the last PiPWindow that received focus. The <i>last</i> window to
      * have user focus may not <i>currently</i> be focused. The user could be
      * focused on another application entirely and this method would still function.
+     * <p>
+     * If that window was already removed, or no window has received focus yet, the
+     * newest window is removed instead.
      * 
-     * @param index - an int for the index.
      * @return <code>true</code> if the removal succeeded; <code>false</code>
      *         otherwise.
      */
     public boolean removeFocusedWindow() {
-        return removeWindow(this.lastWindowFocused);
+        final PiPWindow focused = windows.get(this.lastWindowFocused);
+        if (focused != null) return removeWindow(focused);
+        
+        final List<PiPWindow> snapshot = windows.snapshot();
+        return !snapshot.isEmpty() && removeWindow(snapshot.get(snapshot.size() - 1));
     }
 
     /**
-     * Removes the PiPWindow in this manager's list at the specified index.
+     * Removes the PiPWindow with the specified ID.
      * 
-     * @param index - an int for the index.
+     * @param id - an int with the window's ID.
      * @return <code>true</code> if the removal succeeded; <code>false</code>
      *         otherwise.
+     * @see #getWindowID(PiPWindow)
      */
-    public boolean removeWindow(int index) {
-        if (index < 0 || index >= windows.size() || windows.get(index) == null) return false;
-        windows.get(index).closeWindow();
+    public boolean removeWindow(int id) {
+        return removeWindow(windows.get(id));
+    }
+    
+    /**
+     * Removes the passed PiPWindow, closing it. Nothing happens if the window is
+     * not managed by this manager or was already removed.
+     * 
+     * @param window - the {@link PiPWindow} to remove.
+     * @return <code>true</code> if the removal succeeded; <code>false</code>
+     *         otherwise.
+     * @since 0.9.5
+     */
+    public boolean removeWindow(PiPWindow window) {
+        // Unregister first, so that only one caller closes the window.
+        if (!windows.unregister(window)) return false;
+        window.closeWindow();
         
-        liveWindowCountDec(); // Update Live Window Count
+        windowCountChanged(); // Update Displayed Window Count
         return true;
     }
     
@@ -248,7 +695,7 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
             return;
         
         // Set State in All Windows
-        callInLiveWindows(window -> SwingUtilities.invokeLater(() -> window.setExtendedState(state)));
+        batch("state", window -> window.setExtendedState(state));
     }
     
     /**
@@ -258,20 +705,135 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      */
     private void setWindowsVisible(boolean visible) {
         // Set Visibility State for All Windows
-        callInLiveWindows(window -> SwingUtilities.invokeLater(() -> window.setVisible(visible)));
+        batch("visible", window -> window.setVisible(visible));
+    }
+    
+    /**
+     * Queues the passed operation to run with every <b>live</b> window. Queued
+     * operations are collected for about a frame, then applied to all windows in
+     * a single pass on the EDT, followed by a single {@link Toolkit#sync()}. This
+     * avoids posting an EDT task per window per operation, which floods the EDT
+     * when, for example, a key is held down.
+     * <p>
+     * Operations run in the order they were first queued. If an operation is
+     * queued with the same key as a pending one, it replaces the pending one
+     * while keeping its place, so only the latest of such operations applies.
+     * 
+     * @param key - the Object which identifies the operation, such as a
+     *            {@link Shortcut}.
+     * @param op  - the {@link Consumer} to accept with every live window on the
+     *            EDT.
+     * @since 0.9.5
+     */
+    public void batch(Object key, Consumer<PiPWindow> op) {
+        synchronized (batchLock) {
+            batchOps.put(key, op);
+            scheduleBatch();
+        }
+    }
+    
+    /**
+     * Queues the passed operation to run with every <b>live</b> window. The
+     * operation is never replaced by another. See
+     * {@link #batch(Object, Consumer)} for more details.
+     * 
+     * @param op - the {@link Consumer} to accept with every live window on the
+     *           EDT.
+     * @since 0.9.5
+     */
+    public void batch(Consumer<PiPWindow> op) {
+        batch(new Object(), op);
+    }
+    
+    /**
+     * Queues a move of every <b>live</b> window by the passed amounts. Moves
+     * queued within the same frame are added together and applied at once,
+     * before any other batched operations.
+     * 
+     * @param x - an int with the horizontal distance, in pixels.
+     * @param y - an int with the vertical distance, in pixels.
+     * @since 0.9.5
+     */
+    public void batchMove(int x, int y) {
+        synchronized (batchLock) {
+            batchMoveX += x;
+            batchMoveY += y;
+            scheduleBatch();
+        }
+    }
+    
+    /**
+     * Queues a change in width of every <b>live</b> window by the passed amount,
+     * maintaining each window's aspect ratio. Changes queued within the same
+     * frame are added together and applied at once, after any batched moves.
+     * Windows with a locked size are unaffected.
+     * 
+     * @param width - an int with the change in width, in pixels.
+     * @since 0.9.5
+     */
+    public void batchGrow(int width) {
+        synchronized (batchLock) {
+            batchGrowth += width;
+            scheduleBatch();
+        }
+    }
+    
+    /**
+     * Schedules the pending batch to be applied after {@link #BATCH_FRAME},
+     * unless it is already scheduled. Call this method while holding the
+     * {@link #batchLock}.
+     */
+    private void scheduleBatch() {
+        if (batchScheduled) return;
+        batchScheduled = true;
+        CompletableFuture.runAsync(() -> SwingUtilities.invokeLater(this::applyBatch),
+                CompletableFuture.delayedExecutor(BATCH_FRAME, TimeUnit.MILLISECONDS, CFExec.VIRTUAL_EXECUTOR));
+    }
+    
+    /**
+     * Applies the pending batch to every <b>live</b> window in a single pass.
+     * Call this method from the EDT.
+     */
+    private void applyBatch() {
+        // Take the pending batch, leaving an empty one for further operations.
+        final Map<Object, Consumer<PiPWindow>> ops;
+        final int moveX, moveY, growth;
+        synchronized (batchLock) {
+            ops = batchOps;
+            moveX = batchMoveX;
+            moveY = batchMoveY;
+            growth = batchGrowth;
+            batchOps = new LinkedHashMap<>();
+            batchMoveX = batchMoveY = batchGrowth = 0;
+            batchScheduled = false;
+        }
+        
+        callInLiveWindows(window -> {
+            try {
+                if (moveX != 0 || moveY != 0) window.setLocation(window.getX() + moveX, window.getY() + moveY);
+                if (growth != 0 && window.state().not(StateProp.LOCKED_SIZE))
+                    window.changeSize(window.scaledSize(window.getInnerWidth() + growth, true));
+                ops.values().forEach(op -> op.accept(window));
+            } catch (RuntimeException e) {
+                System.err.println("<!> Failed to apply batched operations to a window: " + e.getMessage());
+            }
+        });
+        Toolkit.getDefaultToolkit().sync();
     }
     
     /**
      * Executes the passed {@link Consumer} with every <b>live</b> window.
      * <p>
-     * As a reminder, <b>live</b> windows are those which have not been nullified
-     * and are not {@link StateProp#CLOSING} nor {@link CLOSED}.
+     * As a reminder, <b>live</b> windows are those which are registered and are
+     * not {@link StateProp#CLOSING} nor {@link CLOSED}. The windows are called in
+     * the order they were added, and windows added or removed meanwhile do not
+     * affect the iteration.
      * 
      * @param action - the {@link Consumer} to accept with every live window.
      */
     public void callInLiveWindows(Consumer<PiPWindow> action) {
-        for(final PiPWindow window : this.windows) {
-            if (window == null || window.state().any(StateProp.CLOSING, StateProp.CLOSED))
+        for(final PiPWindow window : this.windows.snapshot()) {
+            if (window.state().any(StateProp.CLOSING, StateProp.CLOSED))
                 continue;
             
             action.accept(window);
@@ -351,12 +913,12 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * @since 0.9.5
      */
     public void clearWindowsQuicklyInSync() {
-        // Map each window close operation to an asynchronous task.
-        CompletableFuture<?>[] closeTasks = this.windows.stream().filter(window -> window != null && window.state().not(StateProp.CLOSING, StateProp.CLOSED))
+        // Unregister each window, then map its close operation to an asynchronous task.
+        CompletableFuture<?>[] closeTasks = this.windows.snapshot().stream().filter(this.windows::unregister)
             .map(window -> CompletableFuture.runAsync(window::closeWindow))
             .toArray(CompletableFuture[]::new);
-        // Execute all of the asynchronous closing tasks, then set live window count which should ultimately perform cleanup.
-        CompletableFuture.allOf(closeTasks).whenComplete((result, throwable) -> setLiveWindowCount(0));
+        // Execute all of the asynchronous closing tasks, then update the window count which should ultimately perform cleanup.
+        CompletableFuture.allOf(closeTasks).whenComplete((result, throwable) -> windowCountChanged());
     }
 
     /**
@@ -368,40 +930,96 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      *      each window close simultaneously instead of sequentially.
      */
     private void clearWindowsInSync() {
-        // Iterate. Don't need Iterator -- not removing from List during loop.
-        for (int i = 0; i < this.windows.size(); i++) {
-            final PiPWindow window = windows.get(i);
-            if (window != null && window.state().not(StateProp.CLOSED)) {
-                removeWindow(i);
+        // Iterate over a snapshot, which is unaffected by the removals.
+        for (final PiPWindow window : this.windows.snapshot()) {
+            if (window.state().not(StateProp.CLOSED)) {
+                removeWindow(window);
             }
         }
     }
     
     /**
-     * Performs cleanup operations when there are zero <b>live</b> windows, per the
-     * {@link #liveWindowCount()}.
-     * <p>
-     * This method should only be called when there are no live windows, as it
-     * clears the internal {@link List} containing references to these windows.
+     * Performs cleanup operations when there are zero windows, per the
+     * {@link #windowCount()}.
      * 
      * @since 0.9.5
      */
     private void onZeroCleanup() {
-        // Only perform cleanup if there are no live windows.
-        if (this.liveWindowCount != 0) return;
-        
-        // Clear internal list and update window count.
-        this.windows.clear();
+        // Only perform cleanup if there are no windows.
+        if (windowCount() != 0) return;
         
         // Conditionally prune the cache folder.
         if (propertyState(PiPProperty.DISABLE_CACHE, Boolean.class))
             TryIgnore.run(PiPAAUtils::pruneCacheFolder);
         
+        // No window is viewing any image, so drop the idle decoded images before collecting.
+        DecodedImageCache.clearIdle();
+        
         // GC -- See Method's Doc. As To Why
         gcIfZeroCount();
         
         // Application is Exiting -- Count down latch to indicate windows are closed.
         if (this.exitLatch != null) exitLatch.countDown();
+        // Otherwise, reclaim the rest of the idle memory if no windows open in the meantime.
+        else scheduleIdleReclaim();
+    }
+    
+    /**
+     * Schedules the reclamation of idle memory after the delay set by the
+     * {@link PiPProperty#IDLE_RECLAIM_DELAY} property. Nothing is scheduled if the
+     * delay is <code>0</code>, which disables reclamation.
+     * 
+     * @since 0.9.5
+     */
+    private void scheduleIdleReclaim() {
+        final Integer delay = TryIgnore.get(() -> propertyState(PiPProperty.IDLE_RECLAIM_DELAY, Integer.class));
+        if (delay == null || delay <= 0) return;
+        
+        final long generation = idleGeneration.get();
+        CompletableFuture.runAsync(() -> reclaimIdle(generation),
+                CompletableFuture.delayedExecutor(delay, TimeUnit.SECONDS, CFExec.VIRTUAL_EXECUTOR));
+    }
+    
+    /**
+     * Reclaims the memory held for windows while there are none. The spare windows
+     * are closed, which releases their LibVLC instances, and the in-memory caches
+     * are cleared. The heap is then collected, which, with the default G1
+     * collector, also returns unused committed memory to the system.
+     * <p>
+     * Nothing happens if the window count changed since the reclamation was
+     * scheduled. Spare windows are warmed again once the next window is added.
+     * 
+     * @param generation - a long with the {@link #idleGeneration} at the time the
+     *                   reclamation was scheduled.
+     * @since 0.9.5
+     */
+    private void reclaimIdle(final long generation) {
+        if (generation != idleGeneration.get() || windowCount() != 0 || this.exitLatch != null) return;
+        
+        final Runtime runtime = Runtime.getRuntime();
+        final long usedBefore      = runtime.totalMemory() - runtime.freeMemory();
+        final long committedBefore = runtime.totalMemory();
+        
+        // Release the LibVLC instances held by the spare windows.
+        try {
+            trimSpareWindows(0).get(IDLE_CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            System.err.println("[IDLE] Spare windows took too long to close. Continuing...");
+        }
+        // Drop the in-memory caches, which are rebuilt as needed.
+        DecodedImageCache.clearIdle();
+        ConversionCache.clearHashes();
+        // No window is converting media, so it is a good time to remove conversions the cache no longer uses.
+        ConversionCache.pruneOrphans();
+        
+        // A window may have been added while the spares closed. If so, leave the heap for it.
+        if (generation != idleGeneration.get()) return;
+        System.gc();
+        
+        final long heapFreed      = Math.max(0, usedBefore - (runtime.totalMemory() - runtime.freeMemory()));
+        final long committedFreed = Math.max(0, committedBefore - runtime.totalMemory());
+        System.out.println("[IDLE] Reclaimed memory. Heap freed: " + (heapFreed >> 20) + " MB, Committed released: " + (committedFreed >> 20) + " MB");
+        if (this.reclaimListener != null) this.reclaimListener.idleReclaimed(heapFreed, committedFreed);
     }
     
     /**
@@ -419,7 +1037,16 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * for keeping the application quick and responsive to user input.
      */
     public void exit() {
+        // Save the session before the windows close, but do not let a frozen window hold up the exit.
+        try {
+            CompletableFuture.runAsync(this::saveSession, CFExec.VIRTUAL_EXECUTOR).get(SESSION_SAVE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            System.err.println("[EXIT] Failed to save the session in time.");
+        }
+        setSessionSaving(false);
+        
         exitLatch = new CountDownLatch(1);
+        trimSpareWindows(0);
         clearWindowsQuicklyInSync();
         
         // Wait a maximum of 3 seconds for windows to close properly, then forcibly continue with exit.
@@ -471,12 +1098,12 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
     public boolean hasDuplicates(final PiPWindow win) {
         if (win == null) return false;
         
-        for (final PiPWindow window : this.windows) {
+        for (final PiPWindow window : this.windows.snapshot()) {
             // Skip self in list.
             if (win.equals(window)) continue;
             
             // Check for another window that meets "duplicate" criteria.
-            if (window != null && window.state().not(StateProp.CLOSED) && win.hasMedia()
+            if (window.state().not(StateProp.CLOSED) && win.hasMedia()
                     && win.getMedia().sameSrcAs(window.getMedia())
                     && win.state().get(StateProp.PLAYER_NONE).equals(window.state().get(StateProp.PLAYER_NONE))) {
                 return true;
@@ -486,13 +1113,29 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
     }
 
     /**
-     * Gets the PiPWindow in this manager's list at the specified index.
+     * Gets the PiPWindow with the specified ID.
      * 
-     * @param index - an int for the index.
-     * @return the PiPWindow at the specified index, or null if out of bounds.
+     * @param id - an int with the window's ID.
+     * @return the PiPWindow with the specified ID, or <code>null</code> if there
+     *         is none.
+     * @see #getWindowID(PiPWindow)
      */
-    public PiPWindow getWindow(int index) {
-        return (index >= 0 && index < windowCount()) ? this.windows.get(index) : null;
+    public PiPWindow getWindow(int id) {
+        return this.windows.get(id);
+    }
+    
+    /**
+     * Gets the window's ID, which is given to it when added and never changes.
+     * Unlike its {@link #getWindowNumber(PiPWindow) number}, the ID is not affected
+     * by other windows closing.
+     * 
+     * @param window - the {@link PiPWindow} whose ID is to be retrieved.
+     * @return the window's ID, or {@link PiPWindowRegistry#NO_ID} if the window is
+     *         not managed by this manager.
+     * @since 0.9.5
+     */
+    public int getWindowID(PiPWindow window) {
+        return this.windows.idOf(window);
     }
     
     /**
@@ -509,24 +1152,23 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
      * @return the window's number, or {@code -1} if the passed window is invalid.
      */
     public int getWindowNumber(PiPWindow window) {
-        // Return -1 if window is null, not in the list, or invalid.
-        if (window == null) return -1;
-        final int startIndex = this.windows.indexOf(window);
-        if (startIndex == -1 || window.state().any(StateProp.CLOSING, StateProp.CLOSED, StateProp.CRASHED)) return -1;
-        
-        // Get and return the window's valid number.
-        return (int) this.windows.stream()
-                // Trims and ignores elements AFTER target window, making it the last element.
-                .limit(startIndex + 1)
-                // Filters out invalid windows that precede the passed window.
-                .filter(w -> w != null && w.state().not(StateProp.CLOSING, StateProp.CLOSED, StateProp.CRASHED))
-                // Gets the last number, which is the target window.
-                .count();
+        // Return -1 if window is null, not registered, or invalid.
+        if (window == null || this.windows.idOf(window) == PiPWindowRegistry.NO_ID
+                || window.state().any(StateProp.CLOSING, StateProp.CLOSED, StateProp.CRASHED)) return -1;
+        
+        // Count the valid windows up to and including the passed window, which was added after those preceding it.
+        int number = 0;
+        for (final PiPWindow w : this.windows.snapshot()) {
+            if (w.state().not(StateProp.CLOSING, StateProp.CLOSED, StateProp.CRASHED)) number++;
+            if (w == window) return number;
+        }
+        return -1;
     }
 
     /**
-     * Returns the size of the PiPWindow list. The list contains each and every
-     * PiPWindow this manager is responsible for.
+     * Returns the amount of PiPWindows registered with this manager. Windows are
+     * registered when added and unregistered when removed, so this includes each
+     * and every PiPWindow this manager is responsible for.
      * 
      * @return the window count as an int.
      */
@@ -544,47 +1186,45 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
         this.countListener = wcl;
     }
     
+    /**
+     * Sets the idle reclaim listener for this manager.
+     * The listener receives calls after idle memory has been reclaimed.
+     * 
+     * @param irl - the PiPIdleReclaimListener to set.
+     * @since 0.9.5
+     */
+    public void setIdleReclaimListener(PiPIdleReclaimListener irl) {
+        this.reclaimListener = irl;
+    }
+    
     /**
      * Returns the number of <b>live</b> PiPWindows currently managed
      * by this manager. The live window count may differ from the <code>windowCount()</code>,
-     * as it only includes windows that have not been closed.
+     * as it only includes windows that have not begun closing.
      * 
      * @return the live window count as an int.
      */
     public int liveWindowCount() {
-        return this.liveWindowCount;
+        return (int) this.windows.snapshot().stream().filter(w -> w.state().not(StateProp.CLOSING, StateProp.CLOSED)).count();
     }
     
     /**
-     * Sets the live window count to the passed int.
-     * 
-     * @param count - the int for the new live window count.
+     * Handles a change in the window count, which is derived from the registered
+     * windows. The count listener is notified, and cleanup is performed once no
+     * windows remain.
      */
-    private void setLiveWindowCount(int count) {
-        this.liveWindowCount = count;
-        
+    private void windowCountChanged() {
         // Update Displayed Window Count Elsewhere (Ex: Tray Menu)
         if(this.countListener != null)
             this.countListener.windowCountChanged();
         
+        // Any change to the window count invalidates a pending idle reclamation.
+        idleGeneration.incrementAndGet();
+        
         // Perform Cleanup On Zero Window Count
         onZeroCleanup();
     }
     
-    /**
-     * Increments the live window count by 1.
-     */
-    private void liveWindowCountInc() {
-        setLiveWindowCount(this.liveWindowCount + 1);
-    }
-    
-    /**
-     * Decrements the live window count by 1.
-     */
-    private void liveWindowCountDec() {
-        setLiveWindowCount(Math.max(0, this.liveWindowCount - 1));
-    }
-    
     @Override
     public ThreadMonitor getMonitor() {
         return this.attributor.getMonitor();
@@ -596,6 +1236,43 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
         if(value == null) return;
         
         callInLiveWindows(window -> window.propertyChanged(prop, value));
+        
+        // Spare windows are not live, but must match the configuration once handed out. The SET_ALL actions only apply to live media.
+        switch (prop) {
+        case SET_ALL_MUTED, SET_ALL_PAUSED, SET_ALL_PLAYBACK_RATE, SET_ALL_VOLUME -> {}
+        default -> spareWindows.forEach(window -> window.propertyChanged(prop, value));
+        }
+        
+        // Keep spare windows consistent with the configuration that new windows are created with.
+        switch (prop) {
+        case SPARE_WINDOWS -> {
+            trimSpareWindows(spareWindowTarget());
+            warmSpareWindows();
+        }
+        // The media player is configured with these during construction, so the spares must be replaced.
+        case USE_HW_DECODING, USE_SUPER_RES, DEFAULT_PLAYBACK_RATE -> {
+            trimSpareWindows(0);
+            warmSpareWindows();
+        }
+        // Windows may have been playing together until now, so pause all of them except the active player once.
+        case SINGLE_PLAY_MODE -> {
+            if (Boolean.valueOf(value)) {
+                final PiPWindow active = activePlayer.get();
+                callInLiveWindows(window -> { if (window != active) window.yieldPlayback(); });
+            }
+        }
+        case PLAYBACK_STATS -> setPlaybackStatsSampling(Boolean.valueOf(value));
+        // Overlays are shown again by the next sample, so they only need to be hidden here.
+        case PLAYBACK_STATS_OVERLAY -> {
+            if (!Boolean.valueOf(value)) statsClock.execute(() -> callInLiveWindows(PiPWindow::hidePlaybackStatsOverlay));
+        }
+        // Forget the saved session when disabled, so an outdated one is never restored later.
+        case RESTORE_SESSION -> {
+            setSessionSaving(Boolean.valueOf(value));
+            if (!Boolean.valueOf(value)) sessionClock.execute(PiPSession::clear);
+        }
+        default -> {}
+        }
     }
 
     @Override
@@ -624,52 +1301,29 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
             callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.FLASH_BORDERS)));
             break;
         case MOVE_WINDOWS_W:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_W)));
-            break;
         case MOVE_WINDOWS_W_LESS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_W_LESS)));
-            break;
         case MOVE_WINDOWS_W_MORE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_W_MORE)));
-            break;
         case MOVE_WINDOWS_E:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_E)));
-            break;
         case MOVE_WINDOWS_E_LESS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_E_LESS)));
-            break;
         case MOVE_WINDOWS_E_MORE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_E_MORE)));
-            break;
         case MOVE_WINDOWS_S:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_S)));
-            break;
         case MOVE_WINDOWS_S_LESS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_S_LESS)));
-            break;
         case MOVE_WINDOWS_S_MORE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_S_MORE)));
-            break;
         case MOVE_WINDOWS_N:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_N)));
-            break;
         case MOVE_WINDOWS_N_LESS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_N_LESS)));
-            break;
         case MOVE_WINDOWS_N_MORE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.MOVE_WINDOW_N_MORE)));
+            final Point move = PiPWindow.moveAdjustment(shortcut);
+            batchMove(move.x, move.y);
             break;
         case OPACITY_MAX_ALL:
-            callInLiveWindows(windows -> windows.handleShortcutBind(BindDetails.createDummy(Shortcut.OPACITY_MAX)));
+        case OPACITY_MIN_ALL:
+            // Only the last absolute opacity change in a frame matters.
+            batch(Shortcut.OPACITY_MAX_ALL, window -> window.setOpacity(window.selectOpacity(shortcut)));
             break;
         case OPACITY_INCREASE_ALL:
-            callInLiveWindows(windows -> windows.handleShortcutBind(BindDetails.createDummy(Shortcut.OPACITY_INCREASE)));
-            break;
         case OPACITY_DECREASE_ALL:
-            callInLiveWindows(windows -> windows.handleShortcutBind(BindDetails.createDummy(Shortcut.OPACITY_DECREASE)));
-            break;
-        case OPACITY_MIN_ALL:
-            callInLiveWindows(windows -> windows.handleShortcutBind(BindDetails.createDummy(Shortcut.OPACITY_MIN)));
+            // Each step counts, so these are never replaced.
+            batch(window -> window.setOpacity(window.selectOpacity(shortcut)));
             break;
         case PAUSE_ALL:
             callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.PAUSE)));
@@ -681,10 +1335,10 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
             callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.PLAY_PAUSE)));
             break;
         case RELOCATE_WINDOWS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.RELOCATE_WINDOW)));
+            batch(Shortcut.RELOCATE_WINDOWS, PiPWindow::ensureOnScreen);
             break;
         case RESET_SIZE_ALL:
-            callInLiveWindows(window -> SwingUtilities.invokeLater(window::resetSize));
+            batch(Shortcut.RESET_SIZE_ALL, PiPWindow::resetSize);
             break;
         case SEEK_ALL:
             // TODO Implement after SEEK in PiPWindow.
@@ -720,22 +1374,12 @@ public class PiPWindowManager implements PropertyListener, BindControllerFetcher
             callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.SEEK_9)));
             break;
         case WINDOWS_SIZE_DECREASE_LESS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.WINDOW_SIZE_DECREASE_LESS)));
-            break;
         case WINDOWS_SIZE_DECREASE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.WINDOW_SIZE_DECREASE)));
-            break;
         case WINDOWS_SIZE_DECREASE_MORE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.WINDOW_SIZE_DECREASE_MORE)));
-            break;
         case WINDOWS_SIZE_INCREASE_LESS:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.WINDOW_SIZE_INCREASE_LESS)));
-            break;
         case WINDOWS_SIZE_INCREASE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.WINDOW_SIZE_INCREASE)));
-            break;
         case WINDOWS_SIZE_INCREASE_MORE:
-            callInLiveWindows(window -> window.handleShortcutBind(BindDetails.createDummy(Shortcut.WINDOW_SIZE_INCREASE_MORE)));
+            batchGrow(PiPWindow.sizeAdjustment(shortcut));
             break;
         default: break; // Do nothing for the rest. Some actions handled in PiPWindow or PiPWindowListeners.
         }
@@ -0,0 +1,122 @@
+package dev.mwhitney.gui;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of the windows managed by a {@link PiPWindowManager}. Each window
+ * receives a stable ID when registered, which never changes or gets reused, so
+ * it remains valid no matter how many other windows open and close.
+ * <p>
+ * Windows are looked up by ID, and IDs by window, in constant time. Iteration
+ * uses an insertion-ordered snapshot, which is replaced whenever a window is
+ * registered or unregistered. Readers never block, and closed windows never
+ * leave behind empty slots.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class PiPWindowRegistry {
+    /** The value returned in place of an ID for windows that are not registered. */
+    public static final int NO_ID = -1;
+    
+    /** The registered windows, mapped by their ID. */
+    private final Map<Integer, PiPWindow> windows = new ConcurrentHashMap<>();
+    /** The IDs of the registered windows, mapped by window. */
+    private final Map<PiPWindow, Integer> ids = new ConcurrentHashMap<>();
+    /** The registered windows, in the order they were registered. Replaced, never modified, so it can be read without locking. */
+    private volatile PiPWindow[] snapshot = new PiPWindow[0];
+    /** The ID given to the last registered window. */
+    private int lastID;
+    
+    /**
+     * Registers the passed window, giving it a new ID. Nothing happens if the
+     * window is already registered.
+     *
+     * @param window - the {@link PiPWindow} to register.
+     * @return an int with the window's ID.
+     */
+    public synchronized int register(PiPWindow window) {
+        final Integer existing = ids.get(window);
+        if (existing != null) return existing;
+        
+        final int id = ++lastID;
+        windows.put(id, window);
+        ids.put(window, id);
+        final PiPWindow[] next = Arrays.copyOf(snapshot, snapshot.length + 1);
+        next[next.length - 1] = window;
+        snapshot = next;
+        return id;
+    }
+    
+    /**
+     * Unregisters the passed window. Only one caller can unregister a window, so
+     * the return value may be used to claim its removal.
+     *
+     * @param window - the {@link PiPWindow} to unregister.
+     * @return <code>true</code> if the window was unregistered;
+     *         <code>false</code> if it was not registered.
+     */
+    public synchronized boolean unregister(PiPWindow window) {
+        if (window == null) return false;
+        final Integer id = ids.remove(window);
+        if (id == null) return false;
+        
+        windows.remove(id);
+        final PiPWindow[] current = snapshot;
+        final PiPWindow[] next = new PiPWindow[current.length - 1];
+        int i = 0;
+        for (final PiPWindow w : current) {
+            if (w != window) next[i++] = w;
+        }
+        snapshot = next;
+        return true;
+    }
+    
+    /**
+     * Gets the registered window with the passed ID.
+     *
+     * @param id - an int with the window's ID.
+     * @return the {@link PiPWindow}, or <code>null</code> if no registered window
+     *         has the ID.
+     */
+    public PiPWindow get(int id) {
+        return windows.get(id);
+    }
+    
+    /**
+     * Gets the ID of the passed window.
+     *
+     * @param window - the {@link PiPWindow}.
+     * @return an int with the window's ID, or {@link #NO_ID} if it is not
+     *         registered.
+     */
+    public int idOf(PiPWindow window) {
+        if (window == null) return NO_ID;
+        final Integer id = ids.get(window);
+        return id != null ? id : NO_ID;
+    }
+    
+    /**
+     * Gets the registered windows, in the order they were registered. The
+     * returned List is unmodifiable and does not change if windows are
+     * registered or unregistered afterwards.
+     *
+     * @return a List of each registered {@link PiPWindow}.
+     */
+    public List<PiPWindow> snapshot() {
+        return Collections.unmodifiableList(Arrays.asList(snapshot));
+    }
+    
+    /**
+     * Gets the amount of registered windows.
+     *
+     * @return an int with the window count.
+     */
+    public int size() {
+        return snapshot.length;
+    }
+}
@@ -4,6 +4,7 @@ import java.awt.Dimension;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Properties;
 
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -222,13 +223,14 @@ public class PiPWindowSnapshot {
             setMediaAttributes(media.getAttributes());
             capped.add(SnapshotData.MEDIA_ATTRIBUTES);
         }
-        final MediaPlayer mediaPlayer = window.getMediaPlayer();
-        if (this.captures(SnapshotData.PLAYER) && mediaPlayer != null) {
+        // The player is only read through the window's native call watchdog, so a frozen player cannot freeze the capture.
+        if (this.captures(SnapshotData.PLAYER) && window.getMediaPlayer() != null && window.readMediaPlayer("snapshot", mediaPlayer -> {
             setPlayerPosition(mediaPlayer.status().position());
             setPlayerRate(mediaPlayer.status().rate());
             setPlayerVolume(mediaPlayer.audio().volume());
             setPlayerMuted(mediaPlayer.audio().isMute());
             setPlayerPlaying(mediaPlayer.status().isPlaying());
+        })) {
             capped.add(SnapshotData.PLAYER);
         }
         
@@ -319,6 +321,92 @@ public class PiPWindowSnapshot {
         if (window.hasMedia()) apply(window.getMedia());
         if (window.getMediaPlayer() != null) apply(window.getMediaPlayer());
     }
+    
+    /**
+     * Stores the captured data within this snapshot in the passed
+     * {@link Properties}, with each key starting with the passed prefix. Only data
+     * which this snapshot captured is stored.
+     * 
+     * @param props  - the {@link Properties} to store the data in.
+     * @param prefix - a String with the prefix of each key.
+     * @since 0.9.5
+     * @see {@link #load(Properties, String)} to load the stored data.
+     */
+    public void store(final Properties props, final String prefix) {
+        if (this.captured(SnapshotData.WINDOW)) {
+            props.setProperty(prefix + "x",      Integer.toString(this.windowX));
+            props.setProperty(prefix + "y",      Integer.toString(this.windowY));
+            props.setProperty(prefix + "width",  Integer.toString(this.windowWidth));
+            props.setProperty(prefix + "height", Integer.toString(this.windowHeight));
+        }
+        if (this.captured(SnapshotData.MEDIA_SOURCES) && hasMediaSrc()) {
+            props.setProperty(prefix + "src", this.mediaSrc);
+            if (hasMediaCacheSrc())   props.setProperty(prefix + "cacheSrc",   this.mediaCacheSrc);
+            if (hasMediaTrimSrc())    props.setProperty(prefix + "trimSrc",    this.mediaTrimSrc);
+            if (hasMediaConvertSrc()) props.setProperty(prefix + "convertSrc", this.mediaConvertSrc);
+        }
+        // Uncached web media is attributed again when loaded, as its direct links expire.
+        if (this.captured(SnapshotData.MEDIA_ATTRIBUTES) && hasReusableMediaAttributes()) {
+            this.mediaAttributes.store(props, prefix + "attributes.");
+        }
+        if (this.captured(SnapshotData.PLAYER)) {
+            props.setProperty(prefix + "position", Float.toString(this.playerPosition));
+            props.setProperty(prefix + "rate",     Float.toString(this.playerRate));
+            props.setProperty(prefix + "volume",   Integer.toString(this.playerVolume));
+            props.setProperty(prefix + "muted",    Boolean.toString(this.playerMuted));
+            props.setProperty(prefix + "playing",  Boolean.toString(this.playerPlaying));
+        }
+    }
+    
+    /**
+     * Loads a snapshot which was stored in the passed {@link Properties} via
+     * {@link #store(Properties, String)}. The loaded snapshot is treated as if it
+     * captured whichever data was stored, so it can be applied right away.
+     * 
+     * @param props  - the {@link Properties} to load the snapshot from.
+     * @param prefix - a String with the prefix of each key.
+     * @return the loaded PiPWindowSnapshot, or <code>null</code> if the stored
+     *         data is invalid.
+     * @since 0.9.5
+     */
+    public static PiPWindowSnapshot load(final Properties props, final String prefix) {
+        final PiPWindowSnapshot snapshot = new PiPWindowSnapshot();
+        final ArrayList<SnapshotData> loaded = new ArrayList<>();
+        try {
+            if (props.containsKey(prefix + "x")) {
+                snapshot.setWindowX(Integer.parseInt(props.getProperty(prefix + "x")));
+                snapshot.setWindowY(Integer.parseInt(props.getProperty(prefix + "y")));
+                snapshot.setWindowWidth(Integer.parseInt(props.getProperty(prefix + "width")));
+                snapshot.setWindowHeight(Integer.parseInt(props.getProperty(prefix + "height")));
+                loaded.add(SnapshotData.WINDOW);
+            }
+            if (props.containsKey(prefix + "src")) {
+                snapshot.setMediaSrc(props.getProperty(prefix + "src"));
+                snapshot.setMediaCacheSrc(props.getProperty(prefix + "cacheSrc"));
+                snapshot.setMediaTrimSrc(props.getProperty(prefix + "trimSrc"));
+                snapshot.setMediaConvertSrc(props.getProperty(prefix + "convertSrc"));
+                loaded.add(SnapshotData.MEDIA_SOURCES);
+            }
+            final PiPMediaAttributes attributes = PiPMediaAttributes.load(props, prefix + "attributes.");
+            if (attributes != null) {
+                snapshot.setMediaAttributes(attributes);
+                loaded.add(SnapshotData.MEDIA_ATTRIBUTES);
+            }
+            if (props.containsKey(prefix + "position")) {
+                snapshot.setPlayerPosition(Float.parseFloat(props.getProperty(prefix + "position")));
+                snapshot.setPlayerRate(Float.parseFloat(props.getProperty(prefix + "rate")));
+                snapshot.setPlayerVolume(Integer.parseInt(props.getProperty(prefix + "volume")));
+                snapshot.setPlayerMuted(Boolean.parseBoolean(props.getProperty(prefix + "muted")));
+                snapshot.setPlayerPlaying(Boolean.parseBoolean(props.getProperty(prefix + "playing")));
+                loaded.add(SnapshotData.PLAYER);
+            }
+        } catch (NullPointerException | NumberFormatException e) {
+            return null;
+        }
+        
+        snapshot.captured = loaded.toArray(new SnapshotData[0]);
+        return snapshot;
+    }
     /**
      * Gets the media player position data.
      * 
@@ -509,6 +597,20 @@ public class PiPWindowSnapshot {
     public boolean hasMediaCacheSrc() {
         return (getMediaCacheSrc() != null);
     }
+    
+    /**
+     * Checks if this snapshot has media attributes which can be reused after a
+     * restart. Only the attributes of local or cached media can be. The direct
+     * links of uncached web media are signed and expire, so that media must be
+     * attributed again from its source instead.
+     * 
+     * @return <code>true</code> if the media attributes can be reused;
+     *         <code>false</code> otherwise.
+     * @since 0.9.5
+     */
+    public boolean hasReusableMediaAttributes() {
+        return this.mediaAttributes != null && (this.mediaAttributes.isLocal() || hasMediaCacheSrc());
+    }
     /**
      * Gets the media cache source data.
      * 
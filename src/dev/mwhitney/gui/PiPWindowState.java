@@ -1,16 +1,27 @@
 package dev.mwhitney.gui;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import dev.mwhitney.util.interfaces.PermanentRunnable;
 import dev.mwhitney.util.interfaces.RecurringRunnable;
 
 /**
  * The state of a PiPWindow, which contains numerous fields relating to its status.
+ * <p>
+ * The state is safe to read and change from any thread. Hooks run off of the
+ * thread that changed the state, one at a time and in the order of the changes.
  * 
  * @author mwhitney57
  */
@@ -213,144 +224,66 @@ public class PiPWindowState {
          */
         LOCKED_FULLSCREEN;
     }
-
-    /** A window media player value that represents which player is in use. */
-    private static final int PLAYER_NONE = 0, PLAYER_VLC = 1, PLAYER_SWING = 2, PLAYER_COMBO = 3;
     
-    /**
-     * An int with a value that represents the current media player set in the window.
-     * Set to {@link #PLAYER_NONE} by default.
-     */
-    private int player = PLAYER_NONE;
-    /**
-     * A boolean for whether or not the window's keyboard and mouse controls are enabled.
-     * Enabled by default.
-     */
-    private boolean controls = true;
-    /**
-     * A boolean for whether or not the window's keyboard controls are enabled.
-     * The global controls overrides this value if disabled.
-     * Enabled by default.
-     */
-    private boolean controlsKey = true;
-    /**
-     * A boolean for whether or not the window's mouse controls are enabled.
-     * The global controls overrides this value if disabled.
-     * Enabled by default.
-     */
-    private boolean controlsMouse = true;
-    /**
-     * A boolean for whether or not the VLC player uses hardware acceleration.
-     */
-    private boolean hwAcceleration;
-    /**
-     * A boolean for whether or not the VLC player uses RTX Video Super Resolution.
-     */
-    private boolean rtxSuperRes;
-    /**
-     * A boolean for whether or not the window is in full screen display mode.
-     */
-    private boolean fullscreen;
-    /**
-     * A boolean for whether or not the image media in the Swing player is horizontally flipped.
-     */
-    private boolean flipHorizontal;
-    /**
-     * A boolean for whether or not the image media in the Swing player is vertically flipped.
-     */
-    private boolean flipVertical;
-    /**
-     * A boolean for whether or not the window is in background pass-through mode.
-     */
-    private boolean passthrough;
-    /**
-     * A boolean for whether or not the window is loading media.
-     */
-    private boolean loading;
-    /**
-     * A boolean for whether or not the window is ready.
-     * A window is ready after loading then adjusting to the media and beginning automatic playback.
-     */
-    private boolean ready;
-    /**
-     * A boolean for whether or not the window is currently being resized.
-     * This property is usually on for an extremely brief period.
-     */
-    private boolean resizing;
-    /**
-     * A boolean for whether or not the media in the window is being saved/cached.
-     * This is tracked to prevent concurrent save attempts from taking place, which
-     * could cause issues and break the saved media.
-     */
-    private boolean savingMedia;
-    /**
-     * A boolean for whether or not the media in the window is being closed.
-     */
-    private boolean closingMedia;
-    /**
-     * A boolean for whether or not the media has been paused <b>manually</b>. This
-     * will be false if the media is paused but it was done by the application and
-     * not the user.
-     */
-    private boolean manuallyPaused;
-    /**
-     * A boolean for whether or not the media has been stopped <b>manually</b>. This
-     * will be false if the media is stopped but it was done by the application and
-     * not the user.
-     */
-    private boolean manuallyStopped;
-    /**
-     * A boolean for whether or not the media has been muted <b>locally</b>.
-     * This is important to track so that each window's muted state remains
-     * after a <b>global</b> mute has been activated/deactivated.
-     */
-    private boolean locallyMuted;
+    /** The bit mask of the StateProps which cannot be turned OFF (false) once set to ON (true). */
+    private static final long PERMANENT = mask(StateProp.HW_ACCELERATION, StateProp.RTX_SUPER_RES, StateProp.CRASHED, StateProp.CLOSING, StateProp.CLOSED);
+    /** The bit mask of the StateProps which are ON (true) by default. */
+    private static final long DEFAULTS  = mask(StateProp.CONTROLS, StateProp.CONTROLS_KEY, StateProp.CONTROLS_MOUSE);
     
     /**
-     * A boolean for whether or not the window, or a component of the window, has
-     * crashed.
-     */
-    private boolean crashed;
-    /**
-     * A boolean for whether or not the window is closing, which will
-     * only and permanently read as true when it has happened once.
-     * In other words, this should never be reset to false.
-     */
-    private boolean closing;
-    /**
-     * A boolean for whether or not the window has been closed, which is permanent.
-     */
-    private boolean closed;
-    /**
-     * A boolean for whether or not the window's size is locked.
-     * Locked attributes cannot be changed while on.
-     */
-    private boolean lockedSize;
-    /**
-     * A boolean for whether or not the window's position is locked.
-     * Locked attributes cannot be changed while on.
+     * The StateProp of the media player currently set in the window.
+     * Set to {@link StateProp#PLAYER_NONE} by default.
      */
-    private boolean lockedPosition;
+    private final AtomicReference<StateProp> player = new AtomicReference<StateProp>(StateProp.PLAYER_NONE);
     /**
-     * A boolean for whether or not the window's media is locked.
-     * Locked attributes cannot be changed while on.
+     * The values of every StateProp other than the player ones, stored as a bitset.
+     * Each StateProp is ON (true) if the bit at its ordinal is set. Changes are
+     * atomic, so every thread sees the latest state and concurrent changes to
+     * different StateProps are never lost.
      */
-    private boolean lockedMedia;
+    private final AtomicLong flags = new AtomicLong(DEFAULTS);
+    
     /**
-     * A boolean for whether or not the window's fullscreen state is locked.
-     * Locked attributes cannot be changed while on.
+     * A map of StateProps to their hooks, which are executed when the StateProp is
+     * set to <code>true</code>. Each list is copy-on-write, so hooks can be run
+     * while others are being added or removed.
+     * 
+     * @see #hook(StateProp, boolean, Runnable)
+     * @see #runHooks(StateProp, boolean)
      */
-    private boolean lockedFullscreen;
-    
+    private final Map<StateProp, List<Runnable>> hooksOn  = new EnumMap<StateProp, List<Runnable>>(StateProp.class);
     /**
-     * A map of StateProps which each correspond to a map of added hooks tied to
-     * either a <code>true</code> or <code>false</code> value. When a StateProp is
-     * set to one of the two boolean values, that set of hooks is executed.
+     * A map of StateProps to their hooks, which are executed when the StateProp is
+     * set to <code>false</code>. Each list is copy-on-write, so hooks can be run
+     * while others are being added or removed.
      * 
      * @see #hook(StateProp, boolean, Runnable)
      * @see #runHooks(StateProp, boolean)
      */
-    private HashMap<StateProp, HashMap<Boolean, ArrayList<Runnable>>> hooks;
+    private final Map<StateProp, List<Runnable>> hooksOff = new EnumMap<StateProp, List<Runnable>>(StateProp.class);
+    /** A boolean for whether or not the hooks have been destroyed via {@link #destroyHooks()}. */
+    private volatile boolean destroyed;
+    /**
+     * The hook dispatches waiting to run, in the order that their StateProps were
+     * set. They are run one at a time, so hooks always observe the changes in the
+     * order they happened.
+     */
+    private final Queue<Runnable> dispatches = new ConcurrentLinkedQueue<Runnable>();
+    /** A boolean for whether or not a thread is currently running the queued {@link #dispatches}. */
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    /** The counter used to number the hook threads. */
+    private static final AtomicInteger HOOK_THREAD_COUNT = new AtomicInteger();
+    /**
+     * The shared executor which runs the queued {@link #dispatches} of every window.
+     * Hooks often make native media player calls, which would pin a virtual
+     * thread to its carrier, so it uses platform threads. They are daemons, and
+     * exit once idle for a minute.
+     */
+    private static final ExecutorService HOOK_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "PiPAA-Hooks-" + HOOK_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
     
     /**
      * Creates a new PiPWindowState instance.
@@ -361,12 +294,9 @@ public class PiPWindowState {
      * @see #hook(StateProp, boolean, Runnable)
      */
     public PiPWindowState() {
-        this.hooks = new HashMap<StateProp, HashMap<Boolean, ArrayList<Runnable>>>();
         for (final StateProp prop : StateProp.values()) {
-            final HashMap<Boolean, ArrayList<Runnable>> onOffMap = new HashMap<Boolean, ArrayList<Runnable>>();
-            onOffMap.put(Boolean.TRUE, new ArrayList<Runnable>());
-            onOffMap.put(Boolean.FALSE, new ArrayList<Runnable>());
-            hooks.put(prop, onOffMap);
+            hooksOn.put(prop,  new CopyOnWriteArrayList<Runnable>());
+            hooksOff.put(prop, new CopyOnWriteArrayList<Runnable>());
         }
     }
     
@@ -419,13 +349,22 @@ public class PiPWindowState {
     }
     
     /**
-     * Toggles the passed StateProp to the <b>inverse</b> of its current value.
+     * Toggles the passed StateProp to the <b>inverse</b> of its current value. The
+     * toggle is atomic, so concurrent toggles are never lost.
      * 
      * @param prop - the StateProp to toggle.
      * @return this PiPWindowState instance.
      */
     public PiPWindowState toggle(StateProp prop) {
-        set(prop, not(prop));
+        // Player StateProps are not independent bits, so they are simply set to the inverse.
+        if (isPlayer(prop)) {
+            set(prop, not(prop));
+            return this;
+        }
+        
+        final long bit = bit(prop);
+        final long prev = flags.getAndUpdate(f -> (f & bit) != 0 && (PERMANENT & bit) != 0 ? f : f ^ bit);
+        dispatchHooks(prop, (prev & bit) == 0);
         return this;
     }
     
@@ -437,50 +376,62 @@ public class PiPWindowState {
      */
     public PiPWindowState toggle(StateProp... props) {
         for (final StateProp prop : props) {
-            set(prop, not(prop));
+            toggle(prop);
         }
         return this;
     }
     
     /**
-     * Sets the passed StateProp to the passed boolean value.
+     * Sets the passed StateProp to the passed boolean value. The hooks into the
+     * StateProp with that value are then run, even if the value did not change.
      * 
      * @param prop - the StateProp to change.
      * @param val - the new value of the StateProp.
      */
     public void set(StateProp prop, boolean val) {
-        switch(prop) {
-        case PLAYER_NONE       -> this.player = (val ? PLAYER_NONE  : this.player);
-        case PLAYER_VLC        -> this.player = (val ? PLAYER_VLC   : this.player);
-        case PLAYER_SWING      -> this.player = (val ? PLAYER_SWING : this.player);
-        case PLAYER_COMBO      -> this.player = (val ? PLAYER_COMBO : this.player);
-        case CONTROLS          -> this.controls         = val;
-        case CONTROLS_KEY      -> this.controlsKey      = val;
-        case CONTROLS_MOUSE    -> this.controlsMouse    = val;
-        case FULLSCREEN        -> this.fullscreen       = val;
-        case FLIP_HORIZONTAL   -> this.flipHorizontal   = val;
-        case FLIP_VERTICAL     -> this.flipVertical     = val;
-        case PASSTHROUGH       -> this.passthrough      = val;
-        case LOADING           -> this.loading          = val;
-        case READY             -> this.ready            = val;
-        case RESIZING          -> this.resizing         = val;
-        case SAVING_MEDIA      -> this.savingMedia      = val;
-        case CLOSING_MEDIA     -> this.closingMedia     = val;
-        case MANUALLY_PAUSED   -> this.manuallyPaused   = val;
-        case MANUALLY_STOPPED  -> this.manuallyStopped  = val;
-        case LOCALLY_MUTED     -> this.locallyMuted     = val;
-        case LOCKED_SIZE       -> this.lockedSize       = val;
-        case LOCKED_POSITION   -> this.lockedPosition   = val;
-        case LOCKED_MEDIA      -> this.lockedMedia      = val;
-        case LOCKED_FULLSCREEN -> this.lockedFullscreen = val;
-        // Permanent State Property Changes
-        case HW_ACCELERATION  -> this.hwAcceleration = (val ? true : this.hwAcceleration);
-        case RTX_SUPER_RES    -> this.rtxSuperRes    = (val ? true : this.rtxSuperRes);
-        case CRASHED          -> this.crashed        = (val ? true : this.crashed);
-        case CLOSING          -> this.closing        = (val ? true : this.closing);
-        case CLOSED           -> this.closed         = (val ? true : this.closed);
+        if (isPlayer(prop)) {
+            // The player only changes when a player is set to be on.
+            if (val) player.set(prop);
+        } else {
+            final long bit = bit(prop);
+            if (val) flags.getAndUpdate(f -> f | bit);
+            else if ((PERMANENT & bit) == 0) flags.getAndUpdate(f -> f & ~bit);
+        }
+        dispatchHooks(prop, val);
+    }
+    
+    /**
+     * Atomically sets the passed StateProp to the passed value, but only if its
+     * current value is the expected one. This allows a single thread to claim a
+     * transition, such as the window beginning to close, when several threads may
+     * attempt it at once. The hooks into the StateProp with the new value are run
+     * only if it was set.
+     * 
+     * @param prop   - the StateProp to change.
+     * @param expect - the boolean value the StateProp is expected to have.
+     * @param val    - the new value of the StateProp.
+     * @return <code>true</code> if the StateProp was set; <code>false</code> if
+     *         its value was not the expected one.
+     * @since 0.9.5
+     */
+    public boolean compareAndSet(StateProp prop, boolean expect, boolean val) {
+        final boolean changed;
+        if (isPlayer(prop)) {
+            // Turning a player off does not change the player, so only turning one on can succeed.
+            changed = val && !expect && player.getAndUpdate(p -> p == prop ? p : prop) != prop;
+        } else {
+            final long bit = bit(prop);
+            if (!val && (PERMANENT & bit) != 0) return false;
+            
+            long current;
+            do {
+                current = flags.get();
+                if (((current & bit) != 0) != expect) return false;
+            } while (!flags.compareAndSet(current, val ? current | bit : current & ~bit));
+            changed = true;
         }
-        CompletableFuture.runAsync(() -> runHooks(prop, val));
+        if (changed) dispatchHooks(prop, val);
+        return changed;
     }
     
     /**
@@ -490,61 +441,38 @@ public class PiPWindowState {
      * @return <code>true</code> if the property is on; <code>false</code> otherwise.
      */
     public boolean is(StateProp prop) {
-        return switch(prop) {
-        case PLAYER_NONE       -> (this.player == PLAYER_NONE);
-        case PLAYER_VLC        -> (this.player == PLAYER_VLC);
-        case PLAYER_SWING      -> (this.player == PLAYER_SWING);
-        case PLAYER_COMBO      -> (this.player == PLAYER_COMBO);
-        case CONTROLS          ->  this.controls;
-        case CONTROLS_KEY      ->  this.controlsKey;
-        case CONTROLS_MOUSE    ->  this.controlsMouse;
-        case HW_ACCELERATION   ->  this.hwAcceleration;
-        case RTX_SUPER_RES     ->  this.rtxSuperRes;
-        case FULLSCREEN        ->  this.fullscreen;
-        case FLIP_HORIZONTAL   ->  this.flipHorizontal;
-        case FLIP_VERTICAL     ->  this.flipVertical;
-        case PASSTHROUGH       ->  this.passthrough;
-        case LOADING           ->  this.loading;
-        case READY             ->  this.ready;
-        case RESIZING          ->  this.resizing;
-        case SAVING_MEDIA      ->  this.savingMedia;
-        case CLOSING_MEDIA     ->  this.closingMedia;
-        case MANUALLY_PAUSED   ->  this.manuallyPaused;
-        case MANUALLY_STOPPED  ->  this.manuallyStopped;
-        case LOCALLY_MUTED     ->  this.locallyMuted;
-        case CRASHED           ->  this.crashed;
-        case CLOSING           ->  this.closing;
-        case CLOSED            ->  this.closed;
-        case LOCKED_SIZE       ->  this.lockedSize;
-        case LOCKED_POSITION   ->  this.lockedPosition;
-        case LOCKED_MEDIA      ->  this.lockedMedia;
-        case LOCKED_FULLSCREEN ->  this.lockedFullscreen;
-        };
+        return isPlayer(prop) ? player.get() == prop : (flags.get() & bit(prop)) != 0;
     }
     
     /**
-     * Checks if the passed StateProp(s) are <b>all</b> on/enabled/true.
+     * Checks if the passed StateProp(s) are <b>all</b> on/enabled/true. The
+     * non-player StateProps are read at once, so they are checked against the same
+     * state.
      * 
      * @param props - one or more StateProps to check.
      * @return <code>true</code> if all properties are on; <code>false</code> otherwise.
      */
     public boolean is(StateProp... props) {
+        final long current = flags.get();
         for (final StateProp prop : props) {
-            if (not(prop))
+            if (!(isPlayer(prop) ? player.get() == prop : (current & bit(prop)) != 0))
                 return false;
         }
         return true;
     }
     
     /**
-     * Checks if <b>any</b> of the passed StateProp(s) are on/enabled/true.
+     * Checks if <b>any</b> of the passed StateProp(s) are on/enabled/true. The
+     * non-player StateProps are read at once, so they are checked against the same
+     * state.
      * 
      * @param props - one or more StateProps to check.
      * @return <code>true</code> if any properties are on; <code>false</code> otherwise.
      */
     public boolean any(StateProp... props) {
+        final long current = flags.get();
         for (final StateProp prop : props) {
-            if (is(prop))
+            if (isPlayer(prop) ? player.get() == prop : (current & bit(prop)) != 0)
                 return true;
         }
         return false;
@@ -567,26 +495,19 @@ public class PiPWindowState {
      * @return <code>true</code> if all properties are off; <code>false</code> otherwise.
      */
     public boolean not(StateProp... props) {
-        for (final StateProp prop : props) {
-            if (is(prop))
-                return false;
-        }
-        return true;
+        return !any(props);
     }
     
     /**
      * Gets the current, raw value of the passed StateProp. Since the type of this
      * raw value differs by StateProp, the return type of this method is
-     * {@link Object}.
+     * {@link Object}. The player StateProps return the current player StateProp.
      * 
      * @param prop - the StateProp to retrieve the raw value of.
      * @return an Object with the raw value.
      */
     public Object get(StateProp prop) {
-        return switch(prop) {
-        case PLAYER_NONE, PLAYER_VLC, PLAYER_SWING, PLAYER_COMBO -> this.player;
-        default                                                  -> is(prop);
-        };
+        return isPlayer(prop) ? player.get() : is(prop);
     }
     
     /**
@@ -607,6 +528,102 @@ public class PiPWindowState {
         return this;
     }
     
+    /**
+     * Checks if the passed StateProp is one of the player StateProps, which are
+     * stored together rather than as bits.
+     * 
+     * @param prop - the StateProp to check.
+     * @return <code>true</code> if it is a player StateProp; <code>false</code>
+     *         otherwise.
+     * @since 0.9.5
+     */
+    private static boolean isPlayer(StateProp prop) {
+        return switch (prop) {
+        case PLAYER_NONE, PLAYER_VLC, PLAYER_SWING, PLAYER_COMBO -> true;
+        default -> false;
+        };
+    }
+    
+    /**
+     * Gets the bit of the passed StateProp within the {@link #flags} bitset.
+     * 
+     * @param prop - the StateProp.
+     * @return a long with only the StateProp's bit set.
+     * @since 0.9.5
+     */
+    private static long bit(StateProp prop) {
+        return 1L << prop.ordinal();
+    }
+    
+    /**
+     * Gets the bit mask with the bit of each passed StateProp set.
+     * 
+     * @param props - the StateProps.
+     * @return a long with the bit mask.
+     * @since 0.9.5
+     */
+    private static long mask(StateProp... props) {
+        long mask = 0;
+        for (final StateProp prop : props) mask |= bit(prop);
+        return mask;
+    }
+    
+    /**
+     * Gets the hooks into the passed {@link StateProp} with the passed boolean
+     * value.
+     * 
+     * @param prop - the {@link StateProp}.
+     * @param val  - the corresponding boolean value of the {@link StateProp}'s
+     *             hooks.
+     * @return the List of hooks.
+     * @since 0.9.5
+     */
+    private List<Runnable> hooks(final StateProp prop, final boolean val) {
+        return (val ? hooksOn : hooksOff).get(prop);
+    }
+    
+    /**
+     * Queues the hooks into the passed {@link StateProp} with the passed boolean
+     * value to be run. Nothing is queued if there are no such hooks, which is the
+     * case for most changes.
+     * <p>
+     * The queued dispatches are run one at a time, in order, off of the calling
+     * thread. If no thread is running them, one is taken from the
+     * {@link #HOOK_EXECUTOR} to do so.
+     * 
+     * @param prop - the {@link StateProp} that should have its hooks run.
+     * @param val  - the corresponding boolean value of the {@link StateProp}'s
+     *             hooks.
+     * @since 0.9.5
+     */
+    private void dispatchHooks(final StateProp prop, final boolean val) {
+        if (destroyed || hooks(prop, val).isEmpty()) return;
+        
+        dispatches.add(() -> runHooks(prop, val));
+        if (dispatching.compareAndSet(false, true)) CompletableFuture.runAsync(this::drainDispatches, HOOK_EXECUTOR);
+    }
+    
+    /**
+     * Runs the queued hook dispatches in order until none remain.
+     * 
+     * @since 0.9.5
+     */
+    private void drainDispatches() {
+        do {
+            Runnable dispatch;
+            while ((dispatch = dispatches.poll()) != null) {
+                try {
+                    dispatch.run();
+                } catch (RuntimeException e) {
+                    // A failed hook must not prevent the hooks queued after it from running.
+                    System.err.println("A window state hook failed: " + e);
+                }
+            }
+            dispatching.set(false);
+            // Another dispatch may have been queued after polling, but before the flag was cleared.
+        } while (!dispatches.isEmpty() && dispatching.compareAndSet(false, true));
+    }
+    
     /**
      * Runs any and all hooks into the passed {@link StateProp} with the passed
      * boolean value.
@@ -619,20 +636,15 @@ public class PiPWindowState {
         // Return early if hooks are destroyed and cannot be modified.
         if (destroyedHooks()) return;
         
-        final ArrayList<Runnable> runs = this.hooks.get(prop).get(Boolean.valueOf(val));
-        if (runs.size() > 0) {
-            final Iterator<Runnable> runsIter = runs.iterator();
-            while (runsIter.hasNext()) {
-                final Runnable run = runsIter.next();
-                run.run();
-                
-                // RecurringRunnable instances are not removed after running.
-                if (!(run instanceof RecurringRunnable))
-                    runsIter.remove();
-            }
+        final List<Runnable> runs = hooks(prop, val);
+        for (final Runnable run : runs) {
+            // RecurringRunnable instances are not removed after running.
+            // Others are removed first, so a hook unhooked or run elsewhere meanwhile does not run again.
+            if (run instanceof RecurringRunnable) run.run();
+            else if (runs.remove(run)) run.run();
         }
     }
-
+    
     /**
      * Creates a hook into the window state which executes the passed Runnable when
      * the passed {@link StateProp} is set to be equal to the passed boolean.
@@ -656,7 +668,7 @@ public class PiPWindowState {
         // Return null if hooks are destroyed and cannot be modified.
         if (destroyedHooks()) return null;
         
-        this.hooks.get(prop).get(Boolean.valueOf(val)).add(run);
+        hooks(prop, val).add(run);
         return createHook(prop, val, run);
     }
     
@@ -700,7 +712,7 @@ public class PiPWindowState {
      */
     public boolean hooked(final PiPWindowHook hook) {
         if (!hookValid(hook) || destroyedHooks()) return false;
-        return this.hooks.get(hook.prop()).get(hook.value()).contains(hook.run());
+        return hooks(hook.prop(), hook.value()).contains(hook.run());
     }
     
     /**
@@ -727,7 +739,7 @@ public class PiPWindowState {
         
         // Don't unhook if permanent.
         if (hook.run() instanceof PermanentRunnable) return false;
-        return this.hooks.get(hook.prop()).get(hook.value()).remove(hook.run());
+        return hooks(hook.prop(), hook.value()).remove(hook.run());
     }
     
     /**
@@ -746,14 +758,11 @@ public class PiPWindowState {
      * @see {@link #unhook(PiPWindowHook)} to only unhook the first found instance of the passed hook.
      */
     public boolean unhookEvery(final PiPWindowHook hook) {
-        if (!hookValid(hook)) return false;
+        if (!hookValid(hook) || destroyedHooks()) return false;
         
-        // Continue unhooking so long as there exists an instance of the passed hook.
-        boolean removedAny = false;
-        while (hooked(hook)) {
-            if (unhook(hook)) removedAny = true;
-        }
-        return removedAny;  // Return true if anything was unhooked.
+        // Don't unhook if permanent.
+        if (hook.run() instanceof PermanentRunnable) return false;
+        return hooks(hook.prop(), hook.value()).removeIf(run -> run.equals(hook.run()));
     }
     
     /**
@@ -789,10 +798,8 @@ public class PiPWindowState {
         // Return early if hooks are destroyed and cannot be modified.
         if (destroyedHooks()) return;
         
-        // Save all permanent hooks before clearing, then add them back afterwards -- permanent hooks are not to be removed.
-        final List<Runnable> permanentHooks = this.hooks.get(prop).get(Boolean.valueOf(val)).stream().filter((r) -> r instanceof PermanentRunnable).toList();
-        this.hooks.get(prop).get(Boolean.valueOf(val)).clear();
-        this.hooks.get(prop).get(Boolean.valueOf(val)).addAll(permanentHooks);
+        // Permanent hooks are not to be removed.
+        hooks(prop, val).removeIf(run -> !(run instanceof PermanentRunnable));
     }
     
     /**
@@ -820,7 +827,7 @@ public class PiPWindowState {
     public PiPWindowHook createHook(final StateProp prop, final boolean val, final Runnable run) {
         return new PiPWindowHook(prop, val, run);
     }
-
+    
     /**
      * Checks if the passed {@link PiPWindowHook} is valid.
      * <p>
@@ -854,14 +861,15 @@ public class PiPWindowState {
         // Return early if hooks are already destroyed.
         if (destroyedHooks()) return;
         
-        unhookAll();
-        this.hooks.clear();
-        this.hooks = null;
+        this.destroyed = true;
+        hooksOn.values().forEach(List::clear);
+        hooksOff.values().forEach(List::clear);
+        dispatches.clear();
     }
-
+    
     /**
      * Checks if the hooks within this PiPWindowState instance have been destroyed,
-     * meaning they have been cleared and, most importantly, nullified.
+     * meaning they have been cleared and can no longer be used.
      * <p>
      * This method is public, but is also used privately to ensure that new
      * {@link #hook(StateProp, boolean, Runnable)} operations only execute if not
@@ -872,9 +880,7 @@ public class PiPWindowState {
      * @since 0.9.5
      */
     public boolean destroyedHooks() {
-        // Hooks map should not be used if null or empty.
-        // If empty, calls to get the sub-maps may throw exceptions.
-        return this.hooks == null || this.hooks.isEmpty();
+        return this.destroyed;
     }
     
     @Override
@@ -889,12 +895,13 @@ public class PiPWindowState {
         
         // Add hook information.
         state.append("\n>> Hooks on:");
-        hooks.forEach((prop, map) -> {
-            map.forEach((bool, list) -> {
-                if (list.size() > 0)
-                    state.append("\n").append(list.size()).append(" hook(s) into ").append(prop).append("<").append(bool).append(">");
-            });
-        });
+        for (final StateProp prop : StateProp.values()) {
+            for (final boolean bool : new boolean[] { false, true }) {
+                final int size = hooks(prop, bool).size();
+                if (size > 0)
+                    state.append("\n").append(size).append(" hook(s) into ").append(prop).append("<").append(bool).append(">");
+            }
+        }
         
         return state.toString();
     }
@@ -0,0 +1,118 @@
+package dev.mwhitney.gui.decor;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.swing.Timer;
+
+import dev.mwhitney.util.PiPAAUtils;
+
+/**
+ * A single, app-wide clock which drives every running {@link Animation} on the
+ * EDT. The clock ticks at the refresh rate of the default display, so
+ * animations never update more often than can be seen, and all of them update
+ * together during the same tick rather than each relying on its own timer.
+ * <p>
+ * The clock only runs while there are animations, stopping itself once the
+ * last one finishes.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class AnimationClock {
+    /**
+     * An animation which is advanced by the {@link AnimationClock} on each tick.
+     *
+     * @author mwhitney57
+     * @since 0.9.5
+     */
+    @FunctionalInterface
+    public interface Animation {
+        /**
+         * Advances this animation to the passed time. This method is always
+         * called on the EDT.
+         *
+         * @param now - a long with the current time, in nanoseconds, as given by
+         *            {@link System#nanoTime()}.
+         * @return <code>true</code> if the animation should keep running;
+         *         <code>false</code> if it is finished.
+         */
+        public boolean tick(long now);
+    }
+    
+    /** The refresh rate, in Hertz, used when the display's refresh rate is unknown. */
+    private static final int FALLBACK_REFRESH_RATE = 60;
+    /** The delay, in milliseconds, between each tick of the clock. */
+    public static final int FRAME_DELAY = frameDelay();
+    /** The running animations, in the order they were started. Only accessed on the EDT. */
+    private static final Set<Animation> animations = new LinkedHashSet<>();
+    /** The Swing {@link Timer} which ticks the clock on the EDT. */
+    private static final Timer timer = new Timer(FRAME_DELAY, e -> tick());
+    
+    /** Private constructor, as this class only contains static members. */
+    private AnimationClock() {}
+    
+    /**
+     * Starts running the passed animation, starting the clock if necessary.
+     * Nothing happens if the animation is already running.
+     *
+     * @param animation - the {@link Animation} to run.
+     */
+    public static void start(Animation animation) {
+        if (animation == null) return;
+        PiPAAUtils.invokeNowOrLater(() -> {
+            animations.add(animation);
+            if (!timer.isRunning()) timer.start();
+        });
+    }
+    
+    /**
+     * Stops running the passed animation, stopping the clock if no others are
+     * running.
+     *
+     * @param animation - the {@link Animation} to stop.
+     */
+    public static void stop(Animation animation) {
+        if (animation == null) return;
+        PiPAAUtils.invokeNowOrLater(() -> {
+            animations.remove(animation);
+            if (animations.isEmpty()) timer.stop();
+        });
+    }
+    
+    /**
+     * Ticks the clock, advancing each running animation to the same time and
+     * removing those which finish.
+     */
+    private static void tick() {
+        final long now = System.nanoTime();
+        // Iterate over a copy, since animations may start or stop others while ticking.
+        for (final Animation animation : animations.toArray(new Animation[0])) {
+            boolean running = false;
+            try {
+                running = animation.tick(now);
+            } catch (RuntimeException e) {
+                System.err.println("<!> Animation failed and was stopped: " + e.getMessage());
+            }
+            if (!running) animations.remove(animation);
+        }
+        if (animations.isEmpty()) timer.stop();
+    }
+    
+    /**
+     * Calculates the delay between ticks from the refresh rate of the default
+     * display, falling back to {@link #FALLBACK_REFRESH_RATE} if it is unknown.
+     *
+     * @return an int with the delay, in milliseconds.
+     */
+    private static int frameDelay() {
+        int rate = FALLBACK_REFRESH_RATE;
+        if (!GraphicsEnvironment.isHeadless()) {
+            final int displayRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            if (displayRate != DisplayMode.REFRESH_RATE_UNKNOWN && displayRate > 0) rate = displayRate;
+        }
+        return Math.max(1, Math.round(1000f / rate));
+    }
+}
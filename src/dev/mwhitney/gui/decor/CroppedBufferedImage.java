@@ -1,7 +1,8 @@
 package dev.mwhitney.gui.decor;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A wrapper for the {@link BufferedImage} class which allows for easy cropping,
@@ -14,6 +15,8 @@ public class CroppedBufferedImage {
     private BufferedImage img;
     /** The crop amounts for each side, measured in pixels. */
     private int cropL, cropR, cropT, cropB;
+    /** The minimum amount of pixels an image must have for {@link #determineCrop(int)} to scan its edges in parallel. */
+    private static final long PARALLEL_THRESHOLD = 2_000_000L;
     
     /**
      * Creates a CroppedBufferedImage using the passed {@link BufferedImage}.
@@ -48,45 +51,249 @@ public class CroppedBufferedImage {
      *                          be considered "transparent."
      */
     public void determineCrop(final int transparencyLimit) {
+        determineCrop(transparencyLimit, imgValid() && (long) img.getWidth() * img.getHeight() >= PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * Determines the image's crop amounts on each side, using the passed
+     * transparency limit int, optionally scanning the four edges in parallel. See
+     * {@link #determineCrop(int)} for full documentation.
+     * <p>
+     * Scanning operates directly on the image's alpha samples, one row or column
+     * at a time, and stops at the first row or column on each side which contains
+     * a pixel above the transparency limit. Parallel scanning is typically only
+     * beneficial for large images, which {@link #determineCrop(int)} decides
+     * automatically.
+     * 
+     * @param transparencyLimit - an int with the maximum alpha value for a pixel to
+     *                          be considered "transparent."
+     * @param parallel          - a boolean for whether or not to scan the four
+     *                          edges in parallel.
+     * @since 0.9.5
+     */
+    public void determineCrop(final int transparencyLimit, final boolean parallel) {
         if (!imgValid()) return;
-
-        // Trims all transparency on edges surrounding content of image.
-        final int width = img.getWidth(), height = img.getHeight();
-
-        boolean hasLeft = true, hasRight = true, hasTop = true, hasBottom = true;
-        // LEFT
-        for (int x = 0; x < width      && hasLeft; x++) {
-            for (int y = 0; y < height && hasLeft; y++) {
-//                System.out.println("Checking pixel: (" + x + ", " + y + ")");
-                if (new Color(img.getRGB(x, y), true).getAlpha() > transparencyLimit) hasLeft = false;
-            }
-            if (hasLeft) cropL++;
+        
+        // Without an alpha channel, every pixel is fully opaque, so only a limit that includes opaque pixels can crop.
+        if (!this.img.getColorModel().hasAlpha() && transparencyLimit < 255) {
+            setCrop(0, 0, 0, 0);
+            return;
         }
-        // TOP
-        for (int y = 0; y < height    && hasTop; y++) {
-            for (int x = 0; x < width && hasTop; x++) {
-//                System.out.println("Checking pixel: (" + x + ", " + y + ")");
-                if (new Color(img.getRGB(x, y), true).getAlpha() > transparencyLimit) hasTop = false;
-            }
-            if (hasTop) cropT++;
+        
+        if (parallel) {
+            final CompletableFuture<Integer> left   = CompletableFuture.supplyAsync(() -> scanColumns(true,  transparencyLimit));
+            final CompletableFuture<Integer> right  = CompletableFuture.supplyAsync(() -> scanColumns(false, transparencyLimit));
+            final CompletableFuture<Integer> top    = CompletableFuture.supplyAsync(() -> scanRows(true,  transparencyLimit));
+            final CompletableFuture<Integer> bottom = CompletableFuture.supplyAsync(() -> scanRows(false, transparencyLimit));
+            setCrop(left.join(), right.join(), top.join(), bottom.join());
+        } else {
+            // A fully transparent image is fully cropped on every side, so the remaining scans can be skipped.
+            final int left = scanColumns(true, transparencyLimit);
+            if (left == this.img.getWidth()) setCrop(left, left, this.img.getHeight(), this.img.getHeight());
+            else setCrop(left, scanColumns(false, transparencyLimit), scanRows(true, transparencyLimit), scanRows(false, transparencyLimit));
         }
-        // RIGHT
-        for (int x = width - 1; x >= 0 && hasRight; x--) {
-            for (int y = 0; y < height && hasRight; y++) {
-//                System.out.println("Checking pixel: (" + x + ", " + y + ")");
-                if (new Color(img.getRGB(x, y), true).getAlpha() > transparencyLimit) hasRight = false;
-            }
-            if (hasRight) cropR++;
+        System.out.println("Finished determining crop for frame. " + cropL + "/" + cropT + "/" + cropR + "/" + cropB);
+    }
+    
+    /**
+     * Determines the image's crop amounts on each side the way ImageMagick's
+     * <code>-trim</code> does with the passed <code>-fuzz</code> amount. Each edge
+     * is trimmed while its pixels are within the fuzz distance of a corner pixel:
+     * the top-left corner for the left and top edges, the top-right corner for
+     * the right edge, and the bottom-left corner for the bottom edge.
+     * <p>
+     * The distance is measured like ImageMagick measures it. The alpha difference
+     * is checked first, then the color differences are added, weighted by the
+     * alpha of both pixels. As such, two nearly transparent pixels are similar
+     * regardless of their color, while an opaque, uniform border is trimmed just
+     * like a transparent one.
+     * <p>
+     * The new crop amounts are stored internally, just like with
+     * {@link #determineCrop(int)}. This method does nothing if the internal image
+     * is <code>null</code> or this CroppedBufferedImage has been flushed via
+     * {@link #flush()}.
+     * 
+     * @param fuzz - a double with the fuzz distance, from <code>0.0</code> to
+     *             <code>1.0</code>, where <code>0.04</code> is the same as
+     *             ImageMagick's <code>-fuzz 4%</code>.
+     * @since 0.9.5
+     */
+    public void determineFuzzyCrop(final double fuzz) {
+        if (!imgValid()) return;
+        
+        final int width = this.img.getWidth(), height = this.img.getHeight();
+        final double fuzzSq = fuzz * fuzz;
+        final int topLeft = this.img.getRGB(0, 0), topRight = this.img.getRGB(width - 1, 0), bottomLeft = this.img.getRGB(0, height - 1);
+        final int left = fuzzyColumns(true, topLeft, fuzzSq);
+        // A uniform image is fully cropped on every side, so the remaining scans can be skipped.
+        if (left == width) setCrop(left, left, height, height);
+        else setCrop(left, fuzzyColumns(false, topRight, fuzzSq), fuzzyRows(true, topLeft, fuzzSq), fuzzyRows(false, bottomLeft, fuzzSq));
+        System.out.println("Finished determining fuzzy crop for frame. " + cropL + "/" + cropT + "/" + cropR + "/" + cropB);
+    }
+    
+    /**
+     * Counts the consecutive columns from the left or right edge of the image
+     * whose pixels are all similar to the passed target pixel.
+     * 
+     * @param fromLeft - a boolean for whether to start from the left edge
+     *                 (<code>true</code>) or right edge (<code>false</code>).
+     * @param target   - an int with the ARGB target pixel.
+     * @param fuzzSq   - a double with the squared fuzz distance.
+     * @return an int with the amount of similar columns.
+     * @since 0.9.5
+     */
+    private int fuzzyColumns(final boolean fromLeft, final int target, final double fuzzSq) {
+        final int width = this.img.getWidth(), height = this.img.getHeight();
+        final int[] line = new int[height];
+        int count = 0;
+        for (int i = 0; i < width; i++) {
+            if (!similar(this.img.getRGB(fromLeft ? i : width - 1 - i, 0, 1, height, line, 0, 1), target, fuzzSq)) break;
+            count++;
         }
-        // BOTTOM
-        for (int y = height - 1; y >= 0 && hasBottom; y--) {
-            for (int x = 0; x < width   && hasBottom; x++) {
-//                System.out.println("Checking pixel: (" + x + ", " + y + ")");
-                if (new Color(img.getRGB(x, y), true).getAlpha() > transparencyLimit) hasBottom = false;
+        return count;
+    }
+    
+    /**
+     * Counts the consecutive rows from the top or bottom edge of the image whose
+     * pixels are all similar to the passed target pixel.
+     * 
+     * @param fromTop - a boolean for whether to start from the top edge
+     *                (<code>true</code>) or bottom edge (<code>false</code>).
+     * @param target  - an int with the ARGB target pixel.
+     * @param fuzzSq  - a double with the squared fuzz distance.
+     * @return an int with the amount of similar rows.
+     * @since 0.9.5
+     */
+    private int fuzzyRows(final boolean fromTop, final int target, final double fuzzSq) {
+        final int width = this.img.getWidth(), height = this.img.getHeight();
+        final int[] line = new int[width];
+        int count = 0;
+        for (int i = 0; i < height; i++) {
+            if (!similar(this.img.getRGB(0, fromTop ? i : height - 1 - i, width, 1, line, 0, width), target, fuzzSq)) break;
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Checks if every ARGB pixel in the passed array is within the fuzz distance
+     * of the passed target pixel, measured as described in
+     * {@link #determineFuzzyCrop(double)}.
+     * 
+     * @param pixels - an int array with the ARGB pixels to check.
+     * @param target - an int with the ARGB target pixel.
+     * @param fuzzSq - a double with the squared fuzz distance.
+     * @return <code>true</code> if all pixels are similar; <code>false</code>
+     *         otherwise.
+     * @since 0.9.5
+     */
+    private static boolean similar(final int[] pixels, final int target, final double fuzzSq) {
+        final double targetAlpha = (target >>> 24) / 255.0;
+        for (final int pixel : pixels) {
+            if (pixel == target) continue;
+            
+            final double alpha = (pixel >>> 24) / 255.0;
+            double distance = (alpha - targetAlpha) * (alpha - targetAlpha);
+            if (distance > fuzzSq) return false;
+            
+            final double scale = alpha * targetAlpha;
+            for (int shift = 0; shift <= 16 && distance <= fuzzSq; shift += 8) {
+                final double diff = (((pixel >> shift) & 0xFF) - ((target >> shift) & 0xFF)) / 255.0;
+                distance += scale * diff * diff;
             }
-            if (hasBottom) cropB++;
+            if (distance > fuzzSq) return false;
         }
-        System.out.println("Finished determining crop for frame. " + cropL + "/" + cropT + "/" + cropR + "/" + cropB);
+        return true;
+    }
+    
+    /**
+     * Counts the consecutive, fully transparent columns from the left or right
+     * edge of the image, stopping at the first column with a pixel above the
+     * transparency limit.
+     * 
+     * @param fromLeft          - a boolean for whether to start from the left edge
+     *                          (<code>true</code>) or right edge
+     *                          (<code>false</code>).
+     * @param transparencyLimit - an int with the maximum alpha value for a pixel to
+     *                          be considered "transparent."
+     * @return an int with the amount of transparent columns.
+     * @since 0.9.5
+     */
+    private int scanColumns(final boolean fromLeft, final int transparencyLimit) {
+        final int width = this.img.getWidth(), height = this.img.getHeight();
+        final int[] line = new int[height];
+        int count = 0;
+        for (int i = 0; i < width; i++) {
+            if (!transparent(alphas(fromLeft ? i : width - 1 - i, 0, 1, height, line), transparencyLimit)) break;
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Counts the consecutive, fully transparent rows from the top or bottom edge of
+     * the image, stopping at the first row with a pixel above the transparency
+     * limit.
+     * 
+     * @param fromTop           - a boolean for whether to start from the top edge
+     *                          (<code>true</code>) or bottom edge
+     *                          (<code>false</code>).
+     * @param transparencyLimit - an int with the maximum alpha value for a pixel to
+     *                          be considered "transparent."
+     * @return an int with the amount of transparent rows.
+     * @since 0.9.5
+     */
+    private int scanRows(final boolean fromTop, final int transparencyLimit) {
+        final int width = this.img.getWidth(), height = this.img.getHeight();
+        final int[] line = new int[width];
+        int count = 0;
+        for (int i = 0; i < height; i++) {
+            if (!transparent(alphas(0, fromTop ? i : height - 1 - i, width, 1, line), transparencyLimit)) break;
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Checks if every alpha value in the passed array is within the transparency
+     * limit.
+     * 
+     * @param alphas            - an int array with the alpha values to check.
+     * @param transparencyLimit - an int with the maximum alpha value for a pixel to
+     *                          be considered "transparent."
+     * @return <code>true</code> if all values are transparent; <code>false</code>
+     *         otherwise.
+     * @since 0.9.5
+     */
+    private static boolean transparent(final int[] alphas, final int transparencyLimit) {
+        for (final int alpha : alphas) {
+            if (alpha > transparencyLimit) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Reads the alpha values, from <code>0-255</code>, of a single row or column of
+     * pixels into the passed array. The values are read straight from the image's
+     * alpha raster when it has 8-bit alpha samples. Otherwise, such as with indexed
+     * or 16-bit images, the values are extracted from bulk-read ARGB pixels.
+     * 
+     * @param x      - the x coordinate of the first pixel.
+     * @param y      - the y coordinate of the first pixel.
+     * @param w      - the width of the area to read.
+     * @param h      - the height of the area to read.
+     * @param buffer - an int array, of length <code>w * h</code>, to read into.
+     * @return the passed int array, now containing the alpha values.
+     * @since 0.9.5
+     */
+    private int[] alphas(final int x, final int y, final int w, final int h, final int[] buffer) {
+        final WritableRaster alpha = this.img.getAlphaRaster();
+        if (alpha != null && alpha.getSampleModel().getSampleSize(0) == 8)
+            return alpha.getSamples(x, y, w, h, 0, buffer);
+        
+        this.img.getRGB(x, y, w, h, buffer, 0, w);
+        for (int i = 0; i < buffer.length; i++) buffer[i] >>>= 24;
+        return buffer;
     }
     
     /**
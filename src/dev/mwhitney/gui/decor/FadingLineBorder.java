@@ -4,13 +4,14 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
-import java.awt.event.ActionEvent;
 import java.util.Objects;
 
-import javax.swing.Timer;
+import javax.swing.JComponent;
 import javax.swing.border.LineBorder;
 
+import dev.mwhitney.gui.decor.AnimationClock.Animation;
 import dev.mwhitney.gui.interfaces.AdaptiveOpacity;
 import dev.mwhitney.listeners.PaintRequester;
 import dev.mwhitney.resources.AppRes;
@@ -29,8 +30,17 @@ public class FadingLineBorder extends LineBorder implements PaintRequester, Adap
     /** The default {@link Color} for the line border. */
     private static final Color COLOR_DEFAULT = new Color(255, 0, 0, 200);
     
-    /** The repeating {@link javax.swing.Timer} used for the border fading process which stops once the border has faded. */
-    private final Timer fadeTimer = new Timer(10, this::handleFadeTimerEvent);
+    /** The amount of alpha the border loses per millisecond while fading. */
+    private static final float FADE_RATE = 0.2f;
+    
+    /** The fading process, driven by the {@link AnimationClock}, which stops once the border has faded. */
+    private final transient Animation fadeAnimation = this::tickFade;
+    /** The precomputed colors of the fade, from the starting color down to the faded alpha value. Reused while the start and end stay the same. */
+    private transient Color[] fadeRamp;
+    /** The time, in nanoseconds, at which the current fade started. */
+    private long fadeStart;
+    /** Whether or not the border is currently fading. */
+    private volatile boolean fading;
     /** The {@link Color} when the border is completely normal and not faded. */
     private final Color colorNormal;
     /**
@@ -113,28 +123,70 @@ public class FadingLineBorder extends LineBorder implements PaintRequester, Adap
     }
     
     /**
-     * Handles an event firing from the Swing {@link #fadeTimer}. Each call of this
-     * method works to fade the border further, until its alpha value is
-     * sufficiently low. At that point, the border is fully faded and transparent,
-     * so the timer will be stopped.
+     * Requests a single repaint of the area of the passed component which is
+     * covered by this border. The request is coalesced by the
+     * {@link javax.swing.RepaintManager} with any others made before the next
+     * paint, so a fade tick never paints synchronously. Painting the strips along
+     * each edge immediately was avoided, as every such call on a translucent
+     * window repaints its hierarchy back to the opaque ancestor.
      * 
-     * @param e - the {@link ActionEvent} supplied by the timer.
+     * @param c - the {@link JComponent} with this border.
+     * @since 0.9.5
+     */
+    public void repaintBorder(JComponent c) {
+        final int w = c.getWidth(), h = c.getHeight();
+        if (w <= 0 || h <= 0) return;
+        
+        c.repaint(new Rectangle(0, 0, w, h));
+    }
+    
+    /**
+     * Advances the fading process to the passed time, using the precomputed
+     * {@link #fadeRamp}. A paint is only requested when the color changes. Once
+     * the end of the ramp is reached, the border is fully faded, so the process
+     * stops.
+     * 
+     * @param now - a long with the current time, in nanoseconds.
+     * @return <code>true</code> if the border is still fading;
+     *         <code>false</code> otherwise.
      */
-    private void handleFadeTimerEvent(ActionEvent e) {
-        // Apply Default Color if null
-        if (this.lineColor == null)
-            this.lineColor = COLOR_DEFAULT;
-        // Stop Timer if Alpha has Reached Faded Value
-        if (isFaded()) {
-            fadeTimer.stop();
+    private boolean tickFade(long now) {
+        final Color[] ramp = this.fadeRamp;
+        if (!fading || ramp == null) return false;
+        
+        // Stop once the ramp reaches the faded value.
+        final int step = (int) ((now - fadeStart) / 1_000_000f * FADE_RATE);
+        if (step >= ramp.length - 1) {
+            fading = false;
             refreshFadedLineColor();
-            return;
+            return false;
+        }
+        
+        if (this.lineColor != ramp[step]) {
+            this.lineColor = ramp[step];
+            requestPaint();
         }
+        return true;
+    }
+    
+    /**
+     * Gets the colors of a fade from the passed {@link Color}, one for each alpha
+     * value down to the faded alpha value. The previous ramp is reused if it has
+     * the same start and end.
+     * 
+     * @param c - the {@link Color} to start the fade with.
+     * @return an array of each {@link Color} in the fade, in order.
+     */
+    private Color[] rampFrom(Color c) {
+        final int floor = fullTransparency ? 0 : PiPAAUtils.getMinimumInteractableAlpha(windowOpacity);
+        final Color[] ramp = this.fadeRamp;
+        if (ramp != null && ramp[0].equals(c) && ramp[ramp.length - 1].getAlpha() == Math.min(floor, c.getAlpha())) return ramp;
         
-        // Adjust the border line color's transparency value and request a repaint.
-        final int r = lineColor.getRed(), g = lineColor.getGreen(), b = lineColor.getBlue(), a = lineColor.getAlpha();
-        this.lineColor = new Color(r, g, b, Math.max(fullTransparency ? 0 : PiPAAUtils.getMinimumInteractableAlpha(windowOpacity), a - 2));
-        requestPaint();
+        final Color[] next = new Color[Math.max(1, c.getAlpha() - floor + 1)];
+        next[0] = c;
+        for (int i = 1; i < next.length; i++)
+            next[i] = new Color(c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha() - i);
+        return next;
     }
     
     /**
@@ -170,7 +222,10 @@ public class FadingLineBorder extends LineBorder implements PaintRequester, Adap
      */
     public void fade(final Color c) {
         this.lineColor = (c != null ? c : colorNormal);
-        fadeTimer.start();
+        this.fadeRamp  = rampFrom(this.lineColor);
+        this.fadeStart = System.nanoTime();
+        this.fading    = true;
+        AnimationClock.start(fadeAnimation);
     }
     
     /**
@@ -194,7 +249,8 @@ public class FadingLineBorder extends LineBorder implements PaintRequester, Adap
      * border to a faded state, restoring its transparency.
      */
     public void cancelFade() {
-        fadeTimer.stop();
+        fading = false;
+        AnimationClock.stop(fadeAnimation);
         
         refreshFadedLineColor();
     }
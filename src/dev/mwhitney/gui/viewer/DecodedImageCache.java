@@ -0,0 +1,319 @@
+package dev.mwhitney.gui.viewer;
+
+import java.awt.Dimension;
+import java.awt.Image;
+import java.awt.Toolkit;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.mwhitney.gui.viewer.ImageDecoder.ImageHeader;
+
+/**
+ * A process-wide cache of decoded images shared between image viewers.
+ * <p>
+ * Images are keyed by their canonical file path and last modified time, so
+ * opening the same unchanged file in several windows only decodes it once.
+ * Each viewer {@link #acquire(String) acquires} the image and must
+ * {@link #release(Image) release} it when finished. Once the last reference is
+ * released, the image is only held softly, allowing a quick reopen while
+ * leaving the garbage collector free to reclaim it under memory pressure.
+ * <p>
+ * Images are decoded outside of the cache's lock, so a slow decode never blocks
+ * other viewers. Concurrent requests for the same image wait on a single
+ * decode instead of repeating it.
+ * <p>
+ * Oversized static images are decoded with source subsampling via
+ * {@link ImageDecoder}, so that they are only as large as the passed target size
+ * requires. The full resolution version can be acquired separately when needed,
+ * such as when zooming beyond the subsampled resolution.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class DecodedImageCache {
+    /**
+     * A cache key, consisting of the canonical path and last modified time of
+     * the image file, along with the subsampling factor it was decoded with.
+     *
+     * @param path        - a String with the canonical path of the image file.
+     * @param modified    - a long with the last modified time of the image file.
+     * @param subsampling - an int with the subsampling factor used when decoding.
+     */
+    private record Key(String path, long modified, int subsampling) {}
+    
+    /**
+     * A cache entry, holding the decoded image along with the count of viewers
+     * currently using it.
+     */
+    private static class Entry {
+        /** The decoded image, strongly held while there are active references. */
+        private Image image;
+        /** A soft reference to the decoded image, used while idle. */
+        private SoftReference<Image> idle;
+        /** The full size of the source image, regardless of subsampling. */
+        private final Dimension size;
+        /** The subsampling factor the image was decoded with. */
+        private final int subsampling;
+        /** The amount of viewers currently using the image. */
+        private int refs;
+        
+        /**
+         * Creates a new cache entry.
+         *
+         * @param image       - the decoded {@link Image}.
+         * @param size        - a {@link Dimension} with the full size of the source
+         *                    image, or <code>null</code> if unknown.
+         * @param subsampling - an int with the subsampling factor used when decoding.
+         */
+        private Entry(Image image, Dimension size, int subsampling) {
+            this.image       = image;
+            this.size        = size;
+            this.subsampling = subsampling;
+        }
+        
+        /**
+         * Gets the image held by this entry, whether it is strongly or softly held.
+         *
+         * @return the {@link Image}, or <code>null</code> if it was reclaimed.
+         */
+        private Image get() {
+            return image != null ? image : (idle != null ? idle.get() : null);
+        }
+    }
+    
+    /** The cache entries, mapped by their key. */
+    private static final Map<Key, Entry> ENTRIES = new HashMap<>();
+    /**
+     * The cache entries with active references, mapped by their image, for quick
+     * release lookups. Concurrent, so lookups which only read an entry's final
+     * fields do not need the cache's lock.
+     */
+    private static final Map<Image, Entry> BY_IMAGE = new ConcurrentHashMap<>();
+    /** The decodes in progress, mapped by their key, which concurrent requests for the same image wait on. */
+    private static final Map<Key, CompletableFuture<Image>> DECODING = new HashMap<>();
+    
+    /** Private constructor -- static access only. */
+    private DecodedImageCache() {}
+    
+    /**
+     * Acquires the decoded image at the passed file path, decoding it only if
+     * there is not already a valid cached copy. Every call to this method should
+     * be paired with a call to {@link #release(Image)} once the image is no longer
+     * in use.
+     * <p>
+     * If a target size is passed, a static image larger than it is decoded with
+     * source subsampling, resulting in an image which is at least the target size
+     * in both dimensions. Pass <code>null</code> to acquire the full resolution.
+     *
+     * @param src    - a String with the path to the image file.
+     * @param target - a {@link Dimension} with the largest size the image will be
+     *               displayed at, or <code>null</code> for full resolution.
+     * @return the shared, decoded {@link Image}.
+     * @throws NullPointerException if the passed source is <code>null</code>.
+     */
+    public static Image acquire(final String src, final Dimension target) {
+        Objects.requireNonNull(src, "Cannot acquire image from a null source.");
+        
+        final File file = new File(src);
+        String path;
+        try {
+            path = file.getCanonicalPath();
+        } catch (IOException ioe) {
+            path = file.getAbsolutePath();
+        }
+        
+        // Read the header first, determining if the image can be decoded at a smaller size.
+        final ImageHeader header = ImageDecoder.readHeader(file);
+        final int subsampling = (header == null || header.animatable()) ? 1 : ImageDecoder.subsampling(header.size(), target);
+        final Key key = new Key(path, file.lastModified(), subsampling);
+        
+        // Use the cached image if there is one. Otherwise, wait on the decode in progress, or begin one.
+        final CompletableFuture<Image> decoding;
+        final boolean decoder;
+        synchronized (DecodedImageCache.class) {
+            purgeReclaimed();
+            final Image cached = reference(key);
+            if (cached != null) return cached;
+            
+            final CompletableFuture<Image> pending = DECODING.get(key);
+            decoder  = (pending == null);
+            decoding = decoder ? new CompletableFuture<>() : pending;
+            if (decoder) DECODING.put(key, decoding);
+        }
+        
+        if (decoder) {
+            final Image img;
+            try {
+                img = decode(path, subsampling);
+            } catch (RuntimeException e) {
+                synchronized (DecodedImageCache.class) {
+                    DECODING.remove(key);
+                }
+                decoding.completeExceptionally(e);
+                throw e;
+            }
+            synchronized (DecodedImageCache.class) {
+                DECODING.remove(key);
+                final Entry entry = new Entry(img, header != null ? header.size() : null, subsampling);
+                entry.refs++;
+                ENTRIES.put(key, entry);
+                BY_IMAGE.put(img, entry);
+            }
+            decoding.complete(img);
+            return img;
+        }
+        
+        try {
+            decoding.join();
+        } catch (CompletionException ce) {
+            throw ce.getCause() instanceof RuntimeException re ? re : ce;
+        }
+        synchronized (DecodedImageCache.class) {
+            final Image cached = reference(key);
+            if (cached != null) return cached;
+        }
+        // The decoded image was cleared before it could be referenced, so it must be decoded again.
+        return acquire(src, target);
+    }
+    
+    /**
+     * References the cached image with the passed key, if there is one. An idle
+     * image is strongly held again. Must be called while holding the cache's lock.
+     *
+     * @param key - the {@link Key} of the image.
+     * @return the cached {@link Image}, or <code>null</code> if there is none.
+     */
+    private static Image reference(final Key key) {
+        final Entry entry = ENTRIES.get(key);
+        final Image cached = entry != null ? entry.get() : null;
+        if (cached == null) return null;
+        
+        if (entry.image == null) {
+            entry.image = cached;
+            entry.idle  = null;
+            BY_IMAGE.put(cached, entry);
+        }
+        entry.refs++;
+        return cached;
+    }
+    
+    /**
+     * Releases a reference to the passed image, which should have been
+     * {@link #acquire(String) acquired} from this cache. When the last reference
+     * is released, the image becomes idle and is only softly held. Images which
+     * did not originate from this cache are ignored.
+     *
+     * @param img - the {@link Image} to release.
+     * @return <code>true</code> if the image was from this cache and no longer has
+     *         any references; <code>false</code> otherwise.
+     */
+    public static synchronized boolean release(final Image img) {
+        if (img == null) return false;
+        
+        final Entry entry = BY_IMAGE.get(img);
+        if (entry == null || entry.refs <= 0) return false;
+        if (--entry.refs > 0) return false;
+        
+        // Only hold the image softly from here, so it can be reclaimed under memory pressure.
+        BY_IMAGE.remove(entry.image);
+        entry.idle  = new SoftReference<>(entry.image);
+        entry.image = null;
+        return true;
+    }
+    
+    /**
+     * Checks if the passed image is currently acquired from this cache. Such an
+     * image may be shared with other viewers, so it must be
+     * {@link #release(Image) released} and never flushed directly.
+     *
+     * @param img - the {@link Image} to check.
+     * @return <code>true</code> if the image is in use from this cache;
+     *         <code>false</code> otherwise.
+     */
+    public static boolean isCached(final Image img) {
+        return img != null && BY_IMAGE.containsKey(img);
+    }
+    
+    /**
+     * Gets the full size of the source image for the passed image, which may be
+     * larger than the image itself if it was subsampled.
+     *
+     * @param img - an {@link Image} currently acquired from this cache.
+     * @return a {@link Dimension} with the full size, or <code>null</code> if the
+     *         image is not in use or its size is unknown.
+     */
+    public static Dimension sourceSize(final Image img) {
+        final Entry entry = BY_IMAGE.get(img);
+        return (entry == null || entry.size == null) ? null : new Dimension(entry.size);
+    }
+    
+    /**
+     * Gets the subsampling factor that the passed image was decoded with.
+     *
+     * @param img - an {@link Image} currently acquired from this cache.
+     * @return an int with the subsampling factor, which is <code>1</code> if the
+     *         image is full resolution or not in use.
+     */
+    public static int subsampling(final Image img) {
+        final Entry entry = BY_IMAGE.get(img);
+        return entry == null ? 1 : entry.subsampling;
+    }
+    
+    /**
+     * Flushes and removes all idle images, which are those without any active
+     * references. Images in use are unaffected.
+     */
+    public static synchronized void clearIdle() {
+        final Iterator<Entry> it = ENTRIES.values().iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            if (entry.refs > 0) continue;
+            
+            final Image img = entry.get();
+            if (img != null) img.flush();
+            it.remove();
+        }
+    }
+    
+    /**
+     * Decodes the image at the passed path. Subsampled images are decoded via
+     * {@link ImageDecoder}, while full resolution images are created by the
+     * {@link Toolkit}, which supports animation. If the subsampled decode fails,
+     * the full resolution image is used as a fallback.
+     *
+     * @param path        - a String with the path to the image file.
+     * @param subsampling - an int with the subsampling factor.
+     * @return the decoded {@link Image}.
+     */
+    private static Image decode(final String path, final int subsampling) {
+        if (subsampling > 1) {
+            try {
+                final Image img = ImageDecoder.read(new File(path), subsampling);
+                if (img != null) return img;
+            } catch (IOException ioe) {
+                System.err.println("Subsampled decode failed, falling back to full resolution: " + ioe.getMessage());
+            }
+        }
+        // Not using Toolkit.getImage(), as its internal cache ignores file modifications.
+        return Toolkit.getDefaultToolkit().createImage(path);
+    }
+    
+    /**
+     * Removes all entries whose idle image was reclaimed by the garbage collector.
+     */
+    private static void purgeReclaimed() {
+        final Iterator<Entry> it = ENTRIES.values().iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            if (entry.refs == 0 && entry.get() == null) it.remove();
+        }
+    }
+}
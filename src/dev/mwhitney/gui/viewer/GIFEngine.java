@@ -0,0 +1,496 @@
+package dev.mwhitney.gui.viewer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+
+import dev.mwhitney.main.CFExec;
+
+/**
+ * A playback engine for animated GIFs shown in the Swing image viewer.
+ * <p>
+ * Unlike the animation provided by the {@link java.awt.Toolkit}, this engine
+ * decodes every frame upfront, applying each frame's disposal method, and then
+ * advances through them on a timing thread shared by all engines. This allows
+ * GIFs to be paused, seeked, and played at different rates. Decoded frames are
+ * shared between engines playing the same unchanged file. Like the Toolkit and
+ * web browsers, playback honors the loop count in the GIF's
+ * <code>NETSCAPE2.0</code> extension, stopping on the last frame once every loop
+ * has played.
+ * <p>
+ * Each new frame is passed to the frame listener, along with the engine that
+ * produced it, on the timing thread. The listener should hand off any Swing work
+ * to the EDT.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public class GIFEngine {
+    /**
+     * The decoded, fully composed frames of a GIF, along with their timing.
+     *
+     * @param frames   - a {@link BufferedImage} array with each composed frame.
+     * @param delays   - an int array with the delay of each frame in milliseconds.
+     * @param duration - an int with the total duration of all frames in
+     *                 milliseconds.
+     * @param loops    - an int with the amount of times the frames are played, or
+     *                 <code>0</code> to play them forever.
+     */
+    private record GIFFrames(BufferedImage[] frames, int[] delays, int duration, int loops) {}
+    
+    /**
+     * A key for decoded frames, consisting of the canonical path and last modified
+     * time of the GIF file.
+     *
+     * @param path     - a String with the canonical path of the GIF file.
+     * @param modified - a long with the last modified time of the GIF file.
+     */
+    private record Key(String path, long modified) {}
+    
+    /** The maximum amount of memory, in bytes, that a single GIF's decoded frames may use. Larger GIFs are left to the {@link java.awt.Toolkit}. */
+    private static final long MAX_DECODED_BYTES = 256L * 1024 * 1024;
+    /** The delay, in milliseconds, used for frames which specify no delay or one that is too short, matching common browser behavior. */
+    private static final int DEFAULT_DELAY = 100;
+    /** The minimum rate that playback may be set to. Any rate at or below zero pauses playback instead. */
+    private static final float MIN_RATE = 0.01f;
+    /** The timing thread shared by all engines, which schedules each frame change. */
+    private static final ScheduledExecutorService CLOCK = CFExec.idleScheduler("GIF-Clock");
+    /** The decoded frames of each GIF, weakly held so that they are released once no engine uses them. */
+    private static final Map<Key, WeakReference<GIFFrames>> DECODED = new ConcurrentHashMap<>();
+    
+    /** The decoded frames played by this engine. */
+    private final GIFFrames gif;
+    /** The listener which receives each new frame, along with this engine. */
+    private final BiConsumer<GIFEngine, BufferedImage> listener;
+    /** The index of the current frame. */
+    private int index;
+    /** The amount of loops completed since playback was last started. */
+    private int looped;
+    /** The playback rate, where <code>1.0f</code> is normal speed. */
+    private float rate = 1.0f;
+    /** A boolean for whether or not the engine is playing. */
+    private boolean playing;
+    /** A boolean for whether or not the engine has been closed. */
+    private boolean closed;
+    /** The scheduled change to the next frame, or <code>null</code> if not playing. */
+    private ScheduledFuture<?> next;
+    
+    /**
+     * Creates a new GIFEngine with the passed frames and listener.
+     *
+     * @param gif      - the {@link GIFFrames} to play.
+     * @param listener - the BiConsumer which receives each new frame.
+     */
+    private GIFEngine(final GIFFrames gif, final BiConsumer<GIFEngine, BufferedImage> listener) {
+        this.gif      = gif;
+        this.listener = Objects.requireNonNull(listener, "GIFEngine requires a frame listener.");
+    }
+    
+    /**
+     * Loads the passed GIF file into a new, paused engine. Frames are decoded only
+     * if no other engine is already using them. Decoding does not block other
+     * loads, so two engines loading the same GIF at once may both decode it, but
+     * only the first to finish has its frames shared. This method returns
+     * <code>null</code> whenever the file should be left to the default
+     * {@link java.awt.Toolkit} animation instead, such as when it is not animated,
+     * its decoded frames would be too large, or {@link ImageIO} cannot decode it.
+     *
+     * @param file     - the GIF {@link File} to load.
+     * @param listener - the BiConsumer which receives each new frame.
+     * @return the new GIFEngine, or <code>null</code> if it could not be loaded.
+     */
+    public static GIFEngine load(final File file, final BiConsumer<GIFEngine, BufferedImage> listener) {
+        if (file == null || !file.isFile()) return null;
+        
+        String path;
+        try {
+            path = file.getCanonicalPath();
+        } catch (IOException ioe) {
+            path = file.getAbsolutePath();
+        }
+        final Key key = new Key(path, file.lastModified());
+        
+        DECODED.values().removeIf(ref -> ref.get() == null);
+        final WeakReference<GIFFrames> ref = DECODED.get(key);
+        GIFFrames gif = ref != null ? ref.get() : null;
+        if (gif == null) {
+            try {
+                gif = decode(file);
+            } catch (IOException | RuntimeException e) {
+                // ImageIO's GIF reader fails on some malformed, yet still displayable, files.
+                System.err.println("GIFEngine could not decode GIF, leaving it to default playback: " + e.getMessage());
+                return null;
+            }
+            if (gif == null) return null;
+            
+            // Another engine may have published the same GIF while this one decoded it. If so, share those frames instead.
+            final GIFFrames decoded = gif;
+            final GIFFrames shared = DECODED.compute(key, (k, existing) -> existing != null && existing.get() != null ? existing : new WeakReference<>(decoded)).get();
+            if (shared != null) gif = shared;
+        }
+        return new GIFEngine(gif, listener);
+    }
+    
+    /**
+     * Decodes every frame of the passed GIF file, composing each one onto a canvas
+     * in accordance with the disposal method of the previous frame.
+     *
+     * @param file - the GIF {@link File} to decode.
+     * @return the {@link GIFFrames}, or <code>null</code> if the GIF has less than
+     *         two frames or its decoded frames would be too large.
+     * @throws IOException if an error occurs while reading the file.
+     */
+    private static GIFFrames decode(final File file) throws IOException {
+        try (final ImageInputStream iis = ImageIO.createImageInputStream(file)) {
+            if (iis == null) return null;
+            final Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+            if (!readers.hasNext()) return null;
+            
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, false);
+                final int count = reader.getNumImages(true);
+                if (count < 2) return null;
+                
+                // Determine canvas size from the logical screen, falling back to the first frame's size.
+                int width = reader.getWidth(0), height = reader.getHeight(0);
+                final IIOMetadata streamMeta = reader.getStreamMetadata();
+                if (streamMeta != null) {
+                    final IIOMetadataNode screen = child((IIOMetadataNode) streamMeta.getAsTree("javax_imageio_gif_stream_1.0"), "LogicalScreenDescriptor");
+                    if (screen != null) {
+                        width  = Math.max(width,  intAttr(screen, "logicalScreenWidth",  0));
+                        height = Math.max(height, intAttr(screen, "logicalScreenHeight", 0));
+                    }
+                }
+                final int loops = loops(reader.getImageMetadata(0));
+                if ((long) count * width * height * 4 > MAX_DECODED_BYTES) return null;
+                
+                final BufferedImage[] frames = new BufferedImage[count];
+                final int[] delays = new int[count];
+                int duration = 0;
+                BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                for (int i = 0; i < count; i++) {
+                    final BufferedImage raw = reader.read(i);
+                    final IIOMetadataNode meta = (IIOMetadataNode) reader.getImageMetadata(i).getAsTree("javax_imageio_gif_image_1.0");
+                    final IIOMetadataNode desc = child(meta, "ImageDescriptor");
+                    final IIOMetadataNode ctrl = child(meta, "GraphicControlExtension");
+                    final int x = desc != null ? intAttr(desc, "imageLeftPosition", 0) : 0;
+                    final int y = desc != null ? intAttr(desc, "imageTopPosition",  0) : 0;
+                    final String disposal = ctrl != null ? ctrl.getAttribute("disposalMethod") : "none";
+                    final int delay = ctrl != null ? intAttr(ctrl, "delayTime", 0) * 10 : 0;
+                    
+                    // Save the canvas before drawing if it must be restored after this frame.
+                    final BufferedImage previous = disposal.equals("restoreToPrevious") ? copy(canvas) : null;
+                    final Graphics2D g = canvas.createGraphics();
+                    g.drawImage(raw, x, y, null);
+                    frames[i] = copy(canvas);
+                    delays[i] = delay <= 10 ? DEFAULT_DELAY : delay;
+                    duration += delays[i];
+                    
+                    // Dispose of this frame before the next is drawn.
+                    if (disposal.equals("restoreToBackgroundColor")) {
+                        g.setComposite(AlphaComposite.Clear);
+                        g.fillRect(x, y, raw.getWidth(), raw.getHeight());
+                    } else if (previous != null) {
+                        canvas = previous;
+                    }
+                    g.dispose();
+                    raw.flush();
+                }
+                return new GIFFrames(frames, delays, duration, loops);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    /**
+     * Reads the amount of times a GIF should be played from the
+     * <code>NETSCAPE2.0</code> application extension in the passed metadata of its
+     * first frame. The extension stores how many times to repeat after the first
+     * play, where <code>0</code> repeats forever. GIFs without the extension are
+     * played once.
+     *
+     * @param firstMeta - the {@link IIOMetadata} of the GIF's first frame.
+     * @return an int with the amount of times to play the GIF, or <code>0</code>
+     *         to play it forever.
+     */
+    private static int loops(final IIOMetadata firstMeta) {
+        final IIOMetadataNode exts = child((IIOMetadataNode) firstMeta.getAsTree("javax_imageio_gif_image_1.0"), "ApplicationExtensions");
+        if (exts == null) return 1;
+        
+        for (int i = 0; i < exts.getLength(); i++) {
+            if (!(exts.item(i) instanceof IIOMetadataNode ext)
+                    || !"NETSCAPE".equals(ext.getAttribute("applicationID"))
+                    || !"2.0".equals(ext.getAttribute("authenticationCode"))
+                    || !(ext.getUserObject() instanceof byte[] data) || data.length < 3)
+                continue;
+            
+            // Sub-block ID 1, followed by the little-endian repeat count.
+            final int repeats = (data[1] & 0xFF) | (data[2] & 0xFF) << 8;
+            return repeats == 0 ? 0 : repeats + 1;
+        }
+        return 1;
+    }
+    
+    /**
+     * Gets the first child of the passed metadata node with the passed name.
+     *
+     * @param node - the parent {@link IIOMetadataNode}.
+     * @param name - a String with the name of the child node.
+     * @return the child {@link IIOMetadataNode}, or <code>null</code> if none
+     *         exists.
+     */
+    private static IIOMetadataNode child(final IIOMetadataNode node, final String name) {
+        if (node == null) return null;
+        
+        for (int i = 0; i < node.getLength(); i++) {
+            if (node.item(i) instanceof IIOMetadataNode child && child.getNodeName().equals(name)) return child;
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the integer value of the passed attribute on the passed metadata node.
+     *
+     * @param node - the {@link IIOMetadataNode} with the attribute.
+     * @param name - a String with the name of the attribute.
+     * @param def  - an int with the default value, used if the attribute is
+     *             missing or invalid.
+     * @return an int with the attribute's value, or the default value.
+     */
+    private static int intAttr(final IIOMetadataNode node, final String name, final int def) {
+        try {
+            return Integer.parseInt(node.getAttribute(name));
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+    
+    /**
+     * Creates a copy of the passed image.
+     *
+     * @param img - the {@link BufferedImage} to copy.
+     * @return the new {@link BufferedImage} copy.
+     */
+    private static BufferedImage copy(final BufferedImage img) {
+        final BufferedImage copy = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = copy.createGraphics();
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+    
+    /**
+     * Starts or resumes playback from the current frame. The GIF's loop count
+     * starts over, so a GIF that stopped after its last loop plays again.
+     */
+    public synchronized void play() {
+        if (closed || playing) return;
+        
+        playing = true;
+        looped  = 0;
+        schedule();
+    }
+    
+    /**
+     * Pauses playback on the current frame.
+     */
+    public synchronized void pause() {
+        playing = false;
+        cancel();
+    }
+    
+    /**
+     * Checks if the engine is currently playing.
+     *
+     * @return <code>true</code> if playing; <code>false</code> otherwise.
+     */
+    public synchronized boolean isPlaying() {
+        return playing;
+    }
+    
+    /**
+     * Sets the playback rate, where <code>1.0f</code> is normal speed. A rate at
+     * or below zero keeps the current frame on screen until the rate is raised.
+     *
+     * @param rate - a float with the new playback rate.
+     */
+    public synchronized void setRate(final float rate) {
+        this.rate = rate;
+        // Reschedule the next frame, applying the new rate immediately.
+        if (playing) {
+            cancel();
+            schedule();
+        }
+    }
+    
+    /**
+     * Gets the playback rate, where <code>1.0f</code> is normal speed.
+     *
+     * @return a float with the playback rate.
+     */
+    public synchronized float getRate() {
+        return rate;
+    }
+    
+    /**
+     * Seeks to the frame at the passed position.
+     *
+     * @param position - a float from <code>0.0f</code> to <code>1.0f</code> with
+     *                 the position as a percentage of the total duration.
+     */
+    public synchronized void seek(final float position) {
+        seekTime((int) (Math.max(0f, Math.min(position, 1.0f)) * gif.duration()));
+    }
+    
+    /**
+     * Skips forwards or backwards by the passed amount of time, wrapping around
+     * the start and end of the GIF.
+     *
+     * @param ms - an int with the amount of milliseconds to skip. Negative values
+     *           skip backwards.
+     */
+    public synchronized void skip(final int ms) {
+        seekTime(Math.floorMod(time() + ms, gif.duration()));
+    }
+    
+    /**
+     * Advances to the next frame, wrapping around to the first.
+     */
+    public synchronized void nextFrame() {
+        showFrame((index + 1) % gif.frames().length);
+    }
+    
+    /**
+     * Gets the current frame.
+     *
+     * @return the {@link BufferedImage} with the current frame.
+     */
+    public synchronized BufferedImage frame() {
+        return gif.frames()[index];
+    }
+    
+    /**
+     * Gets the amount of frames in the GIF.
+     *
+     * @return an int with the frame count.
+     */
+    public int frameCount() {
+        return gif.frames().length;
+    }
+    
+    /**
+     * Gets the total duration of one loop of the GIF at normal speed.
+     *
+     * @return an int with the duration in milliseconds.
+     */
+    public int duration() {
+        return gif.duration();
+    }
+    
+    /**
+     * Closes this engine, stopping playback permanently. The decoded frames are
+     * released once no other engine uses them.
+     */
+    public synchronized void close() {
+        closed  = true;
+        playing = false;
+        cancel();
+    }
+    
+    /**
+     * Gets the starting time of the current frame, at normal speed.
+     *
+     * @return an int with the time in milliseconds.
+     */
+    public synchronized int time() {
+        int time = 0;
+        for (int i = 0; i < index; i++) time += gif.delays()[i];
+        return time;
+    }
+    
+    /**
+     * Seeks to the frame shown at the passed time.
+     *
+     * @param ms - an int with the time in milliseconds.
+     */
+    private void seekTime(final int ms) {
+        int i = 0, time = gif.delays()[0];
+        while (time <= ms && i < gif.frames().length - 1) time += gif.delays()[++i];
+        showFrame(i);
+    }
+    
+    /**
+     * Shows the frame at the passed index, restarting the current frame's delay if
+     * playing.
+     *
+     * @param i - an int with the frame index.
+     */
+    private void showFrame(final int i) {
+        if (closed) return;
+        
+        index = i;
+        listener.accept(this, gif.frames()[index]);
+        if (playing) {
+            cancel();
+            schedule();
+        }
+    }
+    
+    /**
+     * Schedules the change to the next frame on the shared timing thread, using
+     * the current frame's delay and the playback rate.
+     */
+    private void schedule() {
+        if (rate < MIN_RATE) return;
+        
+        final long delay = (long) (gif.delays()[index] * 1000L / rate);
+        next = CLOCK.schedule(this::tick, delay, TimeUnit.MICROSECONDS);
+    }
+    
+    /**
+     * Cancels the scheduled change to the next frame, if any.
+     */
+    private void cancel() {
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+    }
+    
+    /**
+     * Changes to the next frame and schedules the one after it. Playback stops on
+     * the last frame instead once the GIF's final loop has played. Runs on the
+     * shared timing thread.
+     */
+    private synchronized void tick() {
+        if (closed || !playing) return;
+        
+        if (index == gif.frames().length - 1 && gif.loops() > 0 && ++looped >= gif.loops()) {
+            playing = false;
+            next    = null;
+            return;
+        }
+        index = (index + 1) % gif.frames().length;
+        listener.accept(this, gif.frames()[index]);
+        schedule();
+    }
+}
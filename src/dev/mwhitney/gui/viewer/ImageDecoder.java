@@ -0,0 +1,131 @@
+package dev.mwhitney.gui.viewer;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * A helper class for decoding images efficiently via {@link ImageIO}. Image
+ * headers are read before decoding, which allows oversized images to be decoded
+ * with source subsampling, producing a smaller image that still covers the size
+ * it will actually be displayed at.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class ImageDecoder {
+    /**
+     * The basic header information of an image file.
+     *
+     * @param width  - an int with the full width of the image.
+     * @param height - an int with the full height of the image.
+     * @param format - a String with the lowercase format name of the image.
+     * @param alpha  - a boolean for whether or not the image supports transparency.
+     */
+    public record ImageHeader(int width, int height, String format, boolean alpha) {
+        /**
+         * Gets the full size of the image.
+         *
+         * @return a {@link Dimension} with the width and height of the image.
+         */
+        public Dimension size() {
+            return new Dimension(width, height);
+        }
+        
+        /**
+         * Checks if the image format is potentially animated, which means it should
+         * not be decoded as a single frame.
+         *
+         * @return <code>true</code> if the format can be animated; <code>false</code>
+         *         otherwise.
+         */
+        public boolean animatable() {
+            return format.equals("gif");
+        }
+    }
+    
+    /** Private constructor -- static access only. */
+    private ImageDecoder() {}
+    
+    /**
+     * Reads the header of the passed image file without decoding any of its pixels.
+     *
+     * @param file - the image {@link File} to read.
+     * @return the {@link ImageHeader}, or <code>null</code> if the file could not
+     *         be read or there is no {@link ImageIO} reader for its format.
+     */
+    public static ImageHeader readHeader(final File file) {
+        if (file == null || !file.isFile()) return null;
+        
+        try (final ImageInputStream iis = ImageIO.createImageInputStream(file)) {
+            if (iis == null) return null;
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+            
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                final Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+                final boolean alpha = !types.hasNext() || types.next().getColorModel().hasAlpha();
+                return new ImageHeader(reader.getWidth(0), reader.getHeight(0), reader.getFormatName().toLowerCase(), alpha);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Calculates the largest source subsampling factor which still decodes the
+     * image at or above the passed target size in both dimensions.
+     *
+     * @param size   - a {@link Dimension} with the full size of the image.
+     * @param target - a {@link Dimension} with the largest size the image will be
+     *               displayed at.
+     * @return an int with the subsampling factor, which is <code>1</code> if the
+     *         image should be decoded at full resolution.
+     */
+    public static int subsampling(final Dimension size, final Dimension target) {
+        if (size == null || target == null || target.width <= 0 || target.height <= 0) return 1;
+        
+        return Math.max(1, Math.min(size.width / target.width, size.height / target.height));
+    }
+    
+    /**
+     * Decodes the first frame of the passed image file, skipping pixels using the
+     * passed source subsampling factor in both directions. A factor of
+     * <code>1</code> decodes every pixel.
+     *
+     * @param file        - the image {@link File} to decode.
+     * @param subsampling - an int with the subsampling factor.
+     * @return the decoded {@link BufferedImage}, or <code>null</code> if there is
+     *         no {@link ImageIO} reader for its format.
+     * @throws IOException if an error occurs while reading the file.
+     */
+    public static BufferedImage read(final File file, final int subsampling) throws IOException {
+        try (final ImageInputStream iis = ImageIO.createImageInputStream(file)) {
+            if (iis == null) return null;
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+            
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                final ImageReadParam param = reader.getDefaultReadParam();
+                if (subsampling > 1) param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
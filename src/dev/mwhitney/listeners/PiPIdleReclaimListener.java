@@ -0,0 +1,20 @@
+package dev.mwhitney.listeners;
+
+/**
+ * A listener that fires when memory has been reclaimed after the application
+ * went idle, with no windows open.
+ * 
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public interface PiPIdleReclaimListener {
+    /**
+     * Called after idle memory has been reclaimed.
+     * 
+     * @param heapFreed      - a long with the amount of heap memory, in bytes,
+     *                       which is no longer in use.
+     * @param committedFreed - a long with the amount of committed heap memory, in
+     *                       bytes, which was returned to the system.
+     */
+    public void idleReclaimed(long heapFreed, long committedFreed);
+}
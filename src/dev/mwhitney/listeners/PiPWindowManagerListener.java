@@ -1,5 +1,8 @@
 package dev.mwhitney.listeners;
 
+import java.io.File;
+import java.io.IOException;
+
 import dev.mwhitney.gui.PiPWindow;
 import dev.mwhitney.gui.PiPWindowManager;
 
@@ -21,9 +24,9 @@ public interface PiPWindowManagerListener extends PiPListener {
      */
     public default void removeWindow()          { if (get() != null) get().removeFocusedWindow(); };
     /**
-     * Removes the window at the passed index.
+     * Removes the window with the passed ID.
      */
-    public default void removeWindow(int index) { if (get() != null) get().removeWindow(index); }
+    public default void removeWindow(int id)    { if (get() != null) get().removeWindow(id); }
     /**
      * Minimizes all windows, setting them to an ICONIFIED state.
      */
@@ -44,6 +47,13 @@ public interface PiPWindowManagerListener extends PiPListener {
      * Clears all windows, closing them entirely.
      */
     public default void clearWindows()          { if (get() != null) get().clearWindowsQuickly(); }
+    /**
+     * Exports the playback statistics of all windows to a CSV file.
+     * 
+     * @return the exported CSV File, or <code>null</code> if there is no manager.
+     * @throws IOException if the file could not be written.
+     */
+    public default File exportPlaybackStats() throws IOException { return get() != null ? get().exportPlaybackStats() : null; }
     /**
      * Called when the window is requesting for its manager to close it.
      */
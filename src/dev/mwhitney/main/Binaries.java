@@ -9,6 +9,8 @@ import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import dev.mwhitney.exceptions.UnsupportedBinActionException;
@@ -119,6 +121,8 @@ public class Binaries {
     
     /** The PropertyListener to get property states from. */
     private static volatile PropertyListener propertyListener;
+    /** The versions reported by binary commands during this launch, mapped by the command, so each is only asked once. */
+    private static final Map<String, String> REPORTED_VERSIONS = new ConcurrentHashMap<>();
     
     /** The regular expression {@link Pattern} used for retrieving version information when yt-dlp is updated. */
     private static final Pattern PATTERN_YTDLP_UPDATED      = Pattern.compile(
@@ -338,6 +342,39 @@ public class Binaries {
         return execAndGet(false, args);
     }
     
+    /**
+     * Gets the version reported by the binary that runs for the passed Bin, which
+     * depends on whether system binaries are used. Unlike {@link Bin#version()},
+     * this is the version of the binary that actually runs, so it also covers
+     * system binaries and updated ones. Each command is only asked once per
+     * launch.
+     * <p>
+     * This method may run the binary, so it should not be called on the
+     * event-dispatch thread (EDT).
+     * 
+     * @param b - the Bin to get the version of.
+     * @return a String with the first line the binary reports for its version, or
+     *         the bundled {@link Bin#version()} if it could not be determined.
+     * @since 0.9.5
+     */
+    public static String reportedVersion(Bin b) {
+        final String cmd = bin(b);
+        final String known = REPORTED_VERSIONS.get(cmd);
+        if (known != null) return known;
+        
+        // Run the binary outside of the map, so other callers are never blocked on it. Concurrent first calls may both ask.
+        final String out = execAndGet(true, cmd, switch (b) {
+        case YT_DLP, GALLERY_DL -> "--version";
+        default                 -> "-version";
+        });
+        // Nothing is remembered on failure, so the next call asks again.
+        if (out == null || out.isBlank()) return b.version();
+        
+        final String reported = out.lines().findFirst().orElse(b.version());
+        final String existing = REPORTED_VERSIONS.putIfAbsent(cmd, reported);
+        return existing != null ? existing : reported;
+    }
+    
     /**
      * Checks if the passed Bin exists in the app's bin folder.
      * 
@@ -444,6 +481,7 @@ public class Binaries {
             // Execute update command and retrieve command result. Don't worry about interrupting on exit. Process is important and short.
             final String cmdResult = Binaries.execAndGet(true, Binaries.binned(b), "-U");
             if (cmdResult == null) return new BinUpdateResult(b, false);
+            REPORTED_VERSIONS.remove(Binaries.binned(b));
             
             // Check if updated at all and determine version retrieval regex.
             final boolean didUpdate = !cmdResult.contains("up to date");
@@ -8,6 +8,9 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import dev.mwhitney.listeners.PiPConsumer;
@@ -378,6 +381,32 @@ public class CFExec {
      * @since 0.9.5
      */
     public static final ExecutorService VIRTUAL_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    /** The time, in seconds, that the thread of an {@link #idleScheduler(String)} is kept alive without any scheduled tasks. */
+    private static final long IDLE_SCHEDULER_KEEP_ALIVE = 30;
+    
+    /**
+     * Creates a single-threaded scheduler whose thread is a daemon named after the
+     * passed String. Unlike the scheduler from
+     * {@link Executors#newSingleThreadScheduledExecutor()}, its thread exits once no
+     * tasks have been scheduled for a short while, so it holds no thread while the
+     * application is idle. Cancelled tasks are removed right away, so they do not
+     * keep the thread alive either.
+     * 
+     * @param name - a String with the name of the thread.
+     * @return the new ScheduledExecutorService.
+     * @since 0.9.5
+     */
+    public static ScheduledExecutorService idleScheduler(final String name) {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setKeepAliveTime(IDLE_SCHEDULER_KEEP_ALIVE, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
     
     /**
      * Runs every passed {@link PiPRunnable} synchronously and sequentially. The
@@ -19,7 +19,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 
 import javax.swing.ImageIcon;
@@ -45,8 +44,7 @@ import dev.mwhitney.properties.PiPProperty.TYPE_OPTION;
 import dev.mwhitney.properties.PropertiesManager;
 import dev.mwhitney.properties.PropertyListener;
 import dev.mwhitney.resources.AppRes;
-import dev.mwhitney.update.PiPUpdater;
-import dev.mwhitney.update.PiPUpdater.PiPUpdateResult;
+import dev.mwhitney.update.UpdateScheduler;
 import dev.mwhitney.update.api.Build;
 import dev.mwhitney.update.api.Version;
 import dev.mwhitney.util.PiPAAUtils;
@@ -62,7 +60,37 @@ import uk.co.caprica.vlcj.factory.discovery.NativeDiscovery;
  */
 public class Initializer {
     /** The {@link ProgressWindow} displayed during initialization to show loading progress. */
-    private static ProgressWindow progressWin;
+    private static volatile ProgressWindow progressWin;
+    /** The highest progress value shown so far, which prevents concurrent startup phases from moving the progress backwards. */
+    private static float lastProgress;
+    
+    /** The name of the startup phase which sets the Look and Feel. */
+    private static final String PHASE_LAF       = "Look and Feel";
+    /** The name of the startup phase which creates the {@link ProgressWindow}. */
+    private static final String PHASE_PROGRESS  = "Progress Window";
+    /** The name of the startup phase which creates the {@link BindController}. */
+    private static final String PHASE_BINDS     = "Binds";
+    /** The name of the startup phase which performs the initialization checks. */
+    private static final String PHASE_CHECKS    = "Initialization Checks";
+    /** The name of the startup phase which discovers and extracts the binaries. */
+    private static final String PHASE_BINARIES  = "Binaries";
+    /** The name of the startup phase which discovers or extracts VLC. */
+    private static final String PHASE_VLC       = "VLC";
+    /** The name of the startup phase which creates the {@link PiPWindowManager}. */
+    private static final String PHASE_MANAGER   = "Window Manager";
+    /** The name of the startup phase which creates the {@link Tray}. */
+    private static final String PHASE_TRAY      = "Tray";
+    /** The name of the startup phase which connects the window manager and tray. */
+    private static final String PHASE_LISTENERS = "Listeners";
+    
+    /** The name of the startup milestone reached when the tray is created. */
+    static final String MILESTONE_TRAY   = "Tray";
+    /** The name of the startup milestone reached when the first window is shown. */
+    static final String MILESTONE_WINDOW = "First Window";
+    /** The system property with the path to write the startup report to. If not set, no report is written. */
+    static final String PROP_STARTUP_REPORT = "pipaa.startup.report";
+    /** The system property which, if <code>true</code>, exits the application as soon as startup completes. Used by {@link StartupBenchmark}. */
+    static final String PROP_STARTUP_EXIT   = "pipaa.startup.exit";
     
     // Main Method
     public static void main(String[] args) {
@@ -93,98 +121,150 @@ public class Initializer {
         // Share PropertyListener with Binaries
         Binaries.setPropertyListener(propListener);
         
+        // Run the remaining startup phases as soon as their dependencies are met, with independent phases running concurrently.
+        final StartupPhases startup = new StartupPhases();
+        
         // Get Theme for Loading Styling
 //        final THEME_OPTION theme = PropDefault.THEME.matchAny(propListener.propertyState(PiPProperty.THEME, String.class));
         // Set L&F Before Managing Any GUI
-        setLookAndFeel();
+        startup.run(PHASE_LAF, Initializer::setLookAndFeel);
         
         // Create window for displaying initialization progress. 
-        progressWin = PiPAAUtils.makeOnEDT(() -> 
-            new ProgressWindow(new ImageIcon(Initializer.class.getResource(AppRes.BANNER_APP_LOADING)))
-                .useTitle("Starting PiPAA...")
-                .useIcon(AppRes.IMG_APP_32_WORK)
-                .display()
-        );
+        startup.run(PHASE_PROGRESS, () -> {
+            progressWin = PiPAAUtils.makeOnEDT(() -> 
+                new ProgressWindow(new ImageIcon(Initializer.class.getResource(AppRes.BANNER_APP_LOADING)))
+                    .useTitle("Starting PiPAA...")
+                    .useIcon(AppRes.IMG_APP_32_WORK)
+                    .display()
+            );
+            loadingProgress("Setting up binds...", 5);
+        }, PHASE_LAF);
         
-        loadingProgress("Setting up binds...", 5);
+        final CompletableFuture<BindController> bindController = startup.supply(PHASE_BINDS, BindController::new);
         
-        final BindController bindController = new BindController();
+        // Initialization Checks
+        startup.run(PHASE_CHECKS, () -> initChecks(propsManager, args), PHASE_LAF);
         
-        loadingProgress("Performing initialization checks...", 10);
+        // Extract Resources if Necessary
+        startup.run(PHASE_BINARIES, () -> extractBinaries(propsManager));
+        startup.run(PHASE_VLC,      () -> prepareVLC(propsManager));
         
-        // Initialization Checks
-        initChecks(propsManager, args);
+        // Create PiPWindowManager, which then opens one window by default.
+        final CompletableFuture<PiPWindowManager> manager = startup.supply(PHASE_MANAGER, () -> {
+            loadingProgress("Creating window manager...", 75);
+            final BindController controller = bindController.join();
+            final PiPWindowManager windowManager = new PiPWindowManager() {
+                @Override
+                public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return propListener.propertyState(prop, rtnType); }
+                @Override
+                public BindController getController() { return controller; }
+            };
+            windowManager.setPlaybackStatsSampling(propListener.propertyState(PiPProperty.PLAYBACK_STATS, Boolean.class));
+            // Restore the saved windows when the loading process completes, if configured to and there are any.
+            // Otherwise, add a window if configured to, or only warm the spare windows.
+            final boolean restoreSession = propListener.propertyState(PiPProperty.RESTORE_SESSION, Boolean.class);
+            final boolean openWindow     = propListener.propertyState(PiPProperty.OPEN_WINDOW_AT_LAUNCH, Boolean.class);
+            windowManager.setSessionSaving(restoreSession);
+            progressWin.whenComplete(() -> {
+                final boolean restored = restoreSession && windowManager.restoreSession() > 0;
+                if (!restored && openWindow) windowManager.addWindow();
+                else if (!restored)          windowManager.warmSpareWindows();
+                if (windowManager.windowCount() > 0) startup.mark(MILESTONE_WINDOW);
+            });
+            return windowManager;
+        }, PHASE_VLC, PHASE_BINDS, PHASE_PROGRESS);
         
-        loadingProgress("Extracting application resources...", 20);
+        // Create the Tray object. Only depends on the L&F, so it is built while the binaries and VLC are prepared.
+        final CompletableFuture<Tray> trayFuture = startup.supply(PHASE_TRAY, () -> {
+            loadingProgress("Setting up the tray...");
+            final Tray tray = new Tray() {
+                @Override
+                public void propertyChanged(PiPProperty prop, String value) {
+                    // Only Set Prop Values for Certain PiPProperty Values
+                    switch(prop) {
+                    case SET_ALL_PAUSED, SET_ALL_MUTED, SET_ALL_PLAYBACK_RATE, SET_ALL_VOLUME -> {}
+                    case USE_SYS_BINARIES -> {
+                        // Refresh available system binaries when property is enabled.
+                        if (Boolean.valueOf(value)) {
+                            TryIgnore.run(Binaries::refreshOnSys);
+                        }
+                        
+                        propsManager.set(prop, value);
+                    }
+                    default -> propsManager.set(prop, value);
+                    }
+                    manager.thenAccept(m -> m.propertyChanged(prop, value));
+                }
+                @Override
+                public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return propListener.propertyState(prop, rtnType); }
+            };
+            startup.mark(MILESTONE_TRAY);
+            return tray;
+        }, PHASE_LAF);
         
-        // Extract Resources if Necessary
+        // Set Listeners
+        startup.run(PHASE_LISTENERS, () -> {
+            loadingProgress("Finishing up...", 95);
+            final PiPWindowManager windowManager = manager.join();
+            final Tray tray = trayFuture.join();
+            windowManager.setWindowCountListener(() ->
+                // Updates tray's status with window count.
+                tray.updateStatus(windowManager.liveWindowCount() == 0 ? AppRes.TRAY_NO_WINDOWS_STATUS : "Running Windows: " + windowManager.liveWindowCount())
+            );
+            windowManager.setIdleReclaimListener((heapFreed, committedFreed) ->
+                // Reports the memory reclaimed while idle in the tray's status, until the window count changes.
+                tray.updateStatus(AppRes.TRAY_NO_WINDOWS_STATUS + " (Freed " + (heapFreed >> 20) + " MB, Returned " + (committedFreed >> 20) + " MB)")
+            );
+            tray.setTrayListener(new PiPTrayAdapter() {
+                @Override
+                public PiPWindowManager get() { return windowManager; }
+            });
+            
+            PropertiesManager.mediator = new PropertyListener() {
+                @Override
+                public void propertyChanged(PiPProperty prop, String value) { tray.forwardPropertyChange(prop, value); }
+                @Override
+                public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return propListener.propertyState(prop, rtnType); }
+            };
+        }, PHASE_MANAGER, PHASE_TRAY, PHASE_BINARIES, PHASE_CHECKS);
+        
+        // Wait for the application to be usable.
         try {
-            extractLibResources(propsManager);
+            startup.await(PHASE_LISTENERS);
         } catch (ExtractionException ee) {
             loadingProgress("Failed to initialize!");
             TopDialog.showMsg("Failed to start PiPAA!\n" + ee.getMessage(), "Initialization Error", JOptionPane.ERROR_MESSAGE);
             System.exit(0);
             return;
+        } catch (Exception e) {
+            loadingProgress("Failed to initialize!");
+            e.printStackTrace();
+            TopDialog.showMsg("Failed to start PiPAA!\nUnexpected exception occurred during startup.", "Initialization Error", JOptionPane.ERROR_MESSAGE);
+            System.exit(0);
+            return;
         }
         
-        loadingProgress("Creating window manager...", 75);
-        
-        // Create PiPWindowManager, which then opens one window by default.
-        final PiPWindowManager windowManager = new PiPWindowManager() {
-            @Override
-            public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return propListener.propertyState(prop, rtnType); }
-            @Override
-            public BindController getController() { return bindController; }
-        };
-        // Add a window when the loading process completes, if configured to.
-        if (propListener.propertyState(PiPProperty.OPEN_WINDOW_AT_LAUNCH, Boolean.class))
-            progressWin.whenComplete(windowManager::addWindow);
-
-        loadingProgress("Setting up the tray...", 90);
-        
-        // Create the Tray object.
-        final Tray tray = new Tray() {
-            @Override
-            public void propertyChanged(PiPProperty prop, String value) {
-                // Only Set Prop Values for Certain PiPProperty Values
-                switch(prop) {
-                case SET_ALL_PAUSED, SET_ALL_MUTED, SET_ALL_PLAYBACK_RATE, SET_ALL_VOLUME -> {}
-                case USE_SYS_BINARIES -> {
-                    // Refresh available system binaries when property is enabled.
-                    if (Boolean.valueOf(value)) {
-                        TryIgnore.run(Binaries::refreshOnSys);
-                    }
-
-                    propsManager.set(prop, value);
-                }
-                default -> propsManager.set(prop, value);
-                }
-                windowManager.propertyChanged(prop, value);
+        loadingProgress("Finished loading!", 100);
+        System.out.println(startup.report());
+        final String reportPath = System.getProperty(PROP_STARTUP_REPORT);
+        if (reportPath != null) {
+            try {
+                startup.writeReport(new File(PiPAAUtils.slashFix(reportPath)));
+            } catch (IOException e) {
+                System.err.println("<!> Failed to write the startup report: " + e.getMessage());
             }
-            @Override
-            public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return propListener.propertyState(prop, rtnType); }
-        };
-        
-        loadingProgress("Finishing up...", 95);
-        
-        // Set Listeners
-        windowManager.setWindowCountListener(() ->
-            // Updates tray's status with window count.
-            tray.updateStatus(windowManager.liveWindowCount() == 0 ? AppRes.TRAY_NO_WINDOWS_STATUS : "Running Windows: " + windowManager.liveWindowCount())
-        );
-        tray.setTrayListener(new PiPTrayAdapter() {
-            @Override
-            public PiPWindowManager get() { return windowManager; }
-        });
+        }
         
-        PropertiesManager.mediator = new PropertyListener() {
-            @Override
-            public void propertyChanged(PiPProperty prop, String value) { tray.forwardPropertyChange(prop, value); }
-            @Override
-            public <T> T propertyState(PiPProperty prop, Class<T> rtnType) { return propListener.propertyState(prop, rtnType); }
-        };
+        // Exit right away if only measuring startup.
+        final Tray tray = trayFuture.join();
+        if (Boolean.getBoolean(PROP_STARTUP_EXIT)) {
+            manager.join().exit();
+            tray.exit();
+            return;
+        }
         
-        loadingProgress("Finished loading!", 100);
+        // Check for updates in the background, now that the first window is usable. Available app updates are offered through the tray.
+        new UpdateScheduler(PropertiesManager.mediator, tray::offerAppUpdate).start();
     }
     
     /**
@@ -204,13 +284,19 @@ public class Initializer {
     /**
      * Safely updates the {@link ProgressWindow} that is displayed during
      * initialization with the passed information.
+     * <p>
+     * Since startup phases run concurrently, the progress value never decreases.
+     * If the passed value is lower than the highest one shown so far, only the
+     * message is updated.
      * 
      * @param msg      - a String with the new status message to display.
      * @param progress - a float with the new progress value.
      * @since 0.9.5
      */
-    private static void loadingProgress(String msg, float progress) {
-        if (progressWin != null) progressWin.update(msg, progress);
+    private static synchronized void loadingProgress(String msg, float progress) {
+        if (progressWin == null) return;
+        lastProgress = Math.max(lastProgress, progress);
+        progressWin.update(msg, lastProgress);
     }
     
     /**
@@ -306,23 +392,23 @@ public class Initializer {
     }
     
     /**
-     * Prepares the library/binary resources and extracts the necessary ones from
-     * the JAR. This method will also create the bin and plugins directories if they
-     * do not exist. The resources will not be extracted if the application is set
-     * to use the system binaries, and they exist. If the application is set to use
-     * the system binaries, they will be used in preference. If only some of the
+     * Prepares the binary resources and extracts the necessary ones from the JAR.
+     * This method will also create the bin and plugins directories if they do not
+     * exist. The resources will not be extracted if the application is set to use
+     * the system binaries, and they exist. If the application is set to use the
+     * system binaries, they will be used in preference. If only some of the
      * binaries exist on the system, it will still prefer to use those, and PiPAA
      * will extract and use the missing, necessary binaries.
      * 
      * @param propsManager - the PropertiesManager used to check if the use system binaries property is set.
      * @throws ExtractionException if another exception occurs during the extraction process.
+     * @see {@link #prepareVLC(PropertiesManager)} for preparing the VLC libraries.
      */
-    private static void extractLibResources(PropertiesManager propsManager) throws ExtractionException {
+    private static void extractBinaries(PropertiesManager propsManager) throws ExtractionException {
         // Ensure bin and plugins folders exists.
         PiPAAUtils.ensureExistence(APP_BIN_FOLDER, YTDLP_PLUGINS_FOLDER);
         
         // Check if each binary exists within the application bin folder.
-        final String useSysVLC      = propsManager.get(PiPProperty.USE_SYS_VLC);
         final String useSysBinaries = propsManager.get(PiPProperty.USE_SYS_BINARIES);
         final boolean LOCAL_YTDLP   = Binaries.exists(Bin.YT_DLP);
         final boolean LOCAL_GALDL   = Binaries.exists(Bin.GALLERY_DL);
@@ -344,32 +430,24 @@ public class Initializer {
                    !Binaries.HAS_IMGMAGICK && !LOCAL_IMGMAG ? (BinRunnable) () -> Binaries.extract(Bin.IMGMAGICK)  : null)
               .throwIfAny(new ExtractionException("Unexpected exception occurred while extracting binaries."));
         
-        loadingProgress("Checking for app update...", 35);  // Does not guarantee that a check occurs. Just a general progress statement.
-        
-        // Automatically update application during startup depending on user configuration and date/time.
-        final String frequencyApp  = propsManager.get(PiPProperty.APP_UPDATE_FREQUENCY);
-        final String lastCheckApp  = propsManager.get(PiPProperty.APP_LAST_UPDATE_CHECK);
-        final String appUpdateType = propsManager.get(PiPProperty.APP_UPDATE_TYPE);
-        final PiPUpdateResult result = PiPUpdater.updateApp(frequencyApp, lastCheckApp, PropDefault.TYPE.matchAny(appUpdateType), false);
-        if (result.checked()) propsManager.set(PiPProperty.APP_LAST_UPDATE_CHECK, LocalDateTime.now().toString());
-        if (result.updated()) {
-            propsManager.set(PiPProperty.APP_UPDATING_FROM, APP_BUILD.toString());
-            System.exit(0);
-        }
-        if (result.hasException()) System.err.println("Warning, app update process failed: " + result.exception().getTotalMessage());
-        
-        loadingProgress("Checking for updates to binaries...", 50); // Does not guarantee that a check occurs, as with app update.
-        
-        // Automatically update binaries during startup depending on user configuration and date/time.
-        final String frequencyBin = propsManager.get(PiPProperty.BIN_UPDATE_FREQUENCY);
-        final String lastCheckBin = propsManager.get(PiPProperty.BIN_LAST_UPDATE_CHECK);
-        
-        if (PiPUpdater.updateBin(frequencyBin, lastCheckBin)) // Update last update check time.
-            propsManager.set(PiPProperty.BIN_LAST_UPDATE_CHECK, LocalDateTime.now().toString());
-        
-        loadingProgress("Picking VLC instance...", 60);
+        loadingProgress("Binaries ready...", 45);
+    }
+    
+    /**
+     * Prepares the VLC libraries. A VLC installation on the system is used if the
+     * application is configured to use it and one is found. Otherwise, on Windows,
+     * PiPAA's own copy of the libraries is extracted from the JAR if it is missing
+     * or outdated, then used.
+     * 
+     * @param propsManager - the PropertiesManager used to check if the use system VLC property is set.
+     * @throws ExtractionException if no VLC installation is found and the libraries could not be extracted.
+     * @since 0.9.5
+     */
+    private static void prepareVLC(PropertiesManager propsManager) throws ExtractionException {
+        loadingProgress("Picking VLC instance...", 20);
         
         // VLC is ready if configured to be used and installed on the system. Otherwise use PiPAA's version.
+        final String useSysVLC = propsManager.get(PiPProperty.USE_SYS_VLC);
         boolean vlcReady = (useSysVLC != null && Boolean.valueOf(useSysVLC) ? new NativeDiscovery().discover() : false);
         final String vlcVersion = propsManager.get("LibVlc_BIN");
         // System VLC installation is not to be used and OS is Windows.
@@ -382,7 +460,7 @@ public class Initializer {
             if (vlcVersion == null || !vlcVersion.equals(VERS_VLC) || !vlcFilesPresent) {
                 // Extract Windows LibVlc DLLs to Bin Folder
                 System.out.println("<!> Extracting VLC libraries...");
-                loadingProgress("Extracting VLC libraries...", 65);
+                loadingProgress("Extracting VLC libraries...", 35);
                 // Use try-with-resources to ensure closing of streams.
                 try (final InputStream libvlc     = Initializer.class.getResourceAsStream(FILE_LIBVLC);
                      final InputStream libvlccore = Initializer.class.getResourceAsStream(FILE_LIBVLCCORE);
@@ -404,5 +482,7 @@ public class Initializer {
         }
         // VLC Installation Doesn't Exist and Windows LibVlc DLLs Cannot Be Used
         if (!vlcReady) throw new ExtractionException("Could not find or extract a LibVlc installation.");
+        
+        loadingProgress("VLC ready...", 60);
     }
 }
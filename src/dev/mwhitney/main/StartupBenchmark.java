@@ -0,0 +1,328 @@
+package dev.mwhitney.main;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import dev.mwhitney.main.Binaries.Bin;
+import dev.mwhitney.properties.PiPProperty;
+import dev.mwhitney.properties.PiPProperty.FREQUENCY_OPTION;
+import dev.mwhitney.resources.AppRes;
+
+/**
+ * Measures application startup by launching the application several times in
+ * separate JVMs, then reporting the time each launch took to reach the tray and
+ * the first window. Each launch writes its startup report, as traced by
+ * {@link StartupPhases}, and exits as soon as startup completes.
+ * <p>
+ * Launches are reproducible and never touch the user's own configuration. Each
+ * one runs with its own home folder, which is given the default configuration
+ * with update checks disabled, so no network is used. Empty stand-ins are put in
+ * place of the binaries, so they are not extracted. VLC is still extracted or
+ * discovered as usual, since the first window needs it.
+ * <p>
+ * <b>Cold</b> launches start from a fresh home folder each time, so they include
+ * extracting VLC. <b>Warm</b> launches share one home folder, which is prepared
+ * by a launch that is not measured. Neither can clear the operating system's
+ * file cache, so cold launches after the first still read from memory.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp &lt;classpath&gt; dev.mwhitney.main.StartupBenchmark [runs] [--warm] [--keep] [--timeout=&lt;seconds&gt;] [--gate=&lt;ms&gt;] [--jvm=&lt;arg&gt;]...
+ * </pre>
+ * Launches run in a temporary folder, which is deleted once the benchmark
+ * finishes, as each cold launch extracts its own copy of VLC into it. Pass
+ * <code>--keep</code> to keep it, along with the log and report of each launch.
+ * Each <code>--jvm</code> argument is passed to the launched JVMs, which allows
+ * comparing configurations such as a class data sharing archive. If a
+ * <code>--gate</code> is passed and the 95th percentile time to the first window
+ * exceeds it, the benchmark exits with status <code>2</code>, so it can be used
+ * to catch startup regressions. Failed launches exit with status
+ * <code>1</code>.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class StartupBenchmark {
+    /**
+     * The result of a single launch.
+     *
+     * @param run           - an int with the number of the launch, starting at
+     *                      <code>1</code>.
+     * @param tray          - a long with the time the tray was created, in
+     *                      milliseconds since the JVM started, or <code>-1</code>
+     *                      if it was not reached.
+     * @param window        - a long with the time the first window was shown, in
+     *                      milliseconds since the JVM started, or <code>-1</code>
+     *                      if it was not reached.
+     * @param total         - a long with the time startup completed, in
+     *                      milliseconds since the JVM started.
+     * @param classesLoaded - a long with the amount of classes loaded by then.
+     */
+    private record Result(int run, long tray, long window, long total, long classesLoaded) {
+        @Override
+        public String toString() {
+            return "Run " + run + ": Tray at " + tray + " ms, First Window at " + window + " ms, Finished at " + total + " ms (" + classesLoaded + " classes loaded)";
+        }
+    }
+    
+    /** The default amount of measured launches. */
+    private static final int  DEFAULT_RUNS    = 10;
+    /** The default time to wait for each launch to exit, in seconds. */
+    private static final long DEFAULT_TIMEOUT = 120;
+    /** The percentiles reported for each measurement. */
+    private static final int[] PERCENTILES    = { 50, 95 };
+    
+    /** Private constructor -- static access only. */
+    private StartupBenchmark() {}
+    
+    // Main Method
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = DEFAULT_RUNS;
+        boolean warm = false;
+        boolean keep = false;
+        long timeout = DEFAULT_TIMEOUT;
+        long gate = -1;
+        final List<String> jvmArgs = new ArrayList<>();
+        try {
+            for (final String arg : args) {
+                if      (arg.equals("--warm"))          warm = true;
+                else if (arg.equals("--keep"))          keep = true;
+                else if (arg.startsWith("--timeout="))  timeout = Long.parseLong(arg.substring(10));
+                else if (arg.startsWith("--gate="))     gate = Long.parseLong(arg.substring(7));
+                else if (arg.startsWith("--jvm="))      jvmArgs.add(arg.substring(6));
+                else                                    runs = Integer.parseInt(arg);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: StartupBenchmark [runs] [--warm] [--keep] [--timeout=<seconds>] [--gate=<ms>] [--jvm=<arg>]...");
+            System.exit(1);
+            return;
+        }
+        
+        final Path root = Files.createTempDirectory("pipaa-benchmark");
+        System.out.println("[BENCHMARK] " + runs + (warm ? " warm" : " cold") + " launches in: " + root);
+        
+        final int status;
+        try {
+            status = benchmark(root, runs, warm, keep, timeout, gate, jvmArgs);
+        } finally {
+            // Each cold launch extracts its own copy of VLC, so leaving the folder behind quickly adds up.
+            if (keep) System.out.println("[BENCHMARK] Kept the launch folders in: " + root);
+            else      delete(root);
+        }
+        System.exit(status);
+    }
+    
+    /**
+     * Runs the measured launches in the passed folder, then reports their
+     * percentiles.
+     *
+     * @param root    - the Path to the folder to run the launches in.
+     * @param runs    - an int with the amount of measured launches.
+     * @param warm    - a boolean for whether or not the launches share one
+     *                prepared home folder.
+     * @param keep    - a boolean for whether or not the folder is kept
+     *                afterwards, along with the log of each launch.
+     * @param timeout - a long with the time to wait for each launch to exit, in
+     *                seconds.
+     * @param gate    - a long with the maximum 95th percentile time to the first
+     *                window, in milliseconds, or <code>-1</code> for none.
+     * @param jvmArgs - a List of arguments to pass to the JVM.
+     * @return an int with the exit status: <code>0</code> on success,
+     *         <code>1</code> if any launch failed, or <code>2</code> if the gate
+     *         was exceeded.
+     * @throws IOException          if a launch could not be prepared or started.
+     * @throws InterruptedException if interrupted while waiting for a launch.
+     */
+    private static int benchmark(Path root, int runs, boolean warm, boolean keep, long timeout, long gate, List<String> jvmArgs) throws IOException, InterruptedException {
+        final String logs = keep ? "See the log in: " + root : "Pass --keep to keep the logs.";
+        
+        // Warm launches share one home folder, which is prepared by a launch that is not measured.
+        final Path warmHome = root.resolve("home");
+        if (warm) {
+            prepareHome(warmHome);
+            if (launch(warmHome, root.resolve("warmup"), jvmArgs, timeout) == null) {
+                System.err.println("[BENCHMARK] Warm-up launch failed. " + logs);
+                return 1;
+            }
+        }
+        
+        final List<Result> results = new ArrayList<>();
+        int failures = 0;
+        for (int i = 1; i <= runs; i++) {
+            final Path home = warm ? warmHome : root.resolve("home" + i);
+            if (!warm) prepareHome(home);
+            
+            final JSONObject report = launch(home, root.resolve("run" + i), jvmArgs, timeout);
+            final Result result = (report == null ? null : parse(i, report));
+            if (result == null || result.tray() < 0 || result.window() < 0) {
+                System.err.println("[BENCHMARK] Run " + i + " failed. " + logs);
+                failures++;
+                continue;
+            }
+            System.out.println("[BENCHMARK] " + result);
+            results.add(result);
+        }
+        
+        if (results.isEmpty()) {
+            System.err.println("[BENCHMARK] No launches succeeded.");
+            return 1;
+        }
+        
+        final long[] trays   = results.stream().mapToLong(Result::tray).sorted().toArray();
+        final long[] windows = results.stream().mapToLong(Result::window).sorted().toArray();
+        for (final int p : PERCENTILES)
+            System.out.println("[BENCHMARK] p" + p + ": Tray at " + percentile(trays, p) + " ms, First Window at " + percentile(windows, p) + " ms");
+        
+        if (gate >= 0 && percentile(windows, 95) > gate) {
+            System.err.println("[BENCHMARK] Regression: p95 time to the first window exceeds " + gate + " ms.");
+            return 2;
+        }
+        return failures > 0 ? 1 : 0;
+    }
+    
+    /**
+     * Deletes the passed folder and everything in it. Files that cannot be
+     * deleted, such as those still held open by a launch that timed out, are
+     * skipped and reported.
+     *
+     * @param folder - the Path to the folder to delete.
+     */
+    private static void delete(Path folder) {
+        try (final Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    System.err.println("[BENCHMARK] Could not delete: " + path);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("[BENCHMARK] Could not delete the launch folders in: " + folder + " (" + e.getMessage() + ")");
+        }
+    }
+    
+    /**
+     * Prepares the passed home folder for a launch. Empty stand-ins are put in
+     * place of each binary, and the configuration disables update checks and the
+     * system binaries, while still opening a window at launch.
+     *
+     * @param home - the Path to the home folder.
+     * @throws IOException if the folder could not be prepared.
+     */
+    private static void prepareHome(Path home) throws IOException {
+        // Paths used by the application are relative to the user's home folder.
+        final Path userHome = Path.of(System.getProperty("user.home"));
+        for (final Bin bin : Bin.values()) {
+            final Path standIn = home.resolve(userHome.relativize(Path.of(Binaries.binned(bin))));
+            Files.createDirectories(standIn.getParent());
+            if (Files.notExists(standIn)) Files.createFile(standIn);
+        }
+        
+        final Properties config = new Properties();
+        config.setProperty(PiPProperty.USE_SYS_BINARIES.toString(),      "false");
+        config.setProperty(PiPProperty.USE_SYS_VLC.toString(),           "false");
+        config.setProperty(PiPProperty.OPEN_WINDOW_AT_LAUNCH.toString(), "true");
+        config.setProperty(PiPProperty.RESTORE_SESSION.toString(),       "false");
+        config.setProperty(PiPProperty.APP_UPDATE_FREQUENCY.toString(),  FREQUENCY_OPTION.NEVER.toString());
+        config.setProperty(PiPProperty.BIN_UPDATE_FREQUENCY.toString(),  FREQUENCY_OPTION.NEVER.toString());
+        final Path configFile = home.resolve(userHome.relativize(Path.of(AppRes.APP_FOLDER, "config.properties")));
+        Files.createDirectories(configFile.getParent());
+        try (final BufferedWriter writer = Files.newBufferedWriter(configFile, StandardCharsets.UTF_8)) {
+            config.store(writer, "PiPAA Startup Benchmark");
+        }
+    }
+    
+    /**
+     * Launches the application in a new JVM with the passed home folder, then
+     * waits for it to exit. The output of the launch is written to a log next to
+     * its report.
+     *
+     * @param home    - the Path to the home folder.
+     * @param run     - the Path to write the report and log to, without an
+     *                extension.
+     * @param jvmArgs - a List of arguments to pass to the JVM.
+     * @param timeout - a long with the time to wait for the launch to exit, in
+     *                seconds.
+     * @return the JSONObject with the startup report, or <code>null</code> if the
+     *         launch failed or timed out.
+     * @throws IOException          if the JVM could not be launched.
+     * @throws InterruptedException if interrupted while waiting for the launch.
+     */
+    private static JSONObject launch(Path home, Path run, List<String> jvmArgs, long timeout) throws IOException, InterruptedException {
+        final Path report = Path.of(run + ".json");
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.addAll(jvmArgs);
+        cmd.addAll(Arrays.asList(
+                "-Duser.home=" + home,
+                "-D" + Initializer.PROP_STARTUP_REPORT + "=" + report,
+                "-D" + Initializer.PROP_STARTUP_EXIT + "=true",
+                "-cp", System.getProperty("java.class.path"),
+                Initializer.class.getName()));
+        
+        final File log = new File(run + ".log");
+        final Process process = new ProcessBuilder(cmd).redirectErrorStream(true).redirectOutput(log).start();
+        if (!process.waitFor(timeout, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            System.err.println("[BENCHMARK] Launch timed out after " + timeout + " seconds.");
+            return null;
+        }
+        if (Files.notExists(report)) return null;
+        
+        try {
+            return new JSONObject(Files.readString(report, StandardCharsets.UTF_8));
+        } catch (JSONException e) {
+            System.err.println("[BENCHMARK] Invalid startup report: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Parses the result of a launch from its startup report.
+     *
+     * @param run    - an int with the number of the launch.
+     * @param report - the JSONObject with the startup report.
+     * @return the {@link Result}.
+     */
+    private static Result parse(int run, JSONObject report) {
+        long tray = -1, window = -1;
+        final JSONArray milestones = report.optJSONArray("milestones", new JSONArray());
+        for (int i = 0; i < milestones.length(); i++) {
+            final JSONObject milestone = milestones.getJSONObject(i);
+            switch (milestone.getString("name")) {
+            case Initializer.MILESTONE_TRAY   -> tray   = milestone.getLong("at");
+            case Initializer.MILESTONE_WINDOW -> window = milestone.getLong("at");
+            default -> {}
+            }
+        }
+        return new Result(run, tray, window, report.optLong("total", -1), report.optLong("classesLoaded", -1));
+    }
+    
+    /**
+     * Gets the passed percentile of the passed values, using the nearest rank.
+     *
+     * @param sorted     - a long array with the values, sorted in ascending order.
+     * @param percentile - an int with the percentile, from <code>1</code> to
+     *                   <code>100</code>.
+     * @return a long with the value at the percentile.
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+}
@@ -0,0 +1,344 @@
+package dev.mwhitney.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import dev.mwhitney.listeners.PiPRunnable;
+import dev.mwhitney.util.PiPAAUtils;
+
+/**
+ * Runs the phases of application startup as a graph of tasks. Each phase is
+ * given a name and the names of the phases it depends on. A phase starts as
+ * soon as all of its dependencies complete, so independent phases run
+ * concurrently. If a dependency fails, the phases which depend on it fail
+ * with the same exception without running.
+ * <p>
+ * The start time and duration of each phase are recorded, and each phase is
+ * logged as it completes. Milestones, such as the first window being shown,
+ * can be {@link #mark(String) marked} along the way. All times are monotonic,
+ * in milliseconds since the JVM started, so they include the time spent before
+ * <code>main</code>. The amount of classes loaded and the time spent on JIT
+ * compilation are recorded alongside each phase and milestone. Since these are
+ * counted for the whole JVM, the amounts for concurrent phases overlap. The
+ * complete trace can be saved as JSON via {@link #writeReport(File)}.
+ * <p>
+ * Phases run on platform threads rather than virtual threads, since several
+ * of them call into native code, which would pin the carrier threads anyway.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class StartupPhases {
+    /**
+     * The timing of a single completed phase.
+     *
+     * @param name          - a String with the name of the phase.
+     * @param start         - a long with the time the phase started, in
+     *                      milliseconds since the JVM started.
+     * @param duration      - a long with the time the phase took, in
+     *                      milliseconds.
+     * @param failed        - a boolean for whether the phase threw an exception.
+     * @param classesLoaded - a long with the amount of classes loaded while the
+     *                      phase ran.
+     * @param compileMillis - a long with the milliseconds spent on JIT compilation
+     *                      while the phase ran, or <code>-1</code> if unknown.
+     */
+    public record Timing(String name, long start, long duration, boolean failed, long classesLoaded, long compileMillis) {
+        @Override
+        public String toString() {
+            return name + " took " + duration + " ms (started at +" + start + " ms, " + classesLoaded + " classes loaded)" + (failed ? " and failed" : "");
+        }
+        
+        /**
+         * Gets this timing as a JSON object.
+         *
+         * @return a JSONObject with each of the timing's values.
+         */
+        public JSONObject toJSON() {
+            return new JSONObject().put("name", name).put("start", start).put("duration", duration).put("failed", failed)
+                    .put("classesLoaded", classesLoaded).put("compileMillis", compileMillis);
+        }
+    }
+    
+    /**
+     * A milestone reached during startup.
+     *
+     * @param name          - a String with the name of the milestone.
+     * @param at            - a long with the time the milestone was reached, in
+     *                      milliseconds since the JVM started.
+     * @param classesLoaded - a long with the total amount of classes loaded by
+     *                      then.
+     * @param compileMillis - a long with the total milliseconds spent on JIT
+     *                      compilation by then, or <code>-1</code> if unknown.
+     */
+    public record Milestone(String name, long at, long classesLoaded, long compileMillis) {
+        @Override
+        public String toString() {
+            return name + " reached at +" + at + " ms (" + classesLoaded + " classes loaded)";
+        }
+        
+        /**
+         * Gets this milestone as a JSON object.
+         *
+         * @return a JSONObject with each of the milestone's values.
+         */
+        public JSONObject toJSON() {
+            return new JSONObject().put("name", name).put("at", at).put("classesLoaded", classesLoaded).put("compileMillis", compileMillis);
+        }
+    }
+    
+    /** The time startup began, in nanoseconds. */
+    private final long origin = System.nanoTime();
+    /** The time startup began, in milliseconds since the JVM started. */
+    private final long originUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+    /** The JVM's class loading counters. */
+    private final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+    /** The JVM's JIT compilation counters, or <code>null</code> if it has no JIT compiler. */
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    /** The executor which runs the phases. */
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "PiPAA-Startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The future of each phase, mapped by name. */
+    private final Map<String, CompletableFuture<?>> phases = new ConcurrentHashMap<>();
+    /** The timing of each completed phase, in the order they completed. */
+    private final List<Timing> timings = new ArrayList<>();
+    /** The milestones reached so far, in the order they were reached. Guarded by {@link #timings}. */
+    private final List<Milestone> milestones = new ArrayList<>();
+    
+    /**
+     * Adds a phase which runs the passed task once the named dependencies
+     * complete.
+     *
+     * @param name  - a String with the name of the phase.
+     * @param task  - the {@link PiPRunnable} task to run.
+     * @param after - a String varargs with the names of the phases which must
+     *              complete first.
+     * @return a CompletableFuture which completes after the task has run.
+     */
+    public CompletableFuture<Void> run(String name, PiPRunnable task, String... after) {
+        return supply(name, () -> {
+            task.run();
+            return null;
+        }, after);
+    }
+    
+    /**
+     * Adds a phase which supplies a result once the named dependencies complete.
+     *
+     * @param <T>   - the type of the phase's result.
+     * @param name  - a String with the name of the phase.
+     * @param task  - the {@link Callable} task which supplies the result.
+     * @param after - a String varargs with the names of the phases which must
+     *              complete first.
+     * @return a CompletableFuture which completes with the task's result.
+     * @throws IllegalArgumentException if a phase with the same name was already
+     *                                  added, or a dependency has not been added.
+     */
+    public <T> CompletableFuture<T> supply(String name, Callable<T> task, String... after) {
+        final CompletableFuture<?>[] deps = new CompletableFuture<?>[after.length];
+        for (int i = 0; i < after.length; i++) {
+            deps[i] = phases.get(after[i]);
+            if (deps[i] == null) throw new IllegalArgumentException("Startup phase \"" + name + "\" depends on unknown phase \"" + after[i] + "\".");
+        }
+        
+        final CompletableFuture<T> phase = CompletableFuture.allOf(deps).thenApplyAsync(v -> {
+            final long start   = now();
+            final long classes = classLoading.getTotalLoadedClassCount();
+            final long compile = compileMillis();
+            boolean failed = true;
+            try {
+                final T result = task.call();
+                failed = false;
+                return result;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                final long compiled = compileMillis();
+                record(new Timing(name, start, now() - start, failed, classLoading.getTotalLoadedClassCount() - classes,
+                        compile < 0 || compiled < 0 ? -1 : compiled - compile));
+            }
+        }, executor);
+        if (phases.putIfAbsent(name, phase) != null) throw new IllegalArgumentException("Startup phase \"" + name + "\" already exists.");
+        return phase;
+    }
+    
+    /**
+     * Marks the named milestone as reached now.
+     *
+     * @param name - a String with the name of the milestone.
+     * @return the {@link Milestone}.
+     */
+    public Milestone mark(String name) {
+        final Milestone milestone = new Milestone(name, now(), classLoading.getTotalLoadedClassCount(), compileMillis());
+        synchronized (timings) {
+            milestones.add(milestone);
+        }
+        System.out.println("[STARTUP] " + milestone);
+        return milestone;
+    }
+    
+    /**
+     * Waits for the named phase to complete, then gets its result.
+     *
+     * @param <T>  - the type of the phase's result.
+     * @param name - a String with the name of the phase.
+     * @return the result of the phase, which is <code>null</code> for phases
+     *         added with {@link #run(String, PiPRunnable, String...)}.
+     * @throws Exception if the phase, or one of its dependencies, threw an
+     *                   exception. The original exception is thrown, rather than
+     *                   a wrapper.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T await(String name) throws Exception {
+        final CompletableFuture<?> phase = phases.get(name);
+        if (phase == null) throw new IllegalArgumentException("Unknown startup phase \"" + name + "\".");
+        try {
+            return (T) phase.get();
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+            if (cause instanceof Exception e) throw e;
+            throw ee;
+        }
+    }
+    
+    /**
+     * Gets the timings of the phases which have completed so far, in the order
+     * they completed.
+     *
+     * @return a List of each {@link Timing}.
+     */
+    public List<Timing> timings() {
+        synchronized (timings) {
+            return List.copyOf(timings);
+        }
+    }
+    
+    /**
+     * Gets the milestones reached so far, in the order they were reached.
+     *
+     * @return a List of each {@link Milestone}.
+     */
+    public List<Milestone> milestones() {
+        synchronized (timings) {
+            return List.copyOf(milestones);
+        }
+    }
+    
+    /**
+     * Gets a summary of the phases which have completed so far, with one phase
+     * per line, followed by the milestones and the total elapsed time.
+     *
+     * @return a String with the summary.
+     */
+    public String report() {
+        final StringBuilder sb = new StringBuilder("[STARTUP] Phase timings:");
+        for (final Timing timing : timings()) sb.append("\n\t").append(timing);
+        for (final Milestone milestone : milestones()) sb.append("\n\t").append(milestone);
+        return sb.append("\n\tTotal: ").append(now()).append(" ms since JVM start").toString();
+    }
+    
+    /**
+     * Gets the complete trace of the phases and milestones so far as JSON,
+     * along with the JVM totals and arguments, so reports from different
+     * launches or JVM configurations can be compared.
+     *
+     * @return a JSONObject with the trace.
+     */
+    public JSONObject toJSON() {
+        final JSONArray phaseArr = new JSONArray();
+        for (final Timing timing : timings()) phaseArr.put(timing.toJSON());
+        final JSONArray milestoneArr = new JSONArray();
+        for (final Milestone milestone : milestones()) milestoneArr.put(milestone.toJSON());
+        
+        final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        return new JSONObject()
+                .put("jvm", new JSONObject()
+                        .put("version", runtime.getVmVersion())
+                        .put("name", runtime.getVmName())
+                        .put("arguments", new JSONArray(runtime.getInputArguments())))
+                .put("startupBegan", originUptime)
+                .put("total", now())
+                .put("classesLoaded", classLoading.getTotalLoadedClassCount())
+                .put("compileMillis", compileMillis())
+                .put("phases", phaseArr)
+                .put("milestones", milestoneArr);
+    }
+    
+    /**
+     * Writes the trace, as returned by {@link #toJSON()}, to the passed file,
+     * replacing it if it exists.
+     *
+     * @param file - the File to write to.
+     * @throws IOException if the file could not be written.
+     */
+    public void writeReport(File file) throws IOException {
+        if (file.getParent() != null) PiPAAUtils.ensureExistence(file.getParent());
+        Files.writeString(file.toPath(), toJSON().toString(2), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Gets the current time, in milliseconds since the JVM started. The time is
+     * measured with {@link System#nanoTime()}, so it is monotonic.
+     *
+     * @return a long with the current time.
+     */
+    private long now() {
+        return originUptime + millisSince(origin, System.nanoTime());
+    }
+    
+    /**
+     * Gets the total time spent on JIT compilation.
+     *
+     * @return a long with the milliseconds spent on JIT compilation, or
+     *         <code>-1</code> if the JVM does not track it.
+     */
+    private long compileMillis() {
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported() ? compilation.getTotalCompilationTime() : -1;
+    }
+    
+    /**
+     * Records and logs the timing of a completed phase.
+     *
+     * @param timing - the {@link Timing} to record.
+     */
+    private void record(Timing timing) {
+        synchronized (timings) {
+            timings.add(timing);
+        }
+        System.out.println("[STARTUP] " + timing);
+    }
+    
+    /**
+     * Gets the milliseconds between the two passed times.
+     *
+     * @param from - a long with the earlier time, in nanoseconds.
+     * @param to   - a long with the later time, in nanoseconds.
+     * @return a long with the elapsed milliseconds.
+     */
+    private static long millisSince(long from, long to) {
+        return (to - from) / 1_000_000L;
+    }
+}
@@ -3,6 +3,8 @@ package dev.mwhitney.main;
 import java.awt.Color;
 import java.awt.Image;
 import java.awt.Toolkit;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +39,9 @@ import dev.mwhitney.properties.PiPProperty.THEME_OPTION;
 import dev.mwhitney.properties.PiPProperty.THEME_OPTION.COLOR;
 import dev.mwhitney.properties.PropertyListener;
 import dev.mwhitney.resources.AppRes;
+import dev.mwhitney.update.PiPUpdater;
+import dev.mwhitney.update.PiPUpdater.AppUpdate;
+import dev.mwhitney.update.PiPUpdater.PiPUpdateResult;
 import dorkbox.systemTray.Checkbox;
 import dorkbox.systemTray.Entry;
 import dorkbox.systemTray.Menu;
@@ -122,6 +127,8 @@ public class Tray implements PropertyListener {
     private List<JComponent> itemComps;
     /** The menu checkbox for enabling/disabling global mute. */
     private Checkbox entryGlobalMute;
+    /** The menu item offering an available application update, which is only in the menu while one is available. */
+    private MenuItem entryAppUpdate;
 
     /** The listener for the tray which communicates back up and to other objects, primarily a {@link PiPWindowManager}. */
     private PiPTrayAdapter listener;
@@ -256,6 +263,14 @@ public class Tray implements PropertyListener {
         final MenuItem restAllWindowsItem = new MenuItem("Restore All Windows",  evt -> listener.restoreWindows());
         final MenuItem hideAllWindowsItem = new MenuItem("Hide All Windows",     evt -> listener.hideWindows());
         final MenuItem showAllWindowsItem = new MenuItem("Show All Windows",     evt -> listener.showWindows());
+        final MenuItem exportStatsItem    = new MenuItem("Export Playback Stats...", evt -> CompletableFuture.runAsync(() -> {
+            try {
+                final File csv = listener.exportPlaybackStats();
+                if (csv != null) TopDialog.showMsg("Exported playback statistics to:\n" + csv.getAbsolutePath(), "Playback Statistics", JOptionPane.INFORMATION_MESSAGE);
+            } catch (IOException e) {
+                TopDialog.showMsg("Failed to export playback statistics:\n" + e.getMessage(), "Playback Statistics", JOptionPane.ERROR_MESSAGE);
+            }
+        }, CFExec.VIRTUAL_EXECUTOR));
         final MenuItem addItem            = new MenuItem("Add Window",           evt -> listener.addWindow());
         final MenuItem removeItem         = new MenuItem("Remove Window",        evt -> listener.removeWindow());
         final MenuItem clearItem          = new MenuItem("Clear Windows",        evt -> listener.clearWindows());
@@ -281,6 +296,7 @@ public class Tray implements PropertyListener {
         imgMap.put(restAllWindowsItem, new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_RESTORE))));
         imgMap.put(hideAllWindowsItem, new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_HIDE))));
         imgMap.put(showAllWindowsItem, new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_SHOW))));
+        imgMap.put(exportStatsItem,    new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_INFO))));
         imgMap.put(addItem,            new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_ADD))));
         imgMap.put(removeItem,         new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_REMOVE))));
         imgMap.put(clearItem,          new InvertibleImage(Toolkit.getDefaultToolkit().getImage(Tray.class.getResource(AppRes.ICON_TRAY_CLEAR))));
@@ -301,6 +317,8 @@ public class Tray implements PropertyListener {
         globalItem.add(restAllWindowsItem);
         globalItem.add(hideAllWindowsItem);
         globalItem.add(showAllWindowsItem);
+        globalItem.add(new Separator());
+        globalItem.add(exportStatsItem);
         
         // Add Menu Items to Context Menu
         menu.add(aboutItem).setShortcut('i');
@@ -440,6 +458,38 @@ public class Tray implements PropertyListener {
         tray.shutdown(() -> System.exit(0));
     }
     
+    /**
+     * Offers the passed application update to the user through the context menu.
+     * An entry for the update is added to the top of the menu, replacing any
+     * previous one. Selecting it asks the user to confirm the update, then exits
+     * the application so it can be installed.
+     * 
+     * @param update - the {@link AppUpdate} to offer.
+     * @since 0.9.5
+     */
+    public void offerAppUpdate(AppUpdate update) {
+        if (entryAppUpdate != null) menu.remove(entryAppUpdate);
+        entryAppUpdate = new MenuItem("Update Available: " + update.build() + "...", evt -> CompletableFuture.runAsync(() -> {
+            // Do not stack update requests.
+            if (!PiPUpdater.APP_UPDATING.compareAndSet(false, true)) return;
+            
+            final PiPUpdateResult result = PiPUpdater.promptAppUpdate(update);
+            if (result.updated()) {
+                this.propertyChanged(PiPProperty.APP_UPDATING_FROM, AppRes.APP_BUILD.toString());
+                listener.applicationClosing();
+                exit();
+                return;
+            }
+            if (result.hasException()) TopDialog.showMsg(result.exception().getUserFriendlyErrorMessage(), "Update Error", JOptionPane.ERROR_MESSAGE);
+            
+            // The update was declined or failed. The entry stays so it can be retried, but stop advertising it.
+            tray.setTooltip(AppRes.APP_NAME);
+            PiPUpdater.APP_UPDATING.set(false);
+        }, CFExec.VIRTUAL_EXECUTOR));
+        menu.add(entryAppUpdate, 0);
+        tray.setTooltip(AppRes.APP_NAME + " - Update Available");
+    }
+    
     /**
      * Updates this Tray's status within the context menu.
      * 
@@ -0,0 +1,343 @@
+package dev.mwhitney.media;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import dev.mwhitney.main.Binaries;
+import dev.mwhitney.main.Binaries.Bin;
+import dev.mwhitney.resources.AppRes;
+import dev.mwhitney.util.PiPAAUtils;
+
+/**
+ * A cache of converted media, keyed by the content of the source media rather
+ * than its name. Two different files with the same name no longer collide, and
+ * a renamed copy of a file reuses its existing conversion, across windows and
+ * sessions.
+ * <p>
+ * Each converted file has a sidecar file next to it, which records the hash of
+ * the source, the converter, its options, and the converter's version. A
+ * conversion is only reused if its sidecar matches. The version is the one
+ * reported by the binary that actually runs, so updating a converter, or
+ * switching to the system's copy, invalidates its previous conversions. Those
+ * are deleted once found, then converted again.
+ * <p>
+ * Conversions are written to a temporary file first and then moved into place,
+ * so an interrupted conversion never leaves a partial result in the cache.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class ConversionCache {
+    /**
+     * A single conversion of a source into a format, using a specific converter
+     * with specific options. Get one via
+     * {@link ConversionCache#of(File, Bin, String, String)} or
+     * {@link ConversionCache#of(File, String, String, String, String)}.
+     */
+    public static final class Conversion {
+        /** The hash of the source media's content. */
+        private final String sourceHash;
+        /** The name of the converter. */
+        private final String converter;
+        /** The version of the converter. */
+        private final String version;
+        /** The options passed to the converter. */
+        private final String options;
+        /** The converted file, which may not exist yet. */
+        private final File file;
+        /** The sidecar file, which describes the converted file. */
+        private final File sidecar;
+        
+        /**
+         * Creates a new Conversion.
+         *
+         * @param sourceHash - a String with the hash of the source media's content.
+         * @param converter  - a String with the name of the converter.
+         * @param version    - a String with the version of the converter.
+         * @param options    - a String with the options passed to the converter.
+         * @param ext        - a String with the file extension of the converted
+         *                   format, without the dot.
+         */
+        private Conversion(String sourceHash, String converter, String version, String options, String ext) {
+            this.sourceHash = sourceHash;
+            this.converter  = converter;
+            this.version    = version;
+            this.options    = options;
+            
+            // Different converters or options produce different results, so they are stored separately.
+            final String key = sha256(sourceHash + "\n" + converter + "\n" + options);
+            final String folder = PiPAAUtils.slashFix(AppRes.APP_CONVERTED_FOLDER + "/");
+            this.file    = new File(folder + key + "." + ext);
+            this.sidecar = new File(folder + key + "." + ext + SIDECAR_EXT);
+        }
+        
+        /**
+         * Gets the converted file, which may not exist yet.
+         *
+         * @return the converted File.
+         */
+        public File file() {
+            return this.file;
+        }
+        
+        /**
+         * Checks if the converted file exists and can be reused. It can only be reused
+         * if its sidecar matches this conversion, including the converter's version.
+         * A converted file whose sidecar does not match is stale, so it is deleted
+         * along with its sidecar.
+         *
+         * @return <code>true</code> if the conversion is cached; <code>false</code>
+         *         otherwise.
+         */
+        public boolean isCached() {
+            if (!this.file.isFile() || !this.sidecar.isFile()) return false;
+            
+            final Properties props = new Properties();
+            try (final Reader reader = Files.newBufferedReader(this.sidecar.toPath(), StandardCharsets.UTF_8)) {
+                props.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                return false;
+            }
+            final boolean matches = this.sourceHash.equals(props.getProperty(PROP_SOURCE))
+                    && this.converter.equals(props.getProperty(PROP_CONVERTER))
+                    && this.options.equals(props.getProperty(PROP_OPTIONS))
+                    && this.version.equals(props.getProperty(PROP_VERSION));
+            if (!matches) drop();
+            return matches;
+        }
+        
+        /**
+         * Deletes the converted file and its sidecar. Failing to delete them is not
+         * fatal, as they are replaced by the next commit anyway, so it is only logged.
+         */
+        private void drop() {
+            try {
+                Files.deleteIfExists(this.sidecar.toPath());
+                Files.deleteIfExists(this.file.toPath());
+                System.out.println("Deleted stale conversion: " + this.file.getName());
+            } catch (IOException e) {
+                System.err.println("Failed to delete stale conversion: " + e.getMessage());
+            }
+        }
+        
+        /**
+         * Creates an empty, uniquely-named temporary file next to the converted file,
+         * which the converter should write to before being {@link #commit(File)
+         * committed}. The temporary file keeps the extension of the converted file,
+         * as converters often choose the output format based on it.
+         *
+         * @return the temporary File.
+         * @throws IOException if the temporary file could not be created.
+         */
+        public File temp() throws IOException {
+            PiPAAUtils.ensureExistence(this.file.getParent());
+            final String name = this.file.getName();
+            final int dot = name.lastIndexOf('.');
+            return Files.createTempFile(this.file.getParentFile().toPath(), name.substring(0, dot) + ".", ".part" + name.substring(dot)).toFile();
+        }
+        
+        /**
+         * Commits a finished conversion by moving the passed temporary file into
+         * place as the converted file, then writing its sidecar. Any existing
+         * converted file, such as an outdated one or one committed by another window
+         * meanwhile, is replaced.
+         *
+         * @param temp - the temporary File that the converter wrote to.
+         * @throws IOException if the file could not be moved or the sidecar could not
+         *                     be written.
+         */
+        public void commit(File temp) throws IOException {
+            // Remove the outdated sidecar first, so the converted file is never paired with the wrong one.
+            Files.deleteIfExists(this.sidecar.toPath());
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            
+            final Properties props = new Properties();
+            props.setProperty(PROP_SOURCE,    this.sourceHash);
+            props.setProperty(PROP_CONVERTER, this.converter);
+            props.setProperty(PROP_OPTIONS,   this.options);
+            props.setProperty(PROP_VERSION,   this.version);
+            // Write the sidecar to a temporary file first, so a partial sidecar is never read as a mismatch.
+            final File tempSidecar = new File(temp.getPath() + SIDECAR_EXT);
+            try (final OutputStream out = Files.newOutputStream(tempSidecar.toPath())) {
+                props.store(out, "PiPAA Conversion");
+            }
+            Files.move(tempSidecar.toPath(), this.sidecar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * The hash of a file, along with the file details it was computed for.
+     *
+     * @param size     - a long with the size of the file.
+     * @param modified - a long with the last modified time of the file.
+     * @param hash     - a String with the hash of the file's content.
+     */
+    private record FileHash(long size, long modified, String hash) {}
+    
+    /** The extension appended to converted files to get their sidecar files. */
+    private static final String SIDECAR_EXT    = ".properties";
+    /** The sidecar property with the hash of the source media's content. */
+    private static final String PROP_SOURCE    = "source";
+    /** The sidecar property with the name of the converter. */
+    private static final String PROP_CONVERTER = "converter";
+    /** The sidecar property with the options passed to the converter. */
+    private static final String PROP_OPTIONS   = "options";
+    /** The sidecar property with the version of the converter. */
+    private static final String PROP_VERSION   = "version";
+    /** The size, in bytes, of the buffer used when hashing files. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** The hashes of recently hashed files, mapped by their path, so unchanged files are not read again. */
+    private static final Map<String, FileHash> HASHES = new ConcurrentHashMap<>();
+    /** The minimum age, in milliseconds, of a file without a sidecar before it is pruned, so conversions in progress are left alone. */
+    private static final long ORPHAN_AGE = TimeUnit.HOURS.toMillis(1);
+    /** A boolean for whether or not the cache has been pruned of orphaned files during this launch. */
+    private static final AtomicBoolean PRUNED = new AtomicBoolean();
+    
+    /** Private constructor -- static access only. */
+    private ConversionCache() {}
+    
+    /**
+     * Clears the remembered hashes of recently hashed files, such as when the
+     * application is idle. Files are simply hashed again when next needed.
+     * 
+     * @since 0.9.5
+     */
+    public static void clearHashes() {
+        HASHES.clear();
+    }
+    
+    /**
+     * Deletes the files in the converted folder which have no sidecar, once per
+     * launch. These are conversions saved under the name of their source before
+     * the cache was keyed by content, which are never looked up again, and
+     * temporary files left behind by interrupted conversions. Files modified
+     * within the last hour are kept, in case a conversion is still writing them.
+     * Failing to delete a file is not fatal, so it is only logged.
+     * 
+     * @since 0.9.5
+     */
+    public static void pruneOrphans() {
+        if (!PRUNED.compareAndSet(false, true)) return;
+        
+        final File[] files = new File(AppRes.APP_CONVERTED_FOLDER).listFiles();
+        if (files == null) return;
+        
+        final long cutoff = System.currentTimeMillis() - ORPHAN_AGE;
+        int pruned = 0;
+        for (final File f : files) {
+            if (!f.isFile() || f.getName().endsWith(SIDECAR_EXT) || f.lastModified() > cutoff
+                    || new File(f.getPath() + SIDECAR_EXT).isFile())
+                continue;
+            
+            try {
+                Files.deleteIfExists(f.toPath());
+                pruned++;
+            } catch (IOException e) {
+                System.err.println("Failed to delete orphaned conversion: " + e.getMessage());
+            }
+        }
+        if (pruned > 0) System.out.println("Deleted " + pruned + " orphaned conversion(s).");
+    }
+    
+    /**
+     * Gets the conversion of the passed source using one of the binaries. The
+     * conversion uses the version reported by the binary that runs, via
+     * {@link Binaries#reportedVersion(Bin)}, so it may run the binary once.
+     *
+     * @param source  - the source File to convert.
+     * @param bin     - the {@link Bin} which converts the source.
+     * @param options - a String with the options passed to the binary, which
+     *                affect its result.
+     * @param ext     - a String with the file extension of the converted format,
+     *                without the dot.
+     * @return the {@link Conversion}.
+     * @throws IOException if the source could not be read for hashing.
+     */
+    public static Conversion of(File source, Bin bin, String options, String ext) throws IOException {
+        return of(source, bin.exeless(), Binaries.reportedVersion(bin), options, ext);
+    }
+    
+    /**
+     * Gets the conversion of the passed source using the passed converter.
+     *
+     * @param source    - the source File to convert.
+     * @param converter - a String with the name of the converter.
+     * @param version   - a String with the version of the converter.
+     * @param options   - a String with the options passed to the converter, which
+     *                  affect its result.
+     * @param ext       - a String with the file extension of the converted format,
+     *                  without the dot.
+     * @return the {@link Conversion}.
+     * @throws IOException if the source could not be read for hashing.
+     */
+    public static Conversion of(File source, String converter, String version, String options, String ext) throws IOException {
+        return new Conversion(hash(source), Objects.requireNonNull(converter, "Cannot convert using a null converter."),
+                Objects.toString(version, ""), Objects.toString(options, ""), Objects.requireNonNull(ext, "Cannot convert to a null extension."));
+    }
+    
+    /**
+     * Hashes the content of the passed file using SHA-256. The hash is remembered
+     * for as long as the file's size and last modified time stay the same.
+     *
+     * @param file - the File to hash.
+     * @return a String with the lowercase, hexadecimal hash.
+     * @throws IOException if the file could not be read.
+     */
+    public static String hash(final File file) throws IOException {
+        Objects.requireNonNull(file, "Cannot hash a null file.");
+        
+        final String path = file.getAbsolutePath();
+        final long size = file.length(), modified = file.lastModified();
+        final FileHash known = HASHES.get(path);
+        if (known != null && known.size() == size && known.modified() == modified) return known.hash();
+        
+        final MessageDigest digest = digest();
+        try (final InputStream in = Files.newInputStream(file.toPath())) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) digest.update(buffer, 0, read);
+        }
+        final String hash = HexFormat.of().formatHex(digest.digest());
+        HASHES.put(path, new FileHash(size, modified, hash));
+        return hash;
+    }
+    
+    /**
+     * Hashes the passed String using SHA-256.
+     *
+     * @param s - the String to hash.
+     * @return a String with the lowercase, hexadecimal hash.
+     */
+    private static String sha256(final String s) {
+        return HexFormat.of().formatHex(digest().digest(s.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * Creates a new SHA-256 {@link MessageDigest}.
+     *
+     * @return the MessageDigest.
+     */
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException("SHA-256 is unavailable.", e);
+        }
+    }
+}
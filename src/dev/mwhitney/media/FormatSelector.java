@@ -0,0 +1,75 @@
+package dev.mwhitney.media;
+
+/**
+ * Selects the video rendition to request from web media binaries, such as
+ * yt-dlp, based on the size the video will actually be displayed at.
+ * <p>
+ * Streaming and decoding a rendition far larger than the window wastes both
+ * bandwidth and CPU, which adds up quickly with several small windows. Instead,
+ * the display height is rounded up to the nearest common rendition height, then
+ * limited by the user's configured maximum, if any. The result is passed to
+ * yt-dlp as a format sort, such as <code>-S res:720</code>, which prefers the
+ * largest rendition up to that height.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class FormatSelector {
+    /** The common video rendition heights, in ascending order. */
+    private static final int[] HEIGHTS = { 144, 240, 360, 480, 720, 1080, 1440, 2160, 4320 };
+    
+    /** Private constructor -- static access only. */
+    private FormatSelector() {}
+    
+    /**
+     * Determines the rendition height to request for a video displayed at the
+     * passed height.
+     *
+     * @param displayHeight - an int with the height, in physical pixels, that the
+     *                      video will be displayed at.
+     * @param cap           - an int with the maximum height to request, or
+     *                      <code>0</code> if there is no maximum.
+     * @return an int with the rendition height, or <code>0</code> if any height
+     *         is acceptable.
+     */
+    public static int targetHeight(final int displayHeight, final int cap) {
+        int target = 0;
+        if (displayHeight > 0) {
+            for (final int height : HEIGHTS) {
+                if (height >= displayHeight) {
+                    target = height;
+                    break;
+                }
+            }
+        }
+        // Apply the user's maximum, which also applies when the display needs more than the largest rendition.
+        if (cap > 0 && (target == 0 || target > cap)) target = cap;
+        return target;
+    }
+    
+    /**
+     * Checks if media requested at the current rendition height should be
+     * upgraded to the target height.
+     *
+     * @param current - an int with the rendition height the media was requested
+     *                at, or <code>0</code> if it was not limited.
+     * @param target  - an int with the rendition height that would be requested
+     *                now, or <code>0</code> if any height is acceptable.
+     * @return <code>true</code> if the target is higher than the current height;
+     *         <code>false</code> otherwise.
+     */
+    public static boolean shouldUpgrade(final int current, final int target) {
+        return current > 0 && (target == 0 || target > current);
+    }
+    
+    /**
+     * Gets the yt-dlp format sort argument for the passed rendition height, which
+     * follows the <code>-S</code> option.
+     *
+     * @param height - an int with the rendition height.
+     * @return a String with the format sort argument.
+     */
+    public static String sortArg(final int height) {
+        return "res:" + height;
+    }
+}
@@ -0,0 +1,131 @@
+package dev.mwhitney.media;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import dev.mwhitney.resources.AppRes;
+import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
+import uk.co.caprica.vlcj.factory.discovery.NativeDiscovery;
+
+/**
+ * A pool of shared {@link MediaPlayerFactory} instances, each of which is a
+ * full LibVLC instance. Creating a factory is expensive, as LibVLC loads and
+ * scans its plugins, and each instance holds its own native memory. Since the
+ * factory arguments only differ by a few configuration options, windows with the
+ * same arguments share a single factory and create their players from it.
+ * <p>
+ * Factories are reference counted. Each {@link #acquire(List)} must be paired
+ * with a {@link #release(MediaPlayerFactory)} once the player created from it
+ * has been released. When the last reference is released, the factory itself is
+ * released.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class MediaPlayerFactoryPool {
+    /**
+     * A pooled factory, along with the count of players currently using it.
+     */
+    private static class Entry {
+        /** The arguments the factory was created with. */
+        private final List<String> args;
+        /** The shared factory. */
+        private final MediaPlayerFactory factory;
+        /** The amount of players currently using the factory. */
+        private int refs;
+        /** A boolean for whether or not the factory is still handed out by the pool. */
+        private boolean pooled = true;
+
+        /**
+         * Creates a new pool entry.
+         *
+         * @param args    - the List of arguments the factory was created with.
+         * @param factory - the shared {@link MediaPlayerFactory}.
+         */
+        private Entry(List<String> args, MediaPlayerFactory factory) {
+            this.args    = args;
+            this.factory = factory;
+        }
+    }
+
+    /** The pooled entries, mapped by their factory arguments. */
+    private static final Map<List<String>, Entry> POOL = new HashMap<>();
+    /** All entries with active references, including invalidated ones, mapped by their factory. */
+    private static final Map<MediaPlayerFactory, Entry> ACTIVE = new HashMap<>();
+
+    /** Private constructor -- static access only. */
+    private MediaPlayerFactoryPool() {}
+
+    /**
+     * Acquires a shared factory created with the passed arguments, creating it
+     * only if the pool does not already have one. Every call to this method should
+     * be paired with a call to {@link #release(MediaPlayerFactory)}.
+     *
+     * @param args - a List of Strings with the LibVLC arguments.
+     * @return the shared {@link MediaPlayerFactory}.
+     * @throws NullPointerException if the passed arguments are <code>null</code>.
+     */
+    public static synchronized MediaPlayerFactory acquire(final List<String> args) {
+        Objects.requireNonNull(args, "Cannot acquire a factory with null arguments.");
+
+        final List<String> key = List.copyOf(args);
+        Entry entry = POOL.get(key);
+        if (entry == null) {
+            final String[] argsArr = key.toArray(new String[0]);
+            entry = new Entry(key, AppRes.USING_BACKUP_LIBVLC
+                    ? new MediaPlayerFactory((NativeDiscovery) null, argsArr)
+                    : new MediaPlayerFactory(argsArr));
+            POOL.put(key, entry);
+            ACTIVE.put(entry.factory, entry);
+            System.out.println("Created shared LibVLC instance. Instances: " + ACTIVE.size());
+        }
+        entry.refs++;
+        return entry.factory;
+    }
+
+    /**
+     * Releases a reference to the passed factory, which should have been
+     * {@link #acquire(List) acquired} from this pool. When the last reference is
+     * released, the factory is removed from the pool and released. Factories which
+     * did not originate from this pool are ignored.
+     *
+     * @param factory - the {@link MediaPlayerFactory} to release.
+     */
+    public static synchronized void release(final MediaPlayerFactory factory) {
+        final Entry entry = factory != null ? ACTIVE.get(factory) : null;
+        if (entry == null || --entry.refs > 0) return;
+
+        ACTIVE.remove(factory);
+        if (entry.pooled) POOL.remove(entry.args);
+        factory.release();
+        System.out.println("Released shared LibVLC instance. Instances: " + ACTIVE.size());
+    }
+
+    /**
+     * Invalidates the passed factory, such as after one of its players crashed.
+     * The factory is no longer handed out by the pool, so subsequent players use a
+     * new factory. The factory itself is <b>not</b> released, as a crashed player
+     * may still be using it, but it can still be released normally via
+     * {@link #release(MediaPlayerFactory)}.
+     *
+     * @param factory - the {@link MediaPlayerFactory} to invalidate.
+     */
+    public static synchronized void invalidate(final MediaPlayerFactory factory) {
+        final Entry entry = factory != null ? ACTIVE.get(factory) : null;
+        if (entry == null || !entry.pooled) return;
+
+        entry.pooled = false;
+        POOL.remove(entry.args);
+    }
+
+    /**
+     * Gets the amount of factories, or LibVLC instances, currently in use.
+     *
+     * @return an int with the factory count.
+     */
+    public static synchronized int size() {
+        return ACTIVE.size();
+    }
+}
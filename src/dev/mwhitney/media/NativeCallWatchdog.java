@@ -0,0 +1,295 @@
+package dev.mwhitney.media;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs native LibVLC calls with a deadline, so that a frozen player cannot
+ * freeze the code calling it.
+ * <p>
+ * Calls run on a shared, bounded pool of platform threads. Virtual threads are
+ * avoided, as a native call pins its carrier thread. The deadline of a call
+ * starts once it begins running, so time spent waiting behind other calls is
+ * never counted against it. When a running call exceeds its deadline, it is
+ * considered hung. The caller is notified via the passed hang callback, which
+ * should attribute the crash to the window that owns the player. A call which
+ * waits longer than {@link #QUEUE_TIMEOUT} for a thread is dropped instead,
+ * without notifying the hang callback, as the player did nothing wrong.
+ * The hung thread cannot be reclaimed, so the pool grows by one thread to take
+ * its place, up to {@link #MAX_HUNG_CALLS}. A hung call which eventually
+ * returns gives its thread back.
+ * <p>
+ * The latency of each named call is recorded, which is available via
+ * {@link #summary()}.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class NativeCallWatchdog {
+    /** The default deadline, in milliseconds, for native calls. */
+    public static final long DEFAULT_DEADLINE = 2000;
+    /** The amount of threads available for native calls when none are hung. */
+    private static final int THREADS = 4;
+    /** The maximum amount of hung calls that the pool will replace threads for. */
+    private static final int MAX_HUNG_CALLS = 8;
+    /** The maximum time, in milliseconds, that a call waits for a thread before it is dropped. */
+    private static final long QUEUE_TIMEOUT = 10000;
+    /** The progress of a call which is waiting for a thread. */
+    private static final int QUEUED  = 0;
+    /** The progress of a call which is running. */
+    private static final int RUNNING = 1;
+    /** The progress of a call which returned, or was dropped before it started. */
+    private static final int DONE    = 2;
+    /** The progress of a call which is running but exceeded its deadline. */
+    private static final int HUNG_UP = 3;
+    
+    /**
+     * The latency metrics for calls with the same name.
+     */
+    private static class Stats {
+        /** The amount of calls that finished. */
+        private final LongAdder calls = new LongAdder();
+        /** The total time, in nanoseconds, spent in calls that finished. */
+        private final LongAdder totalNanos = new LongAdder();
+        /** The longest time, in nanoseconds, spent in a single call that finished. */
+        private final AtomicLong maxNanos = new AtomicLong();
+        /** The amount of calls that exceeded their deadline. */
+        private final LongAdder hangs = new LongAdder();
+        /** The amount of calls that were dropped before they started. */
+        private final LongAdder drops = new LongAdder();
+        
+        /**
+         * Records a finished call.
+         *
+         * @param nanos - a long with the time, in nanoseconds, spent in the call.
+         */
+        private void record(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+    
+    /** The counter used to number the watchdog threads. */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    /** The factory for the watchdog threads, which are daemons so that a hung call cannot prevent the application from exiting. */
+    private static final ThreadFactory FACTORY = (r) -> {
+        final Thread t = new Thread(r, "PiPAA-Native-" + THREAD_COUNT.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    };
+    /** The shared executor for native calls. */
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), FACTORY);
+    /** The amount of calls which are currently hung. */
+    private static final AtomicInteger HUNG = new AtomicInteger();
+    /** The metrics for each named call, sorted by name. */
+    private static final Map<String, Stats> STATS = new ConcurrentSkipListMap<>();
+    
+    static {
+        // Let idle threads exit after the keep-alive time, so the pool holds no threads while the application is idle.
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+    
+    /** Private constructor -- static access only. */
+    private NativeCallWatchdog() {}
+    
+    /**
+     * Runs the passed native call with the {@link #DEFAULT_DEADLINE}, blocking
+     * until it finishes or its deadline passes.
+     *
+     * @param name   - a String with the name of the call, under which its latency
+     *               is recorded.
+     * @param owner  - the Object which owns the player, used when logging a hang.
+     * @param call   - the Runnable native call.
+     * @param onHang - a Runnable to run if the call exceeds its deadline, or
+     *               <code>null</code> if nothing should run.
+     * @return <code>true</code> if the call finished within its deadline;
+     *         <code>false</code> otherwise.
+     * @see #call(String, Object, Runnable, long, Runnable)
+     */
+    public static boolean call(String name, Object owner, Runnable call, Runnable onHang) {
+        return call(name, owner, call, DEFAULT_DEADLINE, onHang);
+    }
+    
+    /**
+     * Runs the passed native call, blocking until it finishes or its deadline
+     * passes. The deadline starts when the call begins running.
+     * <p>
+     * If the call does not finish in time, it is considered hung and the passed
+     * <code>onHang</code> Runnable is run on the calling thread. A call which
+     * never started, either because it waited longer than
+     * {@link #QUEUE_TIMEOUT} for a thread or because the calling thread was
+     * interrupted, is cancelled without running <code>onHang</code>. If the
+     * call throws an exception, it is rethrown to the caller.
+     *
+     * @param name     - a String with the name of the call, under which its
+     *                 latency is recorded.
+     * @param owner    - the Object which owns the player, used when logging a
+     *                 hang.
+     * @param call     - the Runnable native call.
+     * @param deadline - a long with the maximum time, in milliseconds, to wait for
+     *                 the call once it starts.
+     * @param onHang   - a Runnable to run if the call exceeds its deadline, or
+     *                 <code>null</code> if nothing should run.
+     * @return <code>true</code> if the call finished within its deadline;
+     *         <code>false</code> if it hung or never started.
+     * @throws NullPointerException if the passed name or call is
+     *                              <code>null</code>.
+     * @throws RuntimeException     if the call threw one, which is rethrown as is.
+     */
+    public static boolean call(String name, Object owner, Runnable call, long deadline, Runnable onHang) {
+        Objects.requireNonNull(name, "Cannot watch a native call without a name.");
+        Objects.requireNonNull(call, "Cannot watch a null native call.");
+        
+        final Stats stats = STATS.computeIfAbsent(name, k -> new Stats());
+        // The progress of the call, so that a hung call gives its thread back if it ever returns.
+        final AtomicInteger progress = new AtomicInteger(QUEUED);
+        // The time the call started running, which its deadline is measured from.
+        final CompletableFuture<Long> started = new CompletableFuture<>();
+        final CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            if (!progress.compareAndSet(QUEUED, RUNNING)) return;
+            final long start = System.nanoTime();
+            started.complete(start);
+            try {
+                call.run();
+            } finally {
+                stats.record(System.nanoTime() - start);
+                if (progress.getAndSet(DONE) == HUNG_UP) recovered();
+            }
+        }, EXECUTOR);
+        
+        try {
+            long start;
+            try {
+                start = started.get(QUEUE_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Drop the call if it still has not started. Otherwise, it started just now.
+                if (drop(progress, future)) {
+                    stats.drops.increment();
+                    System.err.println("Native call '" + name + "' was dropped after waiting " + QUEUE_TIMEOUT + "ms for a thread for: " + owner);
+                    return false;
+                }
+                start = started.join();
+            }
+            
+            final long remaining = deadline - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            // Only a running call can time out here, but it may have returned in the meantime.
+            if (!progress.compareAndSet(RUNNING, HUNG_UP)) try {
+                future.join();
+                return true;
+            } catch (CompletionException ce) {
+                throw failure(name, owner, ce.getCause());
+            }
+            stats.hangs.increment();
+            System.err.println("Native call '" + name + "' exceeded its " + deadline + "ms deadline for: " + owner);
+            hung();
+            if (onHang != null) onHang.run();
+            return false;
+        } catch (ExecutionException e) {
+            throw failure(name, owner, e.getCause());
+        } catch (InterruptedException e) {
+            // The caller stopped waiting, which says nothing about the player. Drop the call if it has not started yet.
+            Thread.currentThread().interrupt();
+            drop(progress, future);
+            return false;
+        }
+    }
+    
+    /**
+     * Gets the exception to rethrow for a call which threw the passed cause.
+     * Unchecked exceptions are rethrown as is, while errors are thrown right away.
+     *
+     * @param name  - a String with the name of the call.
+     * @param owner - the Object which owns the player.
+     * @param cause - the Throwable thrown by the call.
+     * @return the RuntimeException to rethrow.
+     */
+    private static RuntimeException failure(String name, Object owner, Throwable cause) {
+        if (cause instanceof Error err) throw err;
+        if (cause instanceof RuntimeException re) return re;
+        return new IllegalStateException("Native call '" + name + "' failed for: " + owner, cause);
+    }
+    
+    /**
+     * Drops the passed call if it has not started running yet.
+     *
+     * @param progress - the AtomicInteger with the progress of the call.
+     * @param future   - the CompletableFuture of the call.
+     * @return <code>true</code> if the call was dropped; <code>false</code> if it
+     *         already started.
+     */
+    private static boolean drop(AtomicInteger progress, CompletableFuture<Void> future) {
+        if (!progress.compareAndSet(QUEUED, DONE)) return false;
+        future.cancel(false);
+        return true;
+    }
+    
+    /**
+     * Grows the pool by one thread to take the place of a hung call, so long as
+     * the maximum amount of hung calls has not been reached.
+     */
+    private static synchronized void hung() {
+        final int hungCalls = HUNG.incrementAndGet();
+        if (hungCalls > MAX_HUNG_CALLS) return;
+        
+        // Grow the maximum before the core size, as the core size cannot exceed it.
+        EXECUTOR.setMaximumPoolSize(THREADS + hungCalls);
+        EXECUTOR.setCorePoolSize(THREADS + hungCalls);
+    }
+    
+    /**
+     * Shrinks the pool by one thread after a hung call eventually returned.
+     */
+    private static synchronized void recovered() {
+        final int hungCalls = HUNG.decrementAndGet();
+        if (hungCalls >= MAX_HUNG_CALLS) return;
+        
+        // Shrink the core size before the maximum, as the core size cannot exceed it.
+        EXECUTOR.setCorePoolSize(THREADS + hungCalls);
+        EXECUTOR.setMaximumPoolSize(THREADS + hungCalls);
+    }
+    
+    /**
+     * Gets the amount of native calls which are currently hung.
+     *
+     * @return an int with the hung call count.
+     */
+    public static int hungCount() {
+        return HUNG.get();
+    }
+    
+    /**
+     * Gets a summary of the native call metrics, with one line for each named
+     * call. Each line contains the amount of calls, their average and maximum
+     * latency, and the amount of hangs and dropped calls.
+     *
+     * @return a String with the metrics summary.
+     */
+    public static String summary() {
+        final StringBuilder summary = new StringBuilder("Native Calls (Hung: ").append(HUNG.get()).append(")");
+        STATS.forEach((name, stats) -> {
+            final long calls = stats.calls.sum();
+            summary.append("\n  ").append(name).append(": ").append(calls).append(" calls, ")
+                .append(String.format("%.1f", calls > 0 ? stats.totalNanos.sum() / (calls * 1_000_000d) : 0d)).append("ms avg, ")
+                .append(String.format("%.1f", stats.maxNanos.get() / 1_000_000d)).append("ms max, ")
+                .append(stats.hangs.sum()).append(" hangs, ")
+                .append(stats.drops.sum()).append(" dropped");
+        });
+        return summary.toString();
+    }
+}
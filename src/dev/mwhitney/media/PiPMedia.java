@@ -1,5 +1,7 @@
 package dev.mwhitney.media;
 
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -11,9 +13,12 @@ import javax.imageio.ImageIO;
 import org.apache.commons.io.FilenameUtils;
 
 import dev.mwhitney.gui.decor.CroppedBufferedImage;
+import dev.mwhitney.gui.viewer.ImageDecoder;
+import dev.mwhitney.gui.viewer.ImageDecoder.ImageHeader;
 import dev.mwhitney.main.Binaries;
 import dev.mwhitney.main.Binaries.Bin;
 import dev.mwhitney.main.Initializer;
+import dev.mwhitney.media.ConversionCache.Conversion;
 import dev.mwhitney.media.PiPMediaAttributes.TYPE;
 import dev.mwhitney.media.attribution.AttributeUpdateAdapter;
 import dev.mwhitney.media.attribution.AttributeUpdateListener;
@@ -30,6 +35,10 @@ import dev.mwhitney.util.PiPAAUtils;
  */
 public class PiPMedia {
     
+    /** The size that images are subsampled down to, at minimum, when checking for transparent edges. */
+    private static final Dimension TRIM_CHECK_SIZE = new Dimension(1024, 1024);
+    /** The fuzz distance used by non-strict trims, matching the <code>-fuzz 4%</code> passed to ImageMagick. */
+    private static final double TRIM_FUZZ = 0.04;
     /** The source of the PiPMedia as a String. */
     private String src;
     /** The source of the PiPMedia's cache as a String. */
@@ -44,6 +53,8 @@ public class PiPMedia {
     private boolean markedForDeletion;
     /** A boolean which becomes permanently <code>true</code> when this media is successfully attributed for the first time. */
     private boolean attributed;
+    /** The video height to request when selecting a web media format, or <code>0</code> if any height is acceptable. */
+    private int formatHeight;
     /**
      * The set of PiPMediaAttributes for the PiPMedia.
      * These attributes can be automatically determined using the {@link PiPMediaAttributor}.
@@ -84,6 +95,7 @@ public class PiPMedia {
         this.loading           =  true;
         this.markedForDeletion =  media.markedForDeletion;
         this.attributed        =  media.attributed;
+        this.formatHeight      =  media.formatHeight;
         this.attributes        = (media.attributes == null ? null : new PiPMediaAttributes(media.attributes));
         this.listener          =  media.listener;
     }
@@ -156,6 +168,10 @@ public class PiPMedia {
      * String. If no conversion was necessary, this method will simply return the
      * media's unmodified source.
      * <p>
+     * Converted media is cached by the content of the source via
+     * {@link ConversionCache}, so the same media is only converted once, even if
+     * it is renamed.
+     * <p>
      * <b>WARNING:</b> The passed source must be locally-accessible. If the file is
      * not already stored locally, then conversion will not be possible.
      * <p>
@@ -174,12 +190,9 @@ public class PiPMedia {
         if (source == null || source.trim().isEmpty() || source.indexOf('.') == -1 || !hasAttributes() || getAttributes().getFileExtension() == null)
             return source;
         
-        // Ensure conversion cache folder exists.
-        PiPAAUtils.ensureExistence(AppRes.APP_CONVERTED_FOLDER);
-        
         // Setup then determine converted media format and what to use to convert the media.
         final File sourceFile = new File(source);
-        String out = PiPAAUtils.slashFix(AppRes.APP_CONVERTED_FOLDER + "/") + FilenameUtils.removeExtension(sourceFile.getName());
+        String outExt = null;
         Bin convBin = null;
         final MediaExt ext = getAttributes().getFileExtension();
         switch (ext) {
@@ -187,16 +200,16 @@ public class PiPMedia {
             convBin = Bin.IMGMAGICK;
         case TIFF:
         case BMP:
-            out += ".png";
+            outExt = "png";
             break;
         case WEBP:
             // If animated, change out path and media's type.
             final boolean animated = checkForAnimatedWEBP(sourceFile);
             if (animated) {
-                out += ".gif";
+                outExt = "gif";
                 getAttributes().setType(TYPE.GIF);
             } else {
-                out += ".png";
+                outExt = "png";
                 getAttributes().setType(TYPE.IMAGE);
             }
             convBin = Bin.IMGMAGICK;
@@ -205,22 +218,32 @@ public class PiPMedia {
             return source;
         }
         
-        // Don't convert again if conversion result already exists.
-        final File outFile = new File(out);
-        if (!outFile.exists()) {
-            try {
-                // Conversion -- Use Java ImageIO or External Binary
-                if (convBin == null)
-                    ImageIO.write(ImageIO.read(sourceFile), out.substring(out.lastIndexOf('.') + 1), outFile);
-                else
-                    Binaries.execAndWait(Binaries.bin(convBin), "\"" + source + "\"", "\"" + out + "\"");
-            } catch (IOException e) {
-                System.err.println("Unexpected error occurred during unsupported media conversion.");
-                return source;
+        // Don't convert again if the same content was already converted by the current converter.
+        File tempFile = null;
+        try {
+            final Conversion conversion = (convBin == null)
+                    ? ConversionCache.of(sourceFile, "ImageIO", System.getProperty("java.version"), null, outExt)
+                    : ConversionCache.of(sourceFile, convBin, null, outExt);
+            if (!conversion.isCached()) {
+                // Conversion -- Use Java ImageIO or External Binary -- Written to a temporary file until done.
+                tempFile = conversion.temp();
+                if (convBin == null) {
+                    if (!ImageIO.write(ImageIO.read(sourceFile), outExt, tempFile))
+                        throw new IOException("No ImageIO writer for format: " + outExt);
+                }
+                else if (Binaries.execAndWait(Binaries.bin(convBin), "\"" + source + "\"", "\"" + tempFile.getPath() + "\"") != 0)
+                    throw new IOException(convBin.exeless() + " failed to convert the media.");
+                conversion.commit(tempFile);
             }
+            final String out = conversion.file().getPath();
+            this.setConvSrc(out);
+            return out;
+        } catch (IOException e) {
+            System.err.println("Unexpected error occurred during unsupported media conversion.");
+            return source;
+        } finally {
+            if (tempFile != null) tempFile.delete();
         }
-        this.setConvSrc(out);
-        return out;
     }
     
     /**
@@ -351,10 +374,24 @@ public class PiPMedia {
         boolean FORCE = (option == TRIM_OPTION.FORCE);
         if (!FORCE) {
             // Check for any transparent edges on the image/first frame of image.
+            // Read the header first. Images without transparency support cannot have transparent edges.
+            final ImageHeader header = ImageDecoder.readHeader(inFile);
+            if (header != null && !header.alpha()) return source;
+            
+            // Static images are trimmed in-process using the exact crop, so they must be read at full resolution.
+            // Other non-strict checks use an image subsampled down to the trim check size, as they tolerate slight inaccuracy.
+            final boolean staticImg = header != null && !header.animatable();
+            final int subsampling = (header == null || staticImg || option == TRIM_OPTION.STRICT) ? 1 : ImageDecoder.subsampling(header.size(), TRIM_CHECK_SIZE);
             CroppedBufferedImage img = null;
             try {
-                img = new CroppedBufferedImage(ImageIO.read(inFile));
-                img.determineCrop((option == TRIM_OPTION.STRICT ? 0 : 5));
+                img = new CroppedBufferedImage(ImageDecoder.read(inFile, subsampling));
+                // In-process trims measure the same color distance from the corners that ImageMagick's trim and fuzz use.
+                if (staticImg) img.determineFuzzyCrop(option == TRIM_OPTION.STRICT ? 0 : TRIM_FUZZ);
+                else           img.determineCrop(option == TRIM_OPTION.STRICT ? 0 : 5);
+                // Trim static images in-process, skipping the ImageMagick process and its extra decode and encode.
+                if (staticImg && img.canCrop() && img.croppedWidth() > 0 && img.croppedHeight() > 0
+                        && writeTrimmed(img.cropped(), header.format(), outFile))
+                    return outFile.getPath();
             } catch (IOException ioe) {
                 ioe.printStackTrace();
                 final Throwable cause = ioe.getCause();
@@ -371,7 +408,7 @@ public class PiPMedia {
             if (!FORCE && !img.canCrop()) return source;
         }
         
-        // Execute trimming command via binary.
+        // Execute trimming command via binary. Used for animated media, forced trims, and any formats Java cannot handle.
         try {
             if (option == TRIM_OPTION.NORMAL || option == TRIM_OPTION.FORCE)
                 Binaries.execAndWait(Binaries.bin(Bin.IMGMAGICK), "-background", "none", "-fuzz", "4%", "\"" + source + "\"",
@@ -387,6 +424,27 @@ public class PiPMedia {
         return cropFilePath;
     }
     
+    /**
+     * Writes the passed, trimmed image to the passed file using the passed format.
+     * If writing fails, any partially written file is deleted.
+     * 
+     * @param trimmed - the trimmed {@link BufferedImage} to write.
+     * @param format  - a String with the {@link ImageIO} format name to write with.
+     * @param outFile - the {@link File} to write to.
+     * @return <code>true</code> if the image was written; <code>false</code>
+     *         otherwise.
+     * @since 0.9.5
+     */
+    private boolean writeTrimmed(final BufferedImage trimmed, final String format, final File outFile) {
+        try {
+            if (ImageIO.write(trimmed, format, outFile)) return true;
+        } catch (IOException ioe) {
+            System.err.println("In-process trim failed, falling back to ImageMagick: " + ioe.getMessage());
+        }
+        outFile.delete();
+        return false;
+    }
+    
     /**
      * Checks if the passed PiPMedia has the same source as this PiPMedia instance.
      * The only criteria that must be met is that the passed object is not
@@ -553,6 +611,31 @@ public class PiPMedia {
         return this;
     }
     
+    /**
+     * Gets the video height to request when selecting a web media format.
+     * 
+     * @return an int with the format height, or <code>0</code> if any height is
+     *         acceptable.
+     * @since 0.9.5
+     */
+    public int getFormatHeight() {
+        return this.formatHeight;
+    }
+    
+    /**
+     * Sets the video height to request when selecting a web media format. This
+     * only affects formats selected after it is set, such as during attribution.
+     * 
+     * @param height - an int with the format height, or <code>0</code> if any
+     *               height is acceptable.
+     * @return this PiPMedia instance.
+     * @since 0.9.5
+     */
+    public PiPMedia setFormatHeight(int height) {
+        this.formatHeight = Math.max(0, height);
+        return this;
+    }
+    
     /**
      * Checks if this PiPMedia is attributed.
      * 
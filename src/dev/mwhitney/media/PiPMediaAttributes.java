@@ -3,6 +3,7 @@ package dev.mwhitney.media;
 import java.awt.Dimension;
 import java.awt.Toolkit;
 import java.util.Objects;
+import java.util.Properties;
 
 import dev.mwhitney.media.attribution.AttributeUpdateListener;
 import dev.mwhitney.media.attribution.PiPMediaAttributor;
@@ -730,6 +731,119 @@ public class PiPMediaAttributes {
         this.listener = aul;
     }
     
+    /**
+     * Stores these attributes in the passed {@link Properties}, with each key
+     * starting with the passed prefix. Attributes which are not set are not
+     * stored. The listener is never stored.
+     * 
+     * @param props  - the {@link Properties} to store the attributes in.
+     * @param prefix - a String with the prefix of each key.
+     * @since 0.9.5
+     * @see {@link #load(Properties, String)} to load the stored attributes.
+     */
+    public void store(Properties props, String prefix) {
+        storeIfSet(props, prefix + "type",         this.type);
+        storeIfSet(props, prefix + "srcType",      this.srcType);
+        storeIfSet(props, prefix + "srcPlatform",  this.srcPlatform);
+        storeIfSet(props, prefix + "title",        this.title);
+        storeIfSet(props, prefix + "extension",    this.fileExtension);
+        storeIfSet(props, prefix + "webSrcDomain", this.webSrcDomain);
+        if (this.size != null) {
+            props.setProperty(prefix + "width",  Integer.toString(this.size.width));
+            props.setProperty(prefix + "height", Integer.toString(this.size.height));
+        }
+        if (this.wmf != null) {
+            storeIfSet(props, prefix + "web.format",    this.wmf.format());
+            storeIfSet(props, prefix + "web.title",     this.wmf.title());
+            storeIfSet(props, prefix + "web.id",        this.wmf.id());
+            storeIfSet(props, prefix + "web.src",       this.wmf.src());
+            storeIfSet(props, prefix + "web.extension", this.wmf.extension());
+            props.setProperty(prefix + "web.item",        Integer.toString(this.wmf.item()));
+            props.setProperty(prefix + "web.audioOnly",   Boolean.toString(this.wmf.audioOnly()));
+            props.setProperty(prefix + "web.usedCookies", Boolean.toString(this.wmf.usedCookies()));
+            if (this.wmf.resolution() != null) {
+                props.setProperty(prefix + "web.width",  Integer.toString(this.wmf.resolutionX()));
+                props.setProperty(prefix + "web.height", Integer.toString(this.wmf.resolutionY()));
+            }
+        }
+    }
+    
+    /**
+     * Loads attributes which were stored in the passed {@link Properties} via
+     * {@link #store(Properties, String)}.
+     * 
+     * @param props  - the {@link Properties} to load the attributes from.
+     * @param prefix - a String with the prefix of each key.
+     * @return the loaded {@link PiPMediaAttributes}, or <code>null</code> if none
+     *         were stored or they are incomplete.
+     * @since 0.9.5
+     */
+    public static PiPMediaAttributes load(Properties props, String prefix) {
+        final PiPMediaAttributes attr = new PiPMediaAttributes();
+        attr.type        = enumOf(TYPE.class,         props.getProperty(prefix + "type"));
+        attr.srcType     = enumOf(SRC_TYPE.class,     props.getProperty(prefix + "srcType"));
+        attr.srcPlatform = enumOf(SRC_PLATFORM.class, props.getProperty(prefix + "srcPlatform"));
+        // Without these, the media cannot be played, so it would need to be attributed again anyway.
+        if (attr.type == null || attr.srcType == null) return null;
+        
+        attr.title         = props.getProperty(prefix + "title");
+        attr.fileExtension = enumOf(MediaExt.class, props.getProperty(prefix + "extension"));
+        attr.webSrcDomain  = props.getProperty(prefix + "webSrcDomain");
+        try {
+            if (props.containsKey(prefix + "width"))
+                attr.setSize(Integer.parseInt(props.getProperty(prefix + "width")), Integer.parseInt(props.getProperty(prefix + "height")));
+            if (props.containsKey(prefix + "web.format")) {
+                final WebMediaFormat wmf = new WebMediaFormat()
+                        .setFormat(enumOf(WebMediaFormat.FORMAT.class, props.getProperty(prefix + "web.format")))
+                        .setTitle(props.getProperty(prefix + "web.title"))
+                        .setID(props.getProperty(prefix + "web.id"))
+                        .setSrc(props.getProperty(prefix + "web.src"))
+                        .setExtension(enumOf(MediaExt.class, props.getProperty(prefix + "web.extension")))
+                        .setItem(Integer.parseInt(props.getProperty(prefix + "web.item", "0")))
+                        .setAudioOnly(Boolean.parseBoolean(props.getProperty(prefix + "web.audioOnly")))
+                        .setUsedCookies(Boolean.parseBoolean(props.getProperty(prefix + "web.usedCookies")));
+                if (props.containsKey(prefix + "web.width"))
+                    wmf.setResolution(Integer.parseInt(props.getProperty(prefix + "web.width")), Integer.parseInt(props.getProperty(prefix + "web.height")));
+                attr.wmf = wmf;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return attr;
+    }
+    
+    /**
+     * Gets the constant of the passed enum with the passed name.
+     * 
+     * @param <E>  - the enum type.
+     * @param type - the Class of the enum.
+     * @param name - a String with the name of the constant.
+     * @return the enum constant, or <code>null</code> if there is none with the
+     *         name.
+     * @since 0.9.5
+     */
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String name) {
+        if (name == null) return null;
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Stores the passed value in the passed {@link Properties}, unless it is
+     * <code>null</code>.
+     * 
+     * @param props - the {@link Properties} to store the value in.
+     * @param key   - a String with the key.
+     * @param value - the Object value, which is stored as a String.
+     * @since 0.9.5
+     */
+    private static void storeIfSet(Properties props, String key, Object value) {
+        if (value != null) props.setProperty(key, value.toString());
+    }
+    
     @Override
     public String toString() {
         return String.format("""
@@ -0,0 +1,156 @@
+package dev.mwhitney.media;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import uk.co.caprica.vlcj.media.MediaStatistics;
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+/**
+ * Samples the decoding and rendering statistics of a single media player over
+ * time. Each {@link Sample} contains the totals reported by LibVLC, along with
+ * the change since the previous sample, which is what reveals problems such as
+ * dropped frames.
+ * <p>
+ * A player is considered to be dropping frames if more than
+ * {@link #DROP_THRESHOLD} of the pictures in the latest sample were lost. The
+ * most recent samples are kept, so they can be exported as CSV.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public class PlaybackStats {
+    /**
+     * A single sample of the media player's statistics.
+     *
+     * @param time           - a long with the time the sample was taken, in
+     *                       epoch milliseconds.
+     * @param decoded        - an int with the total amount of decoded video
+     *                       frames.
+     * @param displayed      - an int with the total amount of displayed pictures.
+     * @param lost           - an int with the total amount of lost pictures.
+     * @param decodedDelta   - an int with the amount of decoded video frames
+     *                       since the previous sample.
+     * @param displayedDelta - an int with the amount of displayed pictures since
+     *                       the previous sample.
+     * @param lostDelta      - an int with the amount of lost pictures since the
+     *                       previous sample.
+     * @param inputKbps      - a float with the input bitrate in kilobits per
+     *                       second.
+     * @param demuxKbps      - a float with the demux bitrate in kilobits per
+     *                       second.
+     */
+    public record Sample(long time, int decoded, int displayed, int lost, int decodedDelta, int displayedDelta, int lostDelta,
+            float inputKbps, float demuxKbps) {
+        /** The header line for CSV exports, which matches {@link #toCSV(String, String)}. */
+        public static final String CSV_HEADER = "window,media,time,decoded,displayed,lost,decoded_delta,displayed_delta,lost_delta,input_kbps,demux_kbps,dropping";
+        
+        /**
+         * Checks if pictures were dropped in this sample, meaning more than
+         * {@link PlaybackStats#DROP_THRESHOLD} of them were lost.
+         *
+         * @return <code>true</code> if dropping frames; <code>false</code>
+         *         otherwise.
+         */
+        public boolean isDropping() {
+            final int pictures = displayedDelta + lostDelta;
+            return lostDelta > 0 && pictures > 0 && lostDelta > pictures * DROP_THRESHOLD;
+        }
+        
+        /**
+         * Gets this sample as a line of CSV, without a line separator.
+         *
+         * @param window - a String identifying the window the sample is from.
+         * @param media  - a String identifying the media the sample is from.
+         * @return a String with the CSV line.
+         */
+        public String toCSV(String window, String media) {
+            return String.join(",", csvField(window), csvField(media), Long.toString(time), Integer.toString(decoded), Integer.toString(displayed),
+                    Integer.toString(lost), Integer.toString(decodedDelta), Integer.toString(displayedDelta), Integer.toString(lostDelta),
+                    String.format("%.1f", inputKbps), String.format("%.1f", demuxKbps), Boolean.toString(isDropping()));
+        }
+        
+        /**
+         * Gets a short summary of this sample, such as for an overlay.
+         *
+         * @return a String with the summary.
+         */
+        public String summary() {
+            return (isDropping() ? "DROPPING FRAMES | " : "") + "Decoded: " + decodedDelta + " | Displayed: " + displayedDelta + " | Lost: " + lostDelta
+                    + " | Input: " + Math.round(inputKbps) + " kbps | Demux: " + Math.round(demuxKbps) + " kbps";
+        }
+    }
+    
+    /** The fraction of pictures which must be lost in a sample for it to be considered dropping frames. */
+    public static final float DROP_THRESHOLD = 0.05f;
+    /** The maximum amount of samples to keep. At the default sampling rate, this is five minutes. */
+    private static final int MAX_HISTORY = 300;
+    /** The factor which converts LibVLC bitrates, in bytes per microsecond, to kilobits per second. */
+    private static final float KBPS_FACTOR = 8000f;
+    
+    /** The reusable statistics object which LibVLC fills in. */
+    private final MediaStatistics stats = new MediaStatistics();
+    /** The most recent samples, with the newest last. */
+    private final Deque<Sample> history = new ArrayDeque<>();
+    
+    /**
+     * Samples the statistics of the passed media player. This performs a native
+     * call, so it should not be called on the EDT.
+     *
+     * @param player - the {@link MediaPlayer} to sample.
+     * @return the new {@link Sample}, or <code>null</code> if the player has no
+     *         statistics, such as when it has no media.
+     */
+    public synchronized Sample sample(MediaPlayer player) {
+        if (!player.media().isValid() || !player.media().info().statistics(stats)) return null;
+        
+        // Totals reset along with the media, so treat a decrease as a fresh start.
+        final Sample last = history.peekLast();
+        final boolean fresh = last == null || stats.decodedVideo() < last.decoded() || stats.picturesDisplayed() < last.displayed();
+        final Sample sample = new Sample(System.currentTimeMillis(), stats.decodedVideo(), stats.picturesDisplayed(), stats.picturesLost(),
+                fresh ? 0 : stats.decodedVideo()      - last.decoded(),
+                fresh ? 0 : stats.picturesDisplayed() - last.displayed(),
+                fresh ? 0 : stats.picturesLost()      - last.lost(),
+                stats.inputBitrate() * KBPS_FACTOR, stats.demuxBitrate() * KBPS_FACTOR);
+        history.addLast(sample);
+        if (history.size() > MAX_HISTORY) history.removeFirst();
+        return sample;
+    }
+    
+    /**
+     * Gets the most recent sample.
+     *
+     * @return the latest {@link Sample}, or <code>null</code> if there are none.
+     */
+    public synchronized Sample latest() {
+        return history.peekLast();
+    }
+    
+    /**
+     * Gets a copy of the kept samples, with the oldest first.
+     *
+     * @return a List of each {@link Sample}.
+     */
+    public synchronized List<Sample> history() {
+        return List.copyOf(history);
+    }
+    
+    /**
+     * Clears all samples, such as when the media changes.
+     */
+    public synchronized void clear() {
+        history.clear();
+    }
+    
+    /**
+     * Escapes the passed value for use as a CSV field.
+     *
+     * @param value - the String value.
+     * @return a String with the escaped value.
+     */
+    private static String csvField(String value) {
+        if (value == null) return "";
+        return (value.contains(",") || value.contains("\"") || value.contains("\n")) ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
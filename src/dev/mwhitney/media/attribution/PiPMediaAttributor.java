@@ -16,6 +16,7 @@ import dev.mwhitney.listeners.PiPSupplier;
 import dev.mwhitney.main.Binaries;
 import dev.mwhitney.main.Binaries.Bin;
 import dev.mwhitney.main.CFExec;
+import dev.mwhitney.media.FormatSelector;
 import dev.mwhitney.media.MediaExt;
 import dev.mwhitney.media.MediaURL;
 import dev.mwhitney.media.PiPMedia;
@@ -154,7 +155,7 @@ public class PiPMediaAttributor implements PropertyListener, ProcessMonitor {
             if (convert && attributes.isWebIndirect()) {
                 System.err.println("Converting Link to Direct: -- " + convert + " and " + attributes.isWebIndirect());
                 attributes.setSrcPlatform(attributeSrcPlatform(murl, attributes.getSrcType()));
-                final String conversion = convertIndirectSrc(link, mediaSrc, attributes.getSrcPlatform());
+                final String conversion = convertIndirectSrc(link, mediaSrc, attributes.getSrcPlatform(), media.getFormatHeight());
                 murl.pointsToFile();
                 if (! mediaSrc.equals(conversion)) {
                     // Try to set source type now. If it throws an error, default to the original media source.
@@ -666,12 +667,19 @@ public class PiPMediaAttributor implements PropertyListener, ProcessMonitor {
      * possible that no direct link will be present, in which case, this method will
      * just return the original source String.
      * 
-     * @param link - the Object source linked to the attribution request.
-     * @param src  - the String indirect web media source.
+     * <p>
+     * If a format height is passed, yt-dlp prefers the largest format up to that
+     * height, rather than the best overall format. This keeps the direct source
+     * from streaming far more than the window can display.
+     * 
+     * @param link         - the Object source linked to the attribution request.
+     * @param src          - the String indirect web media source.
+     * @param formatHeight - an int with the video height to prefer, or
+     *                     <code>0</code> if any height is acceptable.
      * @return the converted source String, or the passed String if conversion was
      *         not possible.
      */
-    private String convertIndirectSrc(Object link, String src, SRC_PLATFORM platform) throws InterruptedException {
+    private String convertIndirectSrc(Object link, String src, SRC_PLATFORM platform, int formatHeight) throws InterruptedException {
         // Change arguments depending upon the platform.
         String[] args = null;
         boolean useYTDLP   = true;
@@ -688,7 +696,9 @@ public class PiPMediaAttributor implements PropertyListener, ProcessMonitor {
             attempts++;
             
             // Determine command arguments based on binary selection.
-            if (useYTDLP)
+            if (useYTDLP && formatHeight > 0)
+                args = new String[] { Binaries.bin(Bin.YT_DLP), "--cookies", AppRes.COOKIES_PATH_ARG, "\"" + src + "\"", "--get-url", "-I", "1", "-f", "b", "-S", FormatSelector.sortArg(formatHeight) };
+            else if (useYTDLP)
                 args = new String[] { Binaries.bin(Bin.YT_DLP), "--cookies", AppRes.COOKIES_PATH_ARG, "\"" + src + "\"", "--get-url", "-I", "1", "-f", "b" };
             else
                 args = new String[] { Binaries.bin(Bin.GALLERY_DL), "--cookies", AppRes.COOKIES_PATH_ARG, "\"" + src + "\"", "--get-url" };
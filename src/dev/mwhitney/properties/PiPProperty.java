@@ -17,6 +17,8 @@ public enum PiPProperty {
     GIF_PLAYBACK_MODE,
     /** The quality of the images in the Swing component viewer when displayed at different resolutions. */
     IMG_SCALING_QUALITY,
+    /** How windows should play media while they are hidden or minimized. */
+    HIDDEN_PLAYBACK,
     /** If Drag and Drop actions should prefer utilizing a link, if available. */
     DND_PREFER_LINK,
     /** A mode which only allows a single window to play at any given time. */
@@ -27,6 +29,8 @@ public enum PiPProperty {
     DEFAULT_VOLUME,
     /** The default playback rate to use for media in newly-created windows. */
     DEFAULT_PLAYBACK_RATE,
+    /** The maximum video height to request for web media, or <code>0</code> if there is no maximum. */
+    MAX_VIDEO_HEIGHT,
     /** If PiPAA should prefer to use the required VLC build already present on the system, if available. */
     USE_SYS_VLC,
     /** If PiPAA should prefer to use the required binaries already present on the system, if available. */
@@ -35,6 +39,10 @@ public enum PiPProperty {
     USE_HW_DECODING,
     /** If PiPAA should attempt to use NVIDIA's RTX Video Super Resolution. Requires {@link #USE_HW_DECODING}. */
     USE_SUPER_RES,
+    /** If windows should sample their playback statistics, which can then be exported or shown in their debug info. */
+    PLAYBACK_STATS,
+    /** If windows should show their sampled playback statistics in an overlay. Requires {@link #PLAYBACK_STATS}. */
+    PLAYBACK_STATS_OVERLAY,
     /** If downloaded media files should be deleted after being closed, erasing them from the cache. */
     DISABLE_CACHE,
     /** If incoming media already exists in the cache, ask if it should be overwritten instead of assuming it shouldn't. */
@@ -47,6 +55,12 @@ public enum PiPProperty {
     CONFIRM_CLOSE_ALL,
     /** Open an empty window after application initialization has completed. */
     OPEN_WINDOW_AT_LAUNCH,
+    /** Save the open windows and restore them after the application launches again. */
+    RESTORE_SESSION,
+    /** The amount of hidden, pre-warmed windows to keep ready so that new windows open near-instantly. */
+    SPARE_WINDOWS,
+    /** The delay, in seconds, after the last window closes before idle memory is reclaimed, or <code>0</code> to never reclaim it. */
+    IDLE_RECLAIM_DELAY,
     /** Allows the window background to become fully transparent so that clicks can pass-through. */
     TRANSPARENT_PASS,
     /** Resets the window opacity when media is closed. */
@@ -93,6 +107,7 @@ public enum PiPProperty {
         case TRIM_TRANSPARENCY_OPTION -> PropDefault.TRIM.toString();
         case GIF_PLAYBACK_MODE        -> PropDefault.PLAYBACK.toString();
         case IMG_SCALING_QUALITY      -> PropDefault.SCALING.toString();
+        case HIDDEN_PLAYBACK          -> PropDefault.HIDDEN.toString();
         case OVERWRITE_CACHE          -> PropDefault.OVERWRITE.toString();
         case APP_UPDATE_TYPE          -> PropDefault.TYPE.toString();
         case APP_UPDATE_FREQUENCY     -> PropDefault.FREQUENCY_APP.toString();
@@ -106,14 +121,20 @@ public enum PiPProperty {
              GLOBAL_MUTED,
              SINGLE_PLAY_MODE,
              DISABLE_CACHE,
+             RESTORE_SESSION,
              RESET_OPACITY_CLOSE,
              APP_UPDATE_FORCE,
              USE_SYS_VLC,
              USE_SYS_BINARIES,
              USE_HW_DECODING,
-             USE_SUPER_RES            -> "false";
+             USE_SUPER_RES,
+             PLAYBACK_STATS,
+             PLAYBACK_STATS_OVERLAY   -> "false";
         case DEFAULT_VOLUME           -> "50";
-        case DEFAULT_PLAYBACK_RATE    -> "1";
+        case MAX_VIDEO_HEIGHT         -> "0";
+        case IDLE_RECLAIM_DELAY       -> "60";
+        case DEFAULT_PLAYBACK_RATE,
+             SPARE_WINDOWS            -> "1";
         // Do Not Have Defaults
         case APP_LAST_UPDATE_CHECK, APP_UPDATING_FROM, BIN_LAST_UPDATE_CHECK,
         // Do Not Have Defaults (Are Not Stored)
@@ -142,6 +163,7 @@ public enum PiPProperty {
         case TRIM_TRANSPARENCY_OPTION -> PropDefault.TRIM;
         case GIF_PLAYBACK_MODE        -> PropDefault.PLAYBACK;
         case IMG_SCALING_QUALITY      -> PropDefault.SCALING;
+        case HIDDEN_PLAYBACK          -> PropDefault.HIDDEN;
         case OVERWRITE_CACHE          -> PropDefault.OVERWRITE;
         case APP_UPDATE_TYPE          -> PropDefault.TYPE;
         case APP_UPDATE_FREQUENCY     -> PropDefault.FREQUENCY_APP;
@@ -166,6 +188,8 @@ public enum PiPProperty {
         public static final PLAYBACK_OPTION  PLAYBACK  = PLAYBACK_OPTION.BASIC;
         /** The default value for the {@link PiPProperty#IMG_SCALING_QUALITY} property: {@link SCALING_OPTION#SMART} */
         public static final SCALING_OPTION   SCALING   = SCALING_OPTION.SMART;
+        /** The default value for the {@link PiPProperty#HIDDEN_PLAYBACK} property: {@link HIDDEN_OPTION#AUDIO_ONLY} */
+        public static final HIDDEN_OPTION    HIDDEN    = HIDDEN_OPTION.AUDIO_ONLY;
         /** The default value for the {@link PiPProperty#OVERWRITE_CACHE} property: {@link OVERWRITE_OPTION#NO} */
         public static final OVERWRITE_OPTION OVERWRITE = OVERWRITE_OPTION.NO;
         /** The default value for the {@link PiPProperty#APP_UPDATE_FREQUENCY} property: {@link FREQUENCY_OPTION#WEEKLY} */
@@ -550,6 +574,35 @@ public enum PiPProperty {
             };
         }
     }
+    /**
+     * Options to go with {@link PiPProperty#HIDDEN_PLAYBACK} which determine how
+     * media plays while its window is hidden or minimized.
+     */
+    public enum HIDDEN_OPTION implements PiPPropertyEnum<HIDDEN_OPTION> {
+        /** Keep playing media normally, including its video. */
+        CONTINUE,
+        /** Keep playing audio, but stop decoding video until the window is shown again. */
+        AUDIO_ONLY,
+        /** Pause media until the window is shown again. */
+        PAUSE;
+        
+        @Override
+        public String label() {
+            return switch (this) {
+            case CONTINUE   -> "▶️ Continue";
+            case AUDIO_ONLY -> "🔈 Audio Only";
+            case PAUSE      -> "⏸️ Pause";
+            };
+        }
+        @Override
+        public String description() {
+            return switch (this) {
+            case CONTINUE   -> "Hidden windows keep playing normally, decoding video even though it cannot be seen.";
+            case AUDIO_ONLY -> "Hidden windows keep playing audio, but stop decoding video until they are shown again. GIFs are paused. Recommended.";
+            case PAUSE      -> "Hidden windows pause their media, then resume where they left off when shown again.";
+            };
+        }
+    }
     /**
      * Options within the {@link PiPProperty#OVERWRITE_CACHE} property.
      */
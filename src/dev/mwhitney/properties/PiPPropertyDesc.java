@@ -16,6 +16,7 @@ public final class PiPPropertyDesc {
         BASIC_GIF_PLAYBACK    = "Basic playback uses an image viewer component instead of VLC to view GIFs. This is smooth and uses less system resources, but has less controls (i.e. playback speed or play/pause).",
         ADV_GIF_PLAYBACK      = "Advanced playback downloads GIF media and converts it to a video format before playing. Only takes effect when \"Basic GIF Playback\" is disabled.",
         IMG_SCALING_QUALITY   = "Choose how to scale images when the window size changes. Smart is recommended. It switches between both modes while maintaining quality. Only affects GIF playback when in \"Basic\" mode.",
+        HIDDEN_PLAYBACK       = "Choose how media plays while its window is hidden or minimized. Stopping video decoding for windows that cannot be seen saves a lot of system resources when running many windows.",
         DND_PREFER_LINK       = "Prefer to source drag and drop media from links, if able. The default is off, which typically results in PiPAA copy/pasting the media directly.",
         SINGLE_PLAY_MODE      = "Only allows one window to play media at a time. Playing media will automatically pause media in any other windows. Pausing the only window playing media will leave all windows paused.",
         GLOBAL_MUTED          = "While enabled, every window is muted. However, each window will remember its own mute state which will take effect when the global mute is disabled.",
@@ -25,12 +26,17 @@ public final class PiPPropertyDesc {
         USE_SYS_BINARIES      = "Prefer to use the yt-dlp, gallery-dl, and ffmpeg binaries installed on the system, as opposed to the ones shipped with PiPAA. For each binary, if it is not found, PiPAA will default to using its own.",
         USE_HW_DECODING       = "Configure new PiPAA windows to utilize hardware acceleration. May improve or destabilize performance, depending on the system and drivers.",
         USE_SUPER_RES         = "Configure new PiPAA windows to be capable of utilizing NVIDIA's RTX Video Super Resolution feature. Requires hardware-accelerated decoding. ONLY AVAILABLE ON LATEST VLC VERSIONS WITH SUPPORTED NVIDIA RTX (GPUs).",
+        SPARE_WINDOWS         = "Keeps hidden windows ready in the background, so new windows open almost instantly. Each spare window uses some memory while waiting. Set to zero to disable.",
+        PLAYBACK_STATS        = "Samples the decoding and rendering statistics of each window once per second. Statistics are shown in each window's debug info and can be exported from the tray menu.",
+        PLAYBACK_STATS_OVERLAY = "Shows the sampled playback statistics over each window's video. Windows dropping frames are highlighted. Requires playback statistics.",
         DISABLE_CACHE         = "Disables the caching of media. Media may still be downloaded in order to be played, but it will be automatically deleted when its window closes.",
         OVERWRITE_CACHE       = "If incoming media already exists under the exact same filename and path, how should PiPAA handle the conflict?",
+        MAX_VIDEO_HEIGHT      = "The highest video quality to request for web media. Windows request a quality that fits their size, and fullscreen windows fit the screen, but never above this. Lower it to save bandwidth.",
         DOWNLOAD_WEB_MEDIA    = "Attempt to download non-local media before playback, which is often necessary. Downloaded media is put in the cache folder, but it will be deleted if the cache is disabled.",
         CONVERT_WEB_INDIRECT  = "Attempts to discover a direct source from an indirect media link. When enabled, more media can be played directly without having to cache it. Can be inconsistent across platforms.",
         CONFIRM_CLOSE_ALL     = "Require confirmation before closing all windows using the shortcut.",
         TRIM_TRANSPARENCY     = "Trims transparent edges from images or GIFs before playing, keeping window edges closer to media content. Trimming can take a while for big or long GIFs. Results are saved to the cache.",
+        RESTORE_SESSION       = "Saves the open windows when closing PiPAA, and periodically while running, then restores them at launch. Minimized windows are restored last, one at a time.",
         TRANSPARENT_PASS      = "Allows clicks to pass-through transparent parts of the window. Useful when viewing images with transparency. Borders remain clickable unless size is locked.",
         RESET_OPACITY_CLOSE   = "Restores the opacity of a window when its media is closed. Consider turning this on if you lose track of your see-through windows after closing media.",
         APP_UPDATES           = "Updates for the entire PiPAA application. Select the type of updates to check for below. Most users can stick with the default."
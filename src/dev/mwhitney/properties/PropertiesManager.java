@@ -89,7 +89,7 @@ public class PropertiesManager {
     /**
      * Writes the current properties to the configuration file.
      */
-    public void writeToPropertiesFile() {
+    public synchronized void writeToPropertiesFile() {
         try (final FileWriter fw = new FileWriter(CONFIG_FILE)) {
             props.store(fw, CONFIG_FILE_DESC);
             fw.close();
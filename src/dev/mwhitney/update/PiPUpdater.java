@@ -4,7 +4,7 @@ import java.io.File;
 import java.lang.ProcessBuilder.Redirect;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JOptionPane;
 
@@ -109,8 +109,34 @@ public class PiPUpdater {
         }
     }
     
-    /** A boolean that is only <code>true</code> when performing or checking for updates. */
-    public static volatile boolean APP_UPDATING, BIN_UPDATING = false;
+    /**
+     * An application update which is available to the user.
+     * 
+     * @param payload - the {@link UpdatePayload} with the update's {@link Build}
+     *                and download link.
+     * @param reason  - a String explaining why the update is offered, such as it
+     *                being newer or more stable.
+     * @author mwhitney57
+     * @since 0.9.5
+     */
+    public record AppUpdate(UpdatePayload payload, String reason) {
+        /**
+         * Gets the {@link Build} of the update.
+         * 
+         * @return the update's {@link Build}.
+         */
+        public Build build() {
+            return payload.build();
+        }
+    }
+    
+    /**
+     * Flags that are only <code>true</code> when performing or checking for
+     * updates. Claim one with <code>compareAndSet(false, true)</code> so that the
+     * tray, the configuration window, and the background scheduler never start
+     * two updates at once.
+     */
+    public static final AtomicBoolean APP_UPDATING = new AtomicBoolean(), BIN_UPDATING = new AtomicBoolean();
     
     /**
      * Checks if the updater should run based on the passed {@link FREQUENCY_OPTION}
@@ -122,7 +148,7 @@ public class PiPUpdater {
      * @return <code>true</code> if the updater should run; <code>false</code>
      *         otherwise.
      */
-    private static boolean shouldUpdate(FREQUENCY_OPTION frequency, String lastCheck) {
+    static boolean shouldUpdate(FREQUENCY_OPTION frequency, String lastCheck) {
         if (frequency == null) return true;
         
         final LocalDateTime now = LocalDateTime.now();
@@ -189,65 +215,115 @@ public class PiPUpdater {
         if (!result.checked()) return result;
         
         try {
-            // Get Latest Version from API
-            final UpdatePayload update = APICommunicator.request(type);
-            if (update == null)        return result.setException(new PiPUpdateException("Could not fetch latest update. Connection issue or API may be down."));
-            if (!update.hasArtifact()) return result.setException(new UpdateUnknownArtifactException());
-            if (!update.hasLink())     return result.setException(new UpdateMissingArtifactException(update.artifact()));
-            if (!update.hasBuild())    return result.setException(new UpdateMissingBuildException());
-            
-            // Get Build Information from Payload
-            final Build updBuild = update.build();
-            final Version updVersion   = updBuild.version();
-            final TYPE_OPTION updType  = updBuild.type();
-            // Get Current Build Information
-            final Version currVersion  = AppRes.APP_BUILD.version();
-            final TYPE_OPTION currType = AppRes.APP_BUILD.type();
-            
-            // Compare Current Version to Version from API -- Eventually Get User Confirmation Before Proceeding with Update
-            final boolean updVerNewer  =  updVersion.newerThan(currVersion),
-                          updVerOlder  =  updVersion.olderThan(currVersion),
-                          updVerSame   = !updVerNewer && !updVerOlder;
-            
-            final StringBuilder prompt = new StringBuilder();
-            
-            // Type configuration should cover the update — This is handled on the API's end.
-            // Is the update less stable, with a newer version? It should anyway, but does the type configuration cover it?
-            if (updType.lessStableThan(currType) && updVerNewer)
-                prompt.append("A newer, but less stable update is available!");
-            // Is the update version older, but more stable?
-            else if (updType.stablerThan(currType) && updVerOlder)
-                prompt.append("An older, but more stable update is available!");
-            // Is the update version the same, but more stable?
-            else if (updType.stablerThan(currType) && updVerSame)
-                prompt.append("A more stable update is available!");
-            // Is the update version newer and at least as stable as the current version?
-            else if (updVerNewer)
-                prompt.append("A new update is available!");
-            // Prompt anyway if forced by passed boolean.
-            else if (force)
-                prompt.append("App update prompt forced.");
-            
-            // Set user prompted and prompt user.
-            final BooleanSupplier userConfirm = () -> {
-                result.setUserPrompted(true);
-                return JOptionPane.showConfirmDialog(null, prompt.toString() + "\nCurrent: " + AppRes.APP_BUILD + "\nLatest: " + update.build()
+            // Get Latest Version from API, then Prompt User if Update is Offered
+            final AppUpdate update = findAppUpdate(type, force);
+            if (update != null) return promptAppUpdate(update);
+        } catch (PiPUpdateException e) { result.setException(e); }
+        return result;
+    }
+    
+    /**
+     * Checks the API for an application update of the passed {@link TYPE_OPTION}
+     * which should be offered to the user. This method does not prompt the user or
+     * update anything, so it is safe to call in the background.
+     * <p>
+     * An update is offered if one of the following conditions are met:
+     * <pre>
+     * - The update build is of the same type and the version is newer.
+     * - The update build is NOT more stable, older, and of the same type as the least stable-allowed build AND...
+     *      - The update build is less stable, but the version is newer.
+     *      - The update build is more stable, but the version is older.
+     * </pre>
+     * 
+     * @param type  - a {@link TYPE_OPTION} for the update release type to check
+     *              for.
+     * @param force - a boolean for if the update should be offered regardless of
+     *              its build.
+     * @return the {@link AppUpdate} to offer, or <code>null</code> if there is no
+     *         update to offer.
+     * @throws PiPUpdateException if the latest update could not be fetched, or is
+     *                            missing information.
+     * @since 0.9.5
+     */
+    public static AppUpdate findAppUpdate(@NotNull TYPE_OPTION type, boolean force) throws PiPUpdateException {
+        final UpdatePayload update;
+        try {
+            update = APICommunicator.request(type);
+        } catch (Exception e) {
+            // Keep the interrupt visible to the caller, e.g. a scheduler shutting down.
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw new PiPUpdateException("Could not fetch latest update. Connection issue or API may be down.", e);
+        }
+        if (update == null)        throw new PiPUpdateException("Could not fetch latest update. Connection issue or API may be down.");
+        if (!update.hasArtifact()) throw new UpdateUnknownArtifactException();
+        if (!update.hasLink())     throw new UpdateMissingArtifactException(update.artifact());
+        if (!update.hasBuild())    throw new UpdateMissingBuildException();
+        
+        // Get Build Information from Payload
+        final Build updBuild = update.build();
+        final Version updVersion   = updBuild.version();
+        final TYPE_OPTION updType  = updBuild.type();
+        // Get Current Build Information
+        final Version currVersion  = AppRes.APP_BUILD.version();
+        final TYPE_OPTION currType = AppRes.APP_BUILD.type();
+        
+        // Compare Current Version to Version from API
+        final boolean updVerNewer  =  updVersion.newerThan(currVersion),
+                      updVerOlder  =  updVersion.olderThan(currVersion),
+                      updVerSame   = !updVerNewer && !updVerOlder;
+        
+        // Type configuration should cover the update — This is handled on the API's end.
+        // Is the update less stable, with a newer version? It should anyway, but does the type configuration cover it?
+        if (updType.lessStableThan(currType) && updVerNewer)
+            return new AppUpdate(update, "A newer, but less stable update is available!");
+        // Is the update version older, but more stable?
+        else if (updType.stablerThan(currType) && updVerOlder)
+            return new AppUpdate(update, "An older, but more stable update is available!");
+        // Is the update version the same, but more stable?
+        else if (updType.stablerThan(currType) && updVerSame)
+            return new AppUpdate(update, "A more stable update is available!");
+        // Is the update version newer and at least as stable as the current version?
+        else if (updVerNewer)
+            return new AppUpdate(update, "A new update is available!");
+        // Offer anyway if forced by passed boolean.
+        else if (force)
+            return new AppUpdate(update, "App update prompt forced.");
+        return null;
+    }
+    
+    /**
+     * Asks the user if they would like to install the passed {@link AppUpdate}.
+     * If they confirm, the update process is started.
+     * <p>
+     * If the update process was started, the {@link PiPUpdateResult#updated()}
+     * method will return <code>true</code>. The application must be closed for the
+     * update to be installed. <b>It is up to the caller of this method to exit the
+     * application in a reasonable amount of time after the {@link PiPUpdateResult}
+     * is returned.</b> If the application remains open, the update attempt will
+     * eventually timeout.
+     * 
+     * @param update - the {@link AppUpdate} to offer.
+     * @return a {@link PiPUpdateResult} with the update process results.
+     * @since 0.9.5
+     */
+    public static PiPUpdateResult promptAppUpdate(@NotNull AppUpdate update) {
+        final PiPUpdateResult result = new PiPUpdateResult(true, true, false, false);
+        final boolean confirmed = JOptionPane.showConfirmDialog(null, update.reason() + "\nCurrent: " + AppRes.APP_BUILD + "\nLatest: " + update.build()
                 + "\n\nWould you like to update? PiPAA will restart automatically.", "PiPAA Update Available", JOptionPane.YES_NO_OPTION) == 0;
-            };
-            // Only process the update if the prompt was given a value and the user confirmed.
-            final boolean processUpdate = ( !prompt.isEmpty() && userConfirm.getAsBoolean() );
-            if (processUpdate) {
-                // Attempt Update -- Determine Variables then Proceed with Execution
-                result.setTriedUpdating(true);
-                final long pid = ProcessHandle.current().pid();
-                final String currExecPath  = new File(PiPUpdater.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
-                final String finalExecCMD = currExecPath.toLowerCase().endsWith("jar") ? ("javaw -jar \"" + currExecPath + "\"") : ("start /B \"\" \"%windir%\\explorer.exe\" \"" + currExecPath + "\"");
-                
-                // Loop Sleep Until This Process has Closed --> Download New Version and Replace --> Run New Version
-                final String args = "for /L %i in (1,1,15) do @tasklist /FI \"PID eq " + pid + "\" | find /c \"" + pid + "\" >nul || (curl -L --clobber -o \"" + currExecPath + "\" " + update.link() + " && " + finalExecCMD + " & exit) & timeout /T 1 >nul";
-                new ProcessBuilder("cmd", "/C", args).redirectOutput(Redirect.DISCARD).redirectError(Redirect.DISCARD).start();
-                result.setUpdated(true);
-            }
+        // Only process the update if the user confirmed.
+        if (!confirmed) return result;
+        
+        try {
+            // Attempt Update -- Determine Variables then Proceed with Execution
+            result.setTriedUpdating(true);
+            final long pid = ProcessHandle.current().pid();
+            final String currExecPath  = new File(PiPUpdater.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+            final String finalExecCMD = currExecPath.toLowerCase().endsWith("jar") ? ("javaw -jar \"" + currExecPath + "\"") : ("start /B \"\" \"%windir%\\explorer.exe\" \"" + currExecPath + "\"");
+            
+            // Loop Sleep Until This Process has Closed --> Download New Version and Replace --> Run New Version
+            final String args = "for /L %i in (1,1,15) do @tasklist /FI \"PID eq " + pid + "\" | find /c \"" + pid + "\" >nul || (curl -L --clobber -o \"" + currExecPath + "\" " + update.payload().link() + " && " + finalExecCMD + " & exit) & timeout /T 1 >nul";
+            new ProcessBuilder("cmd", "/C", args).redirectOutput(Redirect.DISCARD).redirectError(Redirect.DISCARD).start();
+            result.setUpdated(true);
         } catch (Exception e) { result.setException(new PiPUpdateException("Update process failed unexpectedly.", e)); }
         return result;
     }
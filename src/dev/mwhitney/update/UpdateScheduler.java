@@ -0,0 +1,160 @@
+package dev.mwhitney.update;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import dev.mwhitney.properties.PiPProperty;
+import dev.mwhitney.properties.PiPProperty.PropDefault;
+import dev.mwhitney.properties.PropertyListener;
+import dev.mwhitney.update.PiPUpdater.AppUpdate;
+import dev.mwhitney.update.api.Build;
+import dev.mwhitney.update.exceptions.PiPUpdateException;
+
+/**
+ * Checks for updates to the application and its binaries in the background, so
+ * an offline or slow API never delays the user. Checks still respect the
+ * configured update frequencies, so most runs do nothing.
+ * <p>
+ * If the API cannot be reached, the next check is retried sooner, backing off
+ * exponentially from {@link #MIN_BACKOFF} up to the regular
+ * {@link #CHECK_INTERVAL}. When an application update is found, it is passed
+ * to a listener instead of prompting the user directly. Each build is only
+ * passed once.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+public final class UpdateScheduler {
+    /** The delay before the first check, in milliseconds. */
+    private static final long INITIAL_DELAY  = 5000;
+    /** The delay between regular checks, in milliseconds. */
+    private static final long CHECK_INTERVAL = 3600000;
+    /** The delay before retrying the first failed check, in milliseconds. */
+    private static final long MIN_BACKOFF    = 60000;
+    
+    /** The clock which runs the checks. */
+    private final ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread thread = new Thread(r, "PiPAA-Updates");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The listener used to read the update configuration and record when checks happen. */
+    private final PropertyListener props;
+    /** The listener which receives each application update that should be offered to the user. */
+    private final Consumer<AppUpdate> onAppUpdate;
+    /** The current delay before retrying a failed check, in milliseconds, which is <code>0</code> after a successful check. */
+    private long backoff;
+    /** The build of the last application update passed to the listener. */
+    private Build offered;
+    
+    /**
+     * Creates a new UpdateScheduler. Checks do not begin until {@link #start()} is
+     * called.
+     *
+     * @param props       - the {@link PropertyListener} used to read the update
+     *                    configuration and record when checks happen.
+     * @param onAppUpdate - a {@link Consumer} which receives each
+     *                    {@link AppUpdate} that should be offered to the user.
+     *                    Called on the scheduler's thread.
+     */
+    public UpdateScheduler(PropertyListener props, Consumer<AppUpdate> onAppUpdate) {
+        this.props = props;
+        this.onAppUpdate = onAppUpdate;
+    }
+    
+    /**
+     * Starts checking for updates in the background, beginning after
+     * {@link #INITIAL_DELAY}.
+     */
+    public void start() {
+        schedule(INITIAL_DELAY);
+    }
+    
+    /**
+     * Stops checking for updates. Any check which is already running is
+     * interrupted.
+     */
+    public void stop() {
+        clock.shutdownNow();
+    }
+    
+    /**
+     * Schedules the next check after the passed delay, unless stopped.
+     *
+     * @param delay - a long with the delay in milliseconds.
+     */
+    private void schedule(long delay) {
+        if (!clock.isShutdown()) clock.schedule(this::check, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Performs a single round of checks, then schedules the next one. If the
+     * application check failed, the next round happens after the backoff delay
+     * instead of the regular interval.
+     */
+    private void check() {
+        long next = CHECK_INTERVAL;
+        try {
+            if (checkApp()) backoff = 0;
+            else {
+                backoff = (backoff == 0 ? MIN_BACKOFF : Math.min(backoff * 2, CHECK_INTERVAL));
+                next = backoff;
+            }
+            checkBin();
+        } catch (Exception e) {
+            System.err.println("Warning, background update check failed unexpectedly: " + e.getMessage());
+        } finally {
+            schedule(next);
+        }
+    }
+    
+    /**
+     * Checks for an application update, if one is due and no other check is
+     * running. If an update should be offered, and it has not been already, it is
+     * passed to the listener.
+     *
+     * @return <code>true</code> if the check succeeded or was not needed;
+     *         <code>false</code> if it failed.
+     */
+    private boolean checkApp() {
+        final String frequency = props.propertyState(PiPProperty.APP_UPDATE_FREQUENCY, String.class);
+        final String lastCheck = props.propertyState(PiPProperty.APP_LAST_UPDATE_CHECK, String.class);
+        if (!PiPUpdater.shouldUpdate(PropDefault.FREQUENCY_APP.matchAny(frequency), lastCheck)) return true;
+        if (!PiPUpdater.APP_UPDATING.compareAndSet(false, true)) return true;
+        
+        try {
+            final AppUpdate update = PiPUpdater.findAppUpdate(PropDefault.TYPE.matchAny(props.propertyState(PiPProperty.APP_UPDATE_TYPE, String.class)), false);
+            props.propertyChanged(PiPProperty.APP_LAST_UPDATE_CHECK, LocalDateTime.now().toString());
+            if (update != null && !update.build().equals(offered)) {
+                offered = update.build();
+                onAppUpdate.accept(update);
+            }
+            return true;
+        } catch (PiPUpdateException e) {
+            System.err.println("Warning, app update check failed: " + e.getTotalMessage());
+            return false;
+        } finally {
+            PiPUpdater.APP_UPDATING.set(false);
+        }
+    }
+    
+    /**
+     * Updates the binaries, if an update check is due and no other update is
+     * running.
+     */
+    private void checkBin() {
+        if (!PiPUpdater.BIN_UPDATING.compareAndSet(false, true)) return;
+        
+        try {
+            final String frequency = props.propertyState(PiPProperty.BIN_UPDATE_FREQUENCY, String.class);
+            final String lastCheck = props.propertyState(PiPProperty.BIN_LAST_UPDATE_CHECK, String.class);
+            if (PiPUpdater.updateBin(frequency, lastCheck)) // Update last update check time.
+                props.propertyChanged(PiPProperty.BIN_LAST_UPDATE_CHECK, LocalDateTime.now().toString());
+        } finally {
+            PiPUpdater.BIN_UPDATING.set(false);
+        }
+    }
+}
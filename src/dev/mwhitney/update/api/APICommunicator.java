@@ -23,6 +23,21 @@ import dev.mwhitney.util.interfaces.PiPEnum;
 public class APICommunicator {
     /** The base URL for API communicator queries. */
     private static final String BASE_API_URL = "https://pipaa.mwhitney.dev/api";
+    /** The status code of a response which says the requested resource has not been modified. */
+    private static final int HTTP_NOT_MODIFIED = 304;
+    /** The maximum time to wait for a connection to the API. */
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    /** The maximum time to wait for a response from the API. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * The {@link HttpClient} shared by all requests, so connections can be reused
+     * instead of being set up again for each one. It lives as long as the
+     * application, so it is never closed.
+     */
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
     /**
      * An API request, which contains a URL endpoint.
      * 
@@ -106,26 +121,49 @@ public class APICommunicator {
     }
     
     /**
-     * Performs an {@link HttpRequest}, first creating a new resource-safe
-     * {@link HttpClient} to send the request.
+     * Performs the passed API {@link Request} with the shared {@link HttpClient},
+     * then gets the body of the response.
      * <p>
-     * This method was implemented simply to ensure that the process of creating and
-     * using a new {@link HttpClient} remained safe without resource leaks. After
-     * migrating from Java 17 to 21, HttpClient implemented {@link AutoCloseable},
-     * so this is best practice.
+     * The validators of the cached response, if there is one, are sent with the
+     * request. If the API responds that nothing changed, the cached body is
+     * returned without being sent again. Otherwise, the new response is cached.
      * 
-     * @param request - the {@link HttpRequest} to send.
-     * @return an {@link HttpResponse} with the String response.
+     * @param r - the {@link Request} to perform.
+     * @return a String with the response body.
      * @throws IOException          if there is an input/output error during the
-     *                              request.
+     *                              request, or the API responds with an error.
      * @throws InterruptedException if the request communication is interrupted.
      * @since 0.9.5
      */
-    private static HttpResponse<String> httpRequest(HttpRequest request) throws IOException, InterruptedException {
-        // Use try-with-resources to prevent potential resource leak.
-        try (final HttpClient client = HttpClient.newHttpClient()) {
-            return client.send(request, HttpResponse.BodyHandlers.ofString());
+    private static String httpRequest(Request r) throws IOException, InterruptedException {
+        final HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder()
+                    .uri(new URI(r.url()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET();
+        } catch (URISyntaxException urise) {
+            throw new IOException("Error parsing URI while building update request.", urise);
+        }
+        
+        // Send the validators of the cached response, if there is one.
+        final ResponseCache.Entry cached = ResponseCache.get(r);
+        if (cached != null && cached.validatable()) {
+            if (cached.etag()     != null) builder.header("If-None-Match", cached.etag());
+            if (cached.modified() != null) builder.header("If-Modified-Since", cached.modified());
         }
+        
+        final HttpResponse<String> response = CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        final int status = response.statusCode();
+        // Nothing changed since the cached response.
+        if (status == HTTP_NOT_MODIFIED && cached != null) return cached.body();
+        if (status < 200 || status >= 300) throw new IOException("API responded with status code " + status + ".");
+        
+        // Cache the new response.
+        final String body = response.body();
+        ResponseCache.put(r, new ResponseCache.Entry(response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null), body));
+        return body;
     }
     
     /**
@@ -142,25 +180,12 @@ public class APICommunicator {
      * @throws InterruptedException if the request communication is interrupted.
      */
     public static UpdatePayload request(@NotNull Request r) throws IOException, InterruptedException {
-        // Create the HttpRequest.
-        HttpRequest request = null;
-        try {
-            request = HttpRequest.newBuilder()
-                    .uri(new URI(r.url()))
-                    .timeout(Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-        } catch (URISyntaxException urise) {
-            System.err.println("<!> Error parsing URI while building update request.");
-            return null;
-        }
-        
-        // Send the HttpRequest, then get the HttpResponse.
-        final HttpResponse<String> response = httpRequest(request);
+        // Send the HttpRequest, then get the response body.
+        final String body = httpRequest(r);
         // Return if response has no information.
-        if (response.body().isBlank()) return null;
+        if (body == null || body.isBlank()) return null;
         // Otherwise continue and convert body to JSON.
-        final JSONObject json = new JSONObject(response.body());
+        final JSONObject json = new JSONObject(body);
         // Filter information from JSON response body.
         final JSONObject version = json.getJSONObject("version");
         final Version v = new Version(version.getInt("majorVersion"), version.getInt("middleVersion"), version.getInt("minorVersion"));
@@ -0,0 +1,129 @@
+package dev.mwhitney.update.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import dev.mwhitney.resources.AppRes;
+import dev.mwhitney.update.api.APICommunicator.Request;
+import dev.mwhitney.util.PiPAAUtils;
+
+/**
+ * A cache of the latest response to each API {@link Request}, along with the
+ * validators the API sent with it. The validators are sent with the next
+ * request, so the API only has to send the body again if it changed.
+ * <p>
+ * The cache is a single properties file in the application's cache folder. It
+ * is written to a temporary file first and then moved into place, so an
+ * interrupted write never leaves a partial cache behind.
+ *
+ * @author mwhitney57
+ * @since 0.9.5
+ */
+final class ResponseCache {
+    /**
+     * A single cached response.
+     *
+     * @param etag     - a String with the <code>ETag</code> header of the
+     *                 response, or <code>null</code> if it had none.
+     * @param modified - a String with the <code>Last-Modified</code> header of the
+     *                 response, or <code>null</code> if it had none.
+     * @param body     - a String with the body of the response.
+     */
+    record Entry(String etag, String modified, String body) {
+        /**
+         * Checks if this entry has a validator which can be sent with a request.
+         *
+         * @return <code>true</code> if there is an ETag or last modified time;
+         *         <code>false</code> otherwise.
+         */
+        boolean validatable() {
+            return etag != null || modified != null;
+        }
+    }
+    
+    /** The cache file. */
+    private static final File FILE = new File(PiPAAUtils.slashFix(AppRes.APP_CACHE_FOLDER + "/api.properties"));
+    /** The cached property with a response's ETag. */
+    private static final String PROP_ETAG     = ".etag";
+    /** The cached property with a response's last modified time. */
+    private static final String PROP_MODIFIED = ".modified";
+    /** The cached property with a response's body. */
+    private static final String PROP_BODY     = ".body";
+    
+    /** The cached responses, which are loaded from the file when first needed. */
+    private static Properties props;
+    
+    /** Private constructor -- static access only. */
+    private ResponseCache() {}
+    
+    /**
+     * Gets the cached response to the passed request.
+     *
+     * @param r - the {@link Request}.
+     * @return the cached {@link Entry}, or <code>null</code> if there is none.
+     */
+    static synchronized Entry get(Request r) {
+        final Properties cache = props();
+        final String body = cache.getProperty(r.name() + PROP_BODY);
+        if (body == null) return null;
+        return new Entry(cache.getProperty(r.name() + PROP_ETAG), cache.getProperty(r.name() + PROP_MODIFIED), body);
+    }
+    
+    /**
+     * Caches the passed response to the passed request, replacing any previous
+     * one. Failing to write the cache is not fatal, so it is only logged.
+     *
+     * @param r     - the {@link Request}.
+     * @param entry - the {@link Entry} to cache.
+     */
+    static synchronized void put(Request r, Entry entry) {
+        final Properties cache = props();
+        cache.setProperty(r.name() + PROP_BODY, entry.body());
+        if (entry.etag()     != null) cache.setProperty(r.name() + PROP_ETAG, entry.etag());
+        else                          cache.remove(r.name() + PROP_ETAG);
+        if (entry.modified() != null) cache.setProperty(r.name() + PROP_MODIFIED, entry.modified());
+        else                          cache.remove(r.name() + PROP_MODIFIED);
+        
+        try {
+            PiPAAUtils.ensureExistence(FILE.getParent());
+            final Path temp = Files.createTempFile(FILE.getParentFile().toPath(), "api.", ".part");
+            try {
+                try (final OutputStream out = Files.newOutputStream(temp)) {
+                    cache.store(out, "PiPAA API Cache");
+                }
+                Files.move(temp, FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            System.err.println("<!> Failed to write the API cache: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the cached responses, loading them from the file the first time.
+     *
+     * @return the Properties with the cached responses.
+     */
+    private static Properties props() {
+        if (props != null) return props;
+        
+        props = new Properties();
+        if (FILE.isFile()) {
+            try (final Reader reader = Files.newBufferedReader(FILE.toPath(), StandardCharsets.UTF_8)) {
+                props.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("<!> Failed to load the API cache: " + e.getMessage());
+                props.clear();
+            }
+        }
+        return props;
+    }
+}